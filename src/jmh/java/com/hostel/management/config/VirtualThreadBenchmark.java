@@ -0,0 +1,177 @@
+package com.hostel.management.config;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de requêtes HTTP simulées sous base lente : appel externe bloquant (Brevo / Cloudinary),
+ * puis requête SQL sur un pool de 10 connexions (délai d'obtention borné comme HikariCP).
+ *
+ * - platform       : 200 threads système (maximum Tomcat par défaut)
+ * - virtual        : un thread virtuel par requête, sans limite devant le pool
+ * - virtualBounded : threads virtuels + ConnectionLimitingDataSource (profil virtual-threads)
+ *
+ * Une opération = un lot de 2 000 requêtes ; "succeeded" et "connectionTimeouts" répartissent
+ * les requêtes abouties et celles en échec faute de connexion.
+ * Les modes virtuels nécessitent Java 21+ (mvn test -Pjmh -Djmh.include=VirtualThreadBenchmark).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int POOL_SIZE = 10;
+    private static final long EXTERNAL_CALL_MS = 100;
+    private static final long QUERY_MS = 2;
+    private static final long POOL_TIMEOUT_MS = 250;
+
+    @Param({"platform", "virtual", "virtualBounded"})
+    public String mode;
+
+    private ExecutorService executor;
+    private DataSource dataSource;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long connectionTimeouts;
+        public long succeeded;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        DataSource pool = new SlowPool(POOL_SIZE, POOL_TIMEOUT_MS);
+        switch (mode) {
+            case "platform" -> {
+                executor = Executors.newFixedThreadPool(200);
+                dataSource = pool;
+            }
+            case "virtual" -> {
+                executor = newVirtualThreadPerTaskExecutor();
+                dataSource = pool;
+            }
+            case "virtualBounded" -> {
+                executor = newVirtualThreadPerTaskExecutor();
+                dataSource = new ConnectionLimitingDataSource(pool, POOL_SIZE, 60_000);
+            }
+            default -> throw new IllegalArgumentException(mode);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleRequests(Outcomes outcomes) throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(executor.submit(this::handleRequest));
+        }
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                succeeded++;
+                outcomes.succeeded++;
+            } else {
+                outcomes.connectionTimeouts++;
+            }
+        }
+        return succeeded;
+    }
+
+    private boolean handleRequest() throws InterruptedException {
+        Thread.sleep(EXTERNAL_CALL_MS);
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(QUERY_MS);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Java 17 à la compilation : Executors.newVirtualThreadPerTaskExecutor() appelé par réflexion
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Threads virtuels indisponibles : Java 21+ requis", e);
+        }
+    }
+
+    /**
+     * Pool de connexions simulé : attente bornée à timeoutMs puis échec, comme HikariCP
+     * au-delà de connection-timeout.
+     */
+    private static final class SlowPool extends AbstractDataSource {
+
+        private final BlockingQueue<Object> slots;
+        private final long timeoutMs;
+
+        SlowPool(int size, long timeoutMs) {
+            this.slots = new ArrayBlockingQueue<>(size);
+            for (int i = 0; i < size; i++) {
+                slots.add(new Object());
+            }
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Object slot;
+            try {
+                slot = slots.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("interrompu", e);
+            }
+            if (slot == null) {
+                throw new SQLTransientConnectionException("Connection is not available, request timed out");
+            }
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            slots.add(slot);
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hostel.management.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Émission et validation des JWT (HS512), exécutées à chaque connexion
+ * et à chaque requête authentifiée par JwtAuthenticationFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        token = tokenProvider.generateToken("admin@shamshouse.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("admin@shamshouse.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String emailFromToken() {
+        return tokenProvider.getEmailFromToken(token);
+    }
+}
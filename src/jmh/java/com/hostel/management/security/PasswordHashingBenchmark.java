@@ -0,0 +1,77 @@
+package com.hostel.management.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de connexions (vérification BCrypt) selon le coût, 8 requêtes concurrentes :
+ *
+ * - inline  : matches sur le thread de la requête, comme l'ancien BCryptPasswordEncoder
+ * - bounded : BoundedPasswordEncoder sur passwordHashingExecutor (moitié des cœurs, file de 32)
+ *
+ * Chaque point de coût double le temps de hachage : le débit de bounded est plafonné par ses
+ * threads, les cœurs restants servent les autres requêtes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "LoadTest2026!";
+
+    @Param({"8", "10", "12"})
+    public int cost;
+
+    private BCryptPasswordEncoder inline;
+    private BoundedPasswordEncoder bounded;
+    private ThreadPoolTaskExecutor executor;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        inline = new BCryptPasswordEncoder(cost);
+        executor = new ThreadPoolTaskExecutor();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(32);
+        executor.initialize();
+        bounded = new BoundedPasswordEncoder(inline, executor, Duration.ofSeconds(30));
+        hash = inline.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean inline() {
+        return inline.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean bounded() {
+        return bounded.matches(PASSWORD, hash);
+    }
+}
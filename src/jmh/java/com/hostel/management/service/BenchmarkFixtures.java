@@ -0,0 +1,151 @@
+package com.hostel.management.service;
+
+import com.hostel.management.entity.Bed;
+import com.hostel.management.entity.Booking;
+import com.hostel.management.entity.HostelSettings;
+import com.hostel.management.entity.Pack;
+import com.hostel.management.entity.PackNightPrice;
+import com.hostel.management.entity.Room;
+import com.hostel.management.entity.Service;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entités en mémoire pour les benchmarks (aucun accès base, aucune session Hibernate).
+ * Volumes calqués sur la production : dortoirs de 8 lits, 12 services, packs 3 à 10 nuits.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static BookingService bookingService() {
+        return withoutDependencies(BookingService.class);
+    }
+
+    static RoomService roomService() {
+        return withoutDependencies(RoomService.class);
+    }
+
+    /**
+     * Service construit par son constructeur d'injection, toutes dépendances à null : suit les
+     * ajouts de paramètres, et une méthode mesurée qui toucherait la base échoue (NPE) au lieu
+     * de mesurer un accès simulé.
+     */
+    private static <T> T withoutDependencies(Class<T> type) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalStateException(type.getSimpleName() + " : constructeur d'injection unique attendu");
+        }
+        try {
+            return type.cast(constructors[0].newInstance(new Object[constructors[0].getParameterCount()]));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Construction de " + type.getSimpleName() + " impossible", e);
+        }
+    }
+
+    static Room room(long id, Room.RoomType type, String price) {
+        Room room = Room.builder()
+                .id(id)
+                .roomNumber("R" + id)
+                .roomType(type)
+                .description("Chambre " + type.name().toLowerCase() + " avec vue sur l'océan")
+                .pricePerNight(new BigDecimal(price))
+                .photos(new ArrayList<>(List.of(
+                        "https://res.cloudinary.com/demo/image/upload/room-" + id + "-1.jpg",
+                        "https://res.cloudinary.com/demo/image/upload/room-" + id + "-2.jpg")))
+                .build();
+        List<Bed> beds = new ArrayList<>();
+        for (int i = 1; i <= type.getCapacity(); i++) {
+            beds.add(Bed.builder()
+                    .id(id * 100 + i)
+                    .room(room)
+                    .bedNumber("B" + i)
+                    .build());
+        }
+        room.setBeds(beds);
+        return room;
+    }
+
+    static List<Service> services(int count) {
+        List<Service> services = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            services.add(Service.builder()
+                    .id((long) i)
+                    .name("Service " + i)
+                    .price(new BigDecimal(10 + i + ".50"))
+                    .category(Service.ServiceCategory.values()[i % Service.ServiceCategory.values().length])
+                    .priceType(i % 2 == 0 ? Service.PriceType.PER_NIGHT : Service.PriceType.FIXED)
+                    .pricingType(i % 3 == 0 ? Service.PricingType.PER_ROOM : Service.PricingType.PER_PERSON)
+                    .build());
+        }
+        return services;
+    }
+
+    static Pack pack() {
+        Pack pack = Pack.builder()
+                .id(1L)
+                .name("Surf & Yoga")
+                .description("Cours de surf, yoga au lever du soleil et petit-déjeuner")
+                .extraPersonPricePerNight(new BigDecimal("12.00"))
+                .includedFeatures(new ArrayList<>(List.of("Surf", "Yoga", "Petit-déjeuner")))
+                .build();
+        List<PackNightPrice> prices = new ArrayList<>();
+        for (Room.RoomType type : Room.RoomType.values()) {
+            for (int nights = 3; nights <= 10; nights++) {
+                BigDecimal regular = BigDecimal.valueOf(30L * nights * type.getCapacity());
+                prices.add(PackNightPrice.builder()
+                        .pack(pack)
+                        .roomType(type)
+                        .nights(nights)
+                        .regularPrice(regular)
+                        .promoPrice(regular.multiply(new BigDecimal("0.85")))
+                        .build());
+            }
+        }
+        pack.setNightPrices(prices);
+        return pack;
+    }
+
+    static Booking booking(Room room, int bedCount, List<Service> services, Pack pack, int nights) {
+        LocalDate checkIn = LocalDate.of(2026, 7, 14);
+        return Booking.builder()
+                .id(4242L)
+                .bookingReference("BK-20260714-A7K2Q")
+                .accessCode("481516")
+                .guestName("Camille Martin")
+                .guestEmail("camille.martin@example.com")
+                .guestPhone("+33 6 12 34 56 78")
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(nights))
+                .totalPrice(new BigDecimal("412.50"))
+                .numberOfPersons(bedCount)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .beds(new ArrayList<>(room.getBeds().subList(0, bedCount)))
+                .services(new ArrayList<>(services))
+                .pack(pack)
+                .notes("Arrivée tardive vers 23h")
+                .createdAt(LocalDateTime.of(2026, 6, 1, 10, 30))
+                .build();
+    }
+
+    static HostelSettings settings() {
+        return HostelSettings.builder()
+                .hostelName("ShamsHouse")
+                .address("Agadir, Maroc")
+                .email("contact@shamshouse.com")
+                .phone("+212 6 12 34 56 78")
+                .doorCode("123456")
+                .wifiPassword("wifi2024")
+                .checkIn24h(true)
+                .checkInInstructions("Check-in disponible 24h/24. Utilisez votre code d'accès pour entrer.")
+                .checkOutTime("12:00")
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hostel.management.service;
+
+import com.hostel.management.repository.BookingCodeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Débit d'attribution des codes de réservation (BookingCodeAllocator) :
+ *
+ * - allocate / allocateContended : permutation de Feistel sur une séquence servie par blocs
+ *   (séquence simulée en mémoire, sans aller-retour base), 1 et 4 threads ;
+ * - randomCodes : ancien tirage SecureRandom (6 chiffres + 5 alphanumériques), sans garantie
+ *   d'unicité.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingCodeAllocatorBenchmark {
+
+    private static final String ALPHA_NUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private final SecureRandom random = new SecureRandom();
+    private final LocalDate today = LocalDate.now();
+    private BookingCodeAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        BookingCodeRepository repository = new BookingCodeRepository(null) {
+            @Override
+            public List<Long> nextValues(int count) {
+                long first = sequence.getAndAdd(count) + 1;
+                return LongStream.range(first, first + count).boxed().toList();
+            }
+
+            @Override
+            public void forEachCode(Consumer<String> consumer) {
+                // 20 000 réservations existantes tirées au hasard
+                for (int i = 0; i < 20_000; i++) {
+                    consumer.accept(String.format("%06d", random.nextInt(1_000_000)));
+                }
+            }
+
+            @Override
+            public Set<String> findTakenAccessCodes(Collection<String> accessCodes) {
+                // Codes revenus : réservations anciennes toutes archivées
+                return Set.of();
+            }
+        };
+        allocator = new BookingCodeAllocator(repository,
+                "benchmark-secret-benchmark-secret-benchmark-secret", 50);
+        allocator.loadReservedCodes();
+    }
+
+    @Benchmark
+    public BookingCodeAllocator.BookingCodes allocate() {
+        return allocator.next(today);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BookingCodeAllocator.BookingCodes allocateContended() {
+        return allocator.next(today);
+    }
+
+    @Benchmark
+    public BookingCodeAllocator.BookingCodes randomCodes() {
+        StringBuilder suffix = new StringBuilder(5);
+        for (int i = 0; i < 5; i++) {
+            suffix.append(ALPHA_NUMERIC.charAt(random.nextInt(ALPHA_NUMERIC.length())));
+        }
+        return new BookingCodeAllocator.BookingCodes(String.format("%06d", random.nextInt(1_000_000)),
+                "BK-" + today.toString().replace("-", "") + "-" + suffix);
+    }
+}
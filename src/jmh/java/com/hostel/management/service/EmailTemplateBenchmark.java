@@ -0,0 +1,62 @@
+package com.hostel.management.service;
+
+import com.hostel.management.entity.Booking;
+import com.hostel.management.entity.HostelSettings;
+import com.hostel.management.entity.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération du HTML des emails (sans envoi Brevo) : confirmation de réservation
+ * et code de réinitialisation du mot de passe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailService emailService;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        HostelSettings settings = BenchmarkFixtures.settings();
+        HostelSettingsService settingsService = new HostelSettingsService(null) {
+            @Override
+            public HostelSettings getSettings() {
+                return settings;
+            }
+        };
+        emailService = new EmailService(settingsService, null);
+        ReflectionTestUtils.setField(emailService, "hostelName", "ShamsHouse");
+        ReflectionTestUtils.setField(emailService, "baseUrl", "https://shamshouse.com");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@shamshouse.com");
+
+        booking = BenchmarkFixtures.booking(
+                BenchmarkFixtures.room(1, Room.RoomType.DORTOIR, "18.00"), 2, BenchmarkFixtures.services(4), null, 5);
+    }
+
+    @Benchmark
+    public String bookingConfirmation() {
+        return emailService.buildBookingConfirmationEmail(booking);
+    }
+
+    @Benchmark
+    public String passwordResetCode() {
+        return emailService.buildPasswordResetCodeEmail("482913");
+    }
+}
@@ -0,0 +1,62 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.BookingResponse;
+import com.hostel.management.dto.response.RoomResponse;
+import com.hostel.management.entity.Booking;
+import com.hostel.management.entity.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité → DTO : BookingService.mapToResponse et RoomService.mapToResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private BookingService bookingService;
+    private RoomService roomService;
+    private Booking dormitoryBooking;
+    private Booking packBooking;
+    private Room dormitory;
+
+    @Setup
+    public void setUp() {
+        bookingService = BenchmarkFixtures.bookingService();
+        roomService = BenchmarkFixtures.roomService();
+        dormitory = BenchmarkFixtures.room(1, Room.RoomType.DORTOIR, "18.00");
+        dormitoryBooking = BenchmarkFixtures.booking(dormitory, 4, BenchmarkFixtures.services(3), null, 5);
+        packBooking = BenchmarkFixtures.booking(
+                BenchmarkFixtures.room(2, Room.RoomType.SINGLE, "45.00"), 1, List.of(), BenchmarkFixtures.pack(), 7);
+    }
+
+    @Benchmark
+    public BookingResponse bookingResponse() {
+        return bookingService.mapToResponse(dormitoryBooking);
+    }
+
+    @Benchmark
+    public BookingResponse bookingResponseWithPack() {
+        return bookingService.mapToResponse(packBooking);
+    }
+
+    @Benchmark
+    public RoomResponse roomResponse() {
+        return roomService.mapToResponse(dormitory, dormitory.getBeds());
+    }
+}
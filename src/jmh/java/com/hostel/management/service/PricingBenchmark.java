@@ -0,0 +1,75 @@
+package com.hostel.management.service;
+
+import com.hostel.management.entity.Bed;
+import com.hostel.management.entity.Pack;
+import com.hostel.management.entity.Room;
+import com.hostel.management.entity.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul des prix : BookingService.calculateTotalPrice (avec et sans pack),
+ * Service.calculateTotalPrice et les recherches de prix promo de Pack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private BookingService bookingService;
+    private List<Bed> dormitoryBeds;
+    private List<Bed> singleBed;
+    private List<Service> services;
+    private Service perNightService;
+    private Pack pack;
+
+    @Setup
+    public void setUp() {
+        bookingService = BenchmarkFixtures.bookingService();
+        dormitoryBeds = BenchmarkFixtures.room(1, Room.RoomType.DORTOIR, "18.00").getBeds().subList(0, 4);
+        singleBed = BenchmarkFixtures.room(2, Room.RoomType.SINGLE, "45.00").getBeds();
+        services = BenchmarkFixtures.services(12);
+        perNightService = services.get(1);
+        pack = BenchmarkFixtures.pack();
+    }
+
+    @Benchmark
+    public BigDecimal bookingTotalDormitoryWithServices() {
+        return bookingService.calculateTotalPrice(dormitoryBeds, services, null, 5, 4);
+    }
+
+    @Benchmark
+    public BigDecimal bookingTotalSingleWithPack() {
+        return bookingService.calculateTotalPrice(singleBed, List.of(), pack, 7, 1);
+    }
+
+    @Benchmark
+    public BigDecimal serviceTotal() {
+        return perNightService.calculateTotalPrice(5, 2);
+    }
+
+    @Benchmark
+    public BigDecimal packPromoPrice() {
+        return pack.getPromoPrice(Room.RoomType.DORTOIR, 7);
+    }
+
+    @Benchmark
+    public BigDecimal packMinPromoPrice() {
+        return pack.getMinPromoPrice(Room.RoomType.SINGLE);
+    }
+}
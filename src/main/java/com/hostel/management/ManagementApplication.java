@@ -7,7 +7,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync        // ✅ Pour EmailService
-@EnableScheduling   // ✅ Pour SecurityCleanupTask
+@EnableScheduling   // ✅ Pour MaintenanceJobScheduler
 public class ManagementApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(ManagementApplication.class, args);
@@ -0,0 +1,103 @@
+package com.hostel.management.compression;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponses du catalogue (chambres, packs, services, paramètres) gardées sous forme déjà
+ * encodée : chaque codage est calculé une fois à la mise en cache, pas à chaque requête.
+ *
+ * - LRU borné (app.compression.cache.max-entries), entrées expirées après app.compression.cache.ttl :
+ *   borne la fraîcheur d'une modification faite sur une autre instance ;
+ * - vidé par ResponseCompressionFilter après toute modification admin du catalogue.
+ */
+@Component
+@Slf4j
+public class CompressedResponseCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Incrémentée à chaque invalidation : une réponse calculée avant n'est pas mise en cache
+    private long generation;
+
+    // Ordre d'accès : l'entrée la moins récemment servie est évincée (protégé par this)
+    private final LinkedHashMap<String, Entry> entries;
+
+    public CompressedResponseCache(@Value("${app.compression.cache.max-entries:256}") int maxEntries,
+                                   @Value("${app.compression.cache.ttl:30s}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CompressedResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Génération courante, à relever avant de calculer une réponse à mettre en cache.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdAt() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Encode la réponse avec chaque codage (hors verrou) puis l'enregistre.
+     *
+     * @param generation Génération relevée avant le calcul de la réponse
+     * @param encoders Codages à précalculer ; vide sous le seuil de compression
+     */
+    public Entry put(String key, long generation, String contentType, byte[] identity, List<ContentEncoder> encoders) {
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        for (ContentEncoder encoder : encoders) {
+            byte[] bytes = encoder.encode(identity);
+            // Pas de variante qui ne réduit pas la taille (contenu déjà compact)
+            if (bytes.length < identity.length) {
+                encoded.put(encoder.encoding(), bytes);
+            }
+        }
+        Entry entry = new Entry(contentType, identity, Map.copyOf(encoded), System.nanoTime());
+        synchronized (this) {
+            // Invalidation pendant le calcul : la réponse est servie mais pas conservée
+            if (generation == this.generation) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            log.debug("Cache des réponses compressées vidé ({} entrées)", entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Réponse en cache : corps non encodé et variantes encodées par jeton Content-Encoding.
+     */
+    public record Entry(String contentType, byte[] identity, Map<String, byte[]> encoded, long createdAt) {
+
+        public byte[] body(String encoding) {
+            return encoding == null ? identity : encoded.get(encoding);
+        }
+    }
+}
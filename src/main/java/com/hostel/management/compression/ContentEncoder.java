@@ -0,0 +1,17 @@
+package com.hostel.management.compression;
+
+/**
+ * Codage de contenu HTTP (Content-Encoding) proposé par ResponseCompressionFilter.
+ *
+ * Tout bean de ce type est négocié avec Accept-Encoding ; à qualité égale, l'ordre des beans
+ * (@Order) donne la préférence du serveur.
+ */
+public interface ContentEncoder {
+
+    /**
+     * Jeton Content-Encoding, ex. "gzip", "br".
+     */
+    String encoding();
+
+    byte[] encode(byte[] content);
+}
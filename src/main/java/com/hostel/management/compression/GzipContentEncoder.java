@@ -0,0 +1,48 @@
+package com.hostel.management.compression;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip (JDK), compris par tous les navigateurs et clients HTTP.
+ */
+@Component
+@Order(100)
+public class GzipContentEncoder implements ContentEncoder {
+
+    private final int level;
+
+    public GzipContentEncoder(@Value("${app.compression.gzip-level:6}") int level) {
+        this.level = level;
+    }
+
+    @Override
+    public String encoding() {
+        return "gzip";
+    }
+
+    @Override
+    public byte[] encode(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(buffer, level)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
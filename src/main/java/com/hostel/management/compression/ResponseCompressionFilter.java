@@ -0,0 +1,269 @@
+package com.hostel.management.compression;
+
+import com.hostel.management.monitoring.HostelMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compression des réponses JSON selon Accept-Encoding (gzip, et br si un ContentEncoder
+ * "br" est déclaré), au-delà de app.compression.min-size octets.
+ *
+ * - Catalogue (GET chambres, packs, services, paramètres, /api/public/**) : réponse 200 encodée une
+ *   fois et servie depuis CompressedResponseCache, sans passer par le contrôleur ni la base ;
+ * - autres réponses 2xx compressibles : encodées à la volée, avec le codage négocié ;
+ * - modification admin du catalogue réussie : cache vidé.
+ *
+ * Remplace server.compression de Tomcat (désactivé) : celui-ci recompresse chaque réponse.
+ * Placé dans la chaîne Spring Security après RateLimitFilter : les en-têtes CORS sont posés avant
+ * qu'une réponse soit servie depuis le cache (routes mises en cache toutes publiques, permitAll).
+ * Les flux SSE ne sont jamais mis en tampon.
+ */
+@Component
+@Slf4j
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private static final List<PathPattern> CACHEABLE = parse(
+            "/api/rooms",
+            "/api/rooms/{id:\\d+}",
+            "/api/packs",
+            "/api/packs/{id}",
+            "/api/services",
+            "/api/services/{id}",
+            "/api/services/category/{category}",
+            "/api/settings",
+            "/api/public/**");
+
+    // Écritures qui modifient une réponse du catalogue
+    private static final List<PathPattern> INVALIDATING = parse(
+            "/api/admin/rooms/**",
+            "/api/admin/packs/**",
+            "/api/admin/services/**",
+            "/api/admin/settings/**",
+            "/api/rooms/**");
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final CompressedResponseCache cache;
+    private final HostelMetrics hostelMetrics;
+    // Par ordre de préférence du serveur (@Order des beans)
+    private final List<ContentEncoder> encoders;
+    private final boolean enabled;
+    private final int minSize;
+
+    public ResponseCompressionFilter(CompressedResponseCache cache,
+                                     HostelMetrics hostelMetrics,
+                                     List<ContentEncoder> encoders,
+                                     @Value("${app.compression.enabled:true}") boolean enabled,
+                                     @Value("${app.compression.min-size:1024}") int minSize) {
+        this.cache = cache;
+        this.hostelMetrics = hostelMetrics;
+        this.encoders = List.copyOf(encoders);
+        this.enabled = enabled;
+        this.minSize = minSize;
+        log.info("✅ Compression des réponses : {} (seuil {} octets)",
+                encoders.stream().map(ContentEncoder::encoding).toList(), minSize);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String cacheKey = "GET".equals(request.getMethod()) && matches(CACHEABLE, path) ? cacheKey(request) : null;
+
+        if (cacheKey != null) {
+            CompressedResponseCache.Entry entry = cache.get(cacheKey);
+            if (entry != null) {
+                String encoding = negotiate(request, entry.encoded().keySet());
+                write(response, entry.contentType(), encoding, entry.body(encoding), !entry.encoded().isEmpty());
+                hostelMetrics.recordCompressedResponse(encoding != null ? encoding : "identity", "hit");
+                return;
+            }
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } catch (IOException | ServletException | RuntimeException e) {
+            buffered.copyBodyToResponse();
+            throw e;
+        }
+
+        int status = buffered.getStatus();
+        if (status >= 200 && status < 300 && !SAFE_METHODS.contains(request.getMethod()) && matches(INVALIDATING, path)) {
+            cache.invalidateAll();
+        }
+
+        byte[] body = buffered.getContentAsByteArray();
+        String contentType = buffered.getContentType();
+        boolean compressible = status >= 200 && status < 300
+                && !buffered.containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && isCompressible(contentType);
+
+        if (cacheKey != null && status == 200 && compressible) {
+            CompressedResponseCache.Entry entry = cache.put(cacheKey, generation, contentType, body,
+                    body.length >= minSize ? encoders : List.of());
+            String encoding = negotiate(request, entry.encoded().keySet());
+            write(response, contentType, encoding, entry.body(encoding), !entry.encoded().isEmpty());
+            hostelMetrics.recordCompressedResponse(encoding != null ? encoding : "identity", "miss");
+            return;
+        }
+
+        String encoding = compressible && body.length >= minSize
+                ? negotiate(request, encoders.stream().map(ContentEncoder::encoding).toList())
+                : null;
+        if (encoding == null) {
+            if (compressible && body.length >= minSize) {
+                addVary(response);
+            }
+            buffered.copyBodyToResponse();
+            return;
+        }
+        byte[] encoded = encoder(encoding).encode(body);
+        write(response, contentType, encoding, encoded, true);
+        hostelMetrics.recordCompressedResponse(encoding, "none");
+    }
+
+    // Flux SSE : la mise en tampon retiendrait les événements
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI().endsWith("/stream")
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    /**
+     * Codage préféré par le client parmi ceux disponibles (qualité la plus haute, puis préférence
+     * du serveur) ; null pour la réponse non encodée.
+     */
+    String negotiate(HttpServletRequest request, Collection<String> available) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null || header.isBlank() || available.isEmpty()) {
+            return null;
+        }
+        String best = null;
+        double bestQuality = 0;
+        for (ContentEncoder encoder : encoders) {
+            String encoding = encoder.encoding();
+            if (!available.contains(encoding)) {
+                continue;
+            }
+            double quality = quality(header, encoding);
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    // Qualité de l'encodage dans Accept-Encoding : valeur explicite, sinon celle de "*", sinon 0
+    private static double quality(String header, String encoding) {
+        double wildcard = 0;
+        for (String part : header.split(",")) {
+            String[] params = part.split(";");
+            String token = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (token.equals(encoding)) {
+                return quality;
+            }
+            if (token.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    private static void write(HttpServletResponse response, String contentType, String encoding,
+                              byte[] body, boolean varies) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        if (varies) {
+            addVary(response);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        if (response.getHeaders(HttpHeaders.VARY).stream()
+                .noneMatch(vary -> vary.toLowerCase(Locale.ROOT).contains("accept-encoding"))) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/")
+                || type.contains("json")
+                || type.contains("xml")
+                || type.contains("javascript")
+                || type.contains("svg");
+    }
+
+    private ContentEncoder encoder(String encoding) {
+        return encoders.stream()
+                .filter(encoder -> encoder.encoding().equals(encoding))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(String... patterns) {
+        return Arrays.stream(patterns).map(PARSER::parse).toList();
+    }
+}
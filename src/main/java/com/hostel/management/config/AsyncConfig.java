@@ -1,12 +1,17 @@
 package com.hostel.management.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -18,7 +23,16 @@ public class AsyncConfig {
      * Utilisé pour l'envoi d'emails notamment
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(Environment environment) {
+        // ✅ Mode threads virtuels (spring.threads.virtual.enabled=true sur Java 21+) :
+        // un thread virtuel par tâche, les appels Brevo bloquants ne mobilisent plus de thread système
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(60_000);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // ✅ Nombre de threads minimum
@@ -40,4 +54,80 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * ✅ Requêtes parallèles du tableau de bord admin (DashboardService) : une transaction,
+     * donc une connexion, par requête. Séparé de taskExecutor pour ne pas attendre derrière
+     * les envois d'emails ; borné pour ne pas vider le pool HikariCP.
+     */
+    @Bean(name = "dashboardExecutor")
+    public Executor dashboardExecutor(
+            Environment environment,
+            @Value("${app.dashboard.parallelism:4}") int parallelism) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // ✅ La concurrence base reste bornée par ConnectionLimitingDataSource
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism * 4);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 4);
+        executor.setThreadNamePrefix("dashboard-");
+
+        // ✅ File pleine : la requête s'exécute sur le thread appelant (dégradé séquentiel, jamais rejeté)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ✅ Envois des flux SSE (LiveFeedService) : au plus un envoi en cours par abonné, donc au
+     * plus une tâche en file par abonné. Un client lent n'immobilise qu'un thread d'envoi,
+     * jamais le thread qui diffuse les mises à jour.
+     */
+    @Bean(name = "liveFeedExecutor")
+    public Executor liveFeedExecutor(
+            Environment environment,
+            @Value("${app.live.send-threads:4}") int sendThreads) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // ✅ Une écriture bloquée sur un client lent ne coûte qu'un thread virtuel
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("live-feed-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sendThreads);
+        executor.setMaxPoolSize(sendThreads);
+        executor.setThreadNamePrefix("live-feed-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ✅ Calculs BCrypt (BoundedPasswordEncoder) : coûteux en CPU, bornés à quelques threads
+     * pour qu'une rafale de connexions ne sature pas tous les cœurs. Pas de threads virtuels :
+     * la tâche ne bloque jamais, seul le nombre de cœurs occupés compte.
+     * File courte et rejet immédiat (TaskRejectedException → 503) plutôt qu'une attente sans fin.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queue-capacity:32}") int queueCapacity) {
+        // 0 : la moitié des cœurs, le reste pour les autres requêtes
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
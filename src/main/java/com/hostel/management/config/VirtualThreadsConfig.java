@@ -0,0 +1,53 @@
+package com.hostel.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Mode threads virtuels (profil "virtual-threads", Java 21+).
+ *
+ * spring.threads.virtual.enabled bascule Tomcat et le planificateur de tâches sur des
+ * threads virtuels ; AsyncConfig fait de même pour @Async. Ici, la concurrence d'accès
+ * à la base est bornée à la taille du pool HikariCP (voir ConnectionLimitingDataSource).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    // static : le post-processeur doit être instancié avant la DataSource
+    @Bean
+    static ConnectionLimitingPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${app.datasource.concurrency-limit.acquire-timeout-ms:60000}") long acquireTimeoutMs) {
+        return new ConnectionLimitingPostProcessor(acquireTimeoutMs);
+    }
+
+    /**
+     * Ordonné avant les autres enveloppes de DataSource (proxy SQL de SqlStatsDataSourceConfig) :
+     * le sémaphore reste au plus près de HikariCP.
+     */
+    record ConnectionLimitingPostProcessor(long acquireTimeoutMs) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                int maxConnections = hikari.getMaximumPoolSize();
+                log.info("✅ Accès base limité à {} connexions simultanées (attente max {} ms)",
+                        maxConnections, acquireTimeoutMs);
+                return new ConnectionLimitingDataSource(hikari, maxConnections, acquireTimeoutMs);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
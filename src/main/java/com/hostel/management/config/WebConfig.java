@@ -34,7 +34,8 @@ public class WebConfig {
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Content-Type",
-                "X-Total-Count"
+                "X-Total-Count",
+                "Idempotent-Replayed"
         ));
 
         // ✅ Autoriser les credentials (cookies, Authorization header)
@@ -1,25 +1,40 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.request.BatchPaymentRequest;
+import com.hostel.management.dto.request.BatchStatusRequest;
 import com.hostel.management.dto.request.PackRequest;
 import com.hostel.management.dto.request.RoomRequest;
 import com.hostel.management.dto.request.ServiceRequest;
 import com.hostel.management.dto.response.ApiResponse;
+import com.hostel.management.dto.response.BatchUpdateResponse;
 import com.hostel.management.dto.response.BookingResponse;
+import com.hostel.management.dto.response.DashboardResponse;
+import com.hostel.management.dto.response.GuestProfileResponse;
+import com.hostel.management.dto.response.GuestSearchResponse;
+import com.hostel.management.dto.response.JobStatusResponse;
+import com.hostel.management.dto.response.ProjectionStatusResponse;
 import com.hostel.management.dto.response.RoomResponse;
+import com.hostel.management.dto.response.StatsResponse;
+import com.hostel.management.dto.response.TapeChartResponse;
 import com.hostel.management.entity.Booking;
 import com.hostel.management.entity.HostelSettings;
 import com.hostel.management.entity.Pack;
 import com.hostel.management.entity.Service;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.projection.BookingProjectionRunner;
+import com.hostel.management.scheduling.MaintenanceJobScheduler;
 import com.hostel.management.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,9 +47,18 @@ public class AdminController {
 
     private final RoomService roomService;
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
     private final ServiceService serviceService;
     private final PackService packService;
     private final HostelSettingsService settingsService;
+    private final MaintenanceJobScheduler maintenanceJobScheduler;
+    private final BookingStatsService bookingStatsService;
+    private final DashboardService dashboardService;
+    private final GuestSearchService guestSearchService;
+    private final GuestProfileService guestProfileService;
+    private final LiveFeedService liveFeedService;
+    private final BookingProjectionRunner bookingProjectionRunner;
+    private final TapeChartService tapeChartService;
 
     // ===== ROOM MANAGEMENT =====
 
@@ -72,6 +96,13 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Réservation récupérée", booking));
     }
 
+    // ✅ Flux SSE des changements de réservation (création, statut, paiement, annulation)
+    // En-tête Authorization requis : client SSE basé sur fetch, EventSource ne l'envoie pas
+    @GetMapping(value = "/bookings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookingChanges(HttpServletRequest httpRequest) {
+        return liveFeedService.subscribe(LiveFeedService.Topic.BOOKINGS, httpRequest.getRemoteAddr());
+    }
+
     @GetMapping("/bookings/checkins")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getCheckInsForToday() {
         List<BookingResponse> bookings = bookingService.getCheckInsForDate(LocalDate.now());
@@ -98,6 +129,16 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Check-outs récupérés", bookings));
     }
 
+    // Planning lits × jours sur [from, to[ (colonnes : voir TapeChartResponse)
+    @GetMapping("/bookings/tape-chart")
+    public ResponseEntity<ApiResponse<TapeChartResponse>> getTapeChart(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeCancelled) {
+        TapeChartResponse tapeChart = tapeChartService.getTapeChart(from, to, includeCancelled);
+        return ResponseEntity.ok(ApiResponse.success("Planning récupéré", tapeChart));
+    }
+
     @PutMapping("/bookings/{id}/status")
     public ResponseEntity<ApiResponse<BookingResponse>> updateBookingStatus(
             @PathVariable Long id,
@@ -114,6 +155,22 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Statut de paiement mis à jour", booking));
     }
 
+    // ✅ Par lot (vague de check-outs) : une transaction, un résultat compact par réservation
+    @PutMapping("/bookings/status")
+    public ResponseEntity<ApiResponse<BatchUpdateResponse>> updateBookingStatuses(
+            @Valid @RequestBody BatchStatusRequest request) {
+        BatchUpdateResponse result = bookingBatchService.updateStatuses(request.getBookingIds(), request.getStatus());
+        return ResponseEntity.ok(ApiResponse.success("Statuts de réservation mis à jour", result));
+    }
+
+    @PutMapping("/bookings/payment")
+    public ResponseEntity<ApiResponse<BatchUpdateResponse>> updatePaymentStatuses(
+            @Valid @RequestBody BatchPaymentRequest request) {
+        BatchUpdateResponse result = bookingBatchService.updatePaymentStatuses(
+                request.getBookingIds(), request.getPaymentStatus());
+        return ResponseEntity.ok(ApiResponse.success("Statuts de paiement mis à jour", result));
+    }
+
     // ✅ UNE SEULE MÉTHODE DELETE - Suppression définitive
     @DeleteMapping("/bookings/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteBooking(@PathVariable Long id) {
@@ -122,6 +179,30 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Réservation supprimée définitivement", null));
     }
 
+    // ✅ Recherche clients (nom approché, téléphone, email), historique et archive compris
+    @GetMapping("/guests/search")
+    public ResponseEntity<ApiResponse<GuestSearchResponse>> searchGuests(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        GuestSearchResponse results = guestSearchService.search(q, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Résultats de recherche", results));
+    }
+
+    // ✅ Historique pré-calculé d'un client (profil dédoublonné par email)
+    @GetMapping("/guests/profile")
+    public ResponseEntity<ApiResponse<GuestProfileResponse>> getGuestProfile(@RequestParam String email) {
+        GuestProfileResponse profile = guestProfileService.getProfileByEmail(email);
+        return ResponseEntity.ok(ApiResponse.success("Profil client récupéré", profile));
+    }
+
+    // Un numéro peut être partagé par plusieurs clients (famille, groupe)
+    @GetMapping("/guests/profiles")
+    public ResponseEntity<ApiResponse<List<GuestProfileResponse>>> getGuestProfilesByPhone(@RequestParam String phone) {
+        List<GuestProfileResponse> profiles = guestProfileService.getProfilesByPhone(phone);
+        return ResponseEntity.ok(ApiResponse.success("Profils clients récupérés", profiles));
+    }
+
     // ===== SERVICE MANAGEMENT =====
 
     @PostMapping("/services")
@@ -206,4 +287,52 @@ public class AdminController {
         HostelSettings settings = settingsService.updateDoorCode(newCode);
         return ResponseEntity.ok(ApiResponse.success("Code de porte mis à jour", settings));
     }
+
+    // ===== STATISTIQUES =====
+
+    // ✅ Tableau de bord en un seul appel (requêtes exécutées en parallèle)
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<DashboardResponse>> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        DashboardResponse dashboard = dashboardService.getDashboard(date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(ApiResponse.success("Tableau de bord récupéré", dashboard));
+    }
+
+    @GetMapping("/stats/daily")
+    public ResponseEntity<ApiResponse<StatsResponse>> getDailyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StatsResponse stats = bookingStatsService.getDailyStats(from, to);
+        return ResponseEntity.ok(ApiResponse.success("Statistiques journalières récupérées", stats));
+    }
+
+    @GetMapping("/stats/monthly")
+    public ResponseEntity<ApiResponse<StatsResponse>> getMonthlyStats(@RequestParam int year) {
+        StatsResponse stats = bookingStatsService.getMonthlyStats(year);
+        return ResponseEntity.ok(ApiResponse.success("Statistiques mensuelles récupérées", stats));
+    }
+
+    // ===== PROJECTIONS DU JOURNAL DE RÉSERVATIONS =====
+
+    @GetMapping("/projections")
+    public ResponseEntity<ApiResponse<List<ProjectionStatusResponse>>> getProjections() {
+        List<ProjectionStatusResponse> projections = bookingProjectionRunner.getStatuses();
+        return ResponseEntity.ok(ApiResponse.success("Projections récupérées", projections));
+    }
+
+    // Reconstruction complète (booking-stats, guest-profiles) par rejeu de tout le journal
+    @PostMapping("/projections/{name}/replay")
+    public ResponseEntity<ApiResponse<Long>> replayProjection(@PathVariable String name) {
+        long events = bookingProjectionRunner.replay(name);
+        return ResponseEntity.ok(ApiResponse.success("Projection reconstruite", events));
+    }
+
+    // ===== TÂCHES PLANIFIÉES =====
+
+    @GetMapping("/jobs")
+    public ResponseEntity<ApiResponse<List<JobStatusResponse>>> getJobs(
+            @RequestParam(defaultValue = "10") int recentRuns) {
+        List<JobStatusResponse> jobs = maintenanceJobScheduler.getJobStatuses(Math.min(recentRuns, 100));
+        return ResponseEntity.ok(ApiResponse.success("Tâches planifiées récupérées", jobs));
+    }
 }
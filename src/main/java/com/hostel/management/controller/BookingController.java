@@ -3,10 +3,13 @@ package com.hostel.management.controller;
 import com.hostel.management.dto.request.BookingRequest;
 import com.hostel.management.dto.response.ApiResponse;
 import com.hostel.management.dto.response.BookingResponse;
+import com.hostel.management.monitoring.HostelMetrics;
 import com.hostel.management.service.BookingService;
+import com.hostel.management.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.web.bind.annotation.*;
 import lombok.extern.slf4j.Slf4j;
 
@@ -17,13 +20,34 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String IDEMPOTENCY_SCOPE = "booking-create";
+    private static final String CREATED_MESSAGE = "Réservation créée avec succès";
+
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
+    private final HostelMetrics hostelMetrics;
 
     @PostMapping  // ✅ /api/bookings (vide = racine)
     public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
-            @Valid @RequestBody BookingRequest request) {
-        BookingResponse booking = bookingService.createBooking(request);
-        return ResponseEntity.ok(ApiResponse.success("Réservation créée avec succès", booking));
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            // ✅ Mesuré ici (hors proxy transactionnel) pour inclure le commit SERIALIZABLE
+            BookingResponse booking = hostelMetrics.recordBookingCreation(() -> bookingService.createBooking(request));
+            return ResponseEntity.ok(ApiResponse.success(CREATED_MESSAGE, booking));
+        }
+
+        // ✅ Nouvelle tentative d'un client (réseau mobile instable) : réponse d'origine, sans nouvelle réservation
+        IdempotencyService.Claim<BookingResponse> claim =
+                idempotencyService.claim(IDEMPOTENCY_SCOPE, idempotencyKey, request, BookingResponse.class);
+        if (claim.isReplay()) {
+            return ResponseEntity.ok()
+                    .header(IdempotencyService.REPLAYED_HEADER, "true")
+                    .body(ApiResponse.success(CREATED_MESSAGE, claim.getReplayed()));
+        }
+        BookingResponse booking = hostelMetrics.recordBookingCreation(() ->
+                claim.execute(Isolation.SERIALIZABLE, () -> bookingService.createBooking(request)));
+        return ResponseEntity.ok(ApiResponse.success(CREATED_MESSAGE, booking));
     }
 
     @GetMapping  // ✅ /api/bookings (vide = racine)
@@ -3,17 +3,24 @@ package com.hostel.management.controller;
 import com.hostel.management.dto.request.RoomRequest;
 import com.hostel.management.dto.response.ApiResponse;
 import com.hostel.management.dto.response.AvailabilityResponse;
+import com.hostel.management.dto.response.BedAllocationResponse;
+import com.hostel.management.entity.Room;
 import com.hostel.management.dto.response.RoomResponse;
 import com.hostel.management.service.AvailabilityService;
+import com.hostel.management.service.BedAllocationService;
 import com.hostel.management.service.RoomService;
 import com.hostel.management.service.CloudinaryService;
+import com.hostel.management.service.LiveFeedService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,6 +34,8 @@ public class RoomController {
     private final RoomService roomService;
     private final AvailabilityService availabilityService;
     private final CloudinaryService cloudinaryService;
+    private final LiveFeedService liveFeedService;
+    private final BedAllocationService bedAllocationService;
 
     // ========== ENDPOINTS PUBLICS ==========
 
@@ -56,6 +65,24 @@ public class RoomController {
         return ResponseEntity.ok(ApiResponse.success("Chambres disponibles récupérées", rooms));
     }
 
+    // ✅ Flux SSE des lits libres (chambre, période) : remplace le polling de /rooms/available
+    @GetMapping(value = "/rooms/available/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(HttpServletRequest httpRequest) {
+        return liveFeedService.subscribe(LiveFeedService.Topic.AVAILABILITY, httpRequest.getRemoteAddr());
+    }
+
+    // ✅ Lits proposés (best-fit) pour N lits d'un type, sans réservation
+    @GetMapping("/rooms/allocate")
+    public ResponseEntity<ApiResponse<BedAllocationResponse>> allocateBeds(
+            @RequestParam Room.RoomType roomType,
+            @RequestParam(defaultValue = "1") int beds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+
+        BedAllocationResponse allocation = bedAllocationService.propose(roomType, beds, checkIn, checkOut);
+        return ResponseEntity.ok(ApiResponse.success("Lits proposés", allocation));
+    }
+
     @GetMapping("/rooms/{id}/availability")
     public ResponseEntity<ApiResponse<AvailabilityResponse>> checkAvailability(
             @PathVariable Long id,
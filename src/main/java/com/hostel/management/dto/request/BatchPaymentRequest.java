@@ -0,0 +1,20 @@
+package com.hostel.management.dto.request;
+
+import com.hostel.management.entity.Booking;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchPaymentRequest {
+
+    @NotEmpty(message = "Au moins une réservation est obligatoire")
+    @Size(max = 500, message = "500 réservations au plus par lot")
+    private List<@NotNull Long> bookingIds;
+
+    @NotNull(message = "Le statut de paiement est obligatoire")
+    private Booking.PaymentStatus paymentStatus;
+}
@@ -1,5 +1,6 @@
 package com.hostel.management.dto.request;
 
+import com.hostel.management.entity.Room;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
@@ -32,10 +33,17 @@ public class BookingRequest {
     @Future(message = "Date de départ doit être future")
     private LocalDate checkOutDate;
 
-    @NotEmpty(message = "Au moins un lit doit être sélectionné")
-    @Size(min = 1, max = 10, message = "Vous pouvez réserver entre 1 et 10 lits")
+    // Lits choisis par le client ; sinon roomType (+ bedCount) : lits attribués par BedAllocationService
+    @Size(max = 10, message = "Vous pouvez réserver entre 1 et 10 lits")
     private List<Long> bedIds;
 
+    private Room.RoomType roomType;
+
+    // DORTOIR : nombre de lits (1 par défaut) | SINGLE, DOUBLE : une chambre entière
+    @Min(value = 1, message = "Vous pouvez réserver entre 1 et 10 lits")
+    @Max(value = 10, message = "Vous pouvez réserver entre 1 et 10 lits")
+    private Integer bedCount;
+
     @Size(max = 20, message = "Maximum 20 services peuvent être ajoutés")
     private List<Long> serviceIds;
 
@@ -50,6 +58,12 @@ public class BookingRequest {
     @Max(value = 2, message = "Maximum 2 personnes par chambre")
     private int numberOfPersons = 1;
 
+    @AssertTrue(message = "Sélectionnez des lits (bedIds) ou un type de chambre (roomType), pas les deux")
+    public boolean isBedSelectionValid() {
+        boolean hasBeds = bedIds != null && !bedIds.isEmpty();
+        return hasBeds != (roomType != null);
+    }
+
     @AssertTrue(message = "La date de départ doit être après la date d'arrivée")
     public boolean isCheckOutAfterCheckIn() {
         if (checkInDate == null || checkOutDate == null) return true;
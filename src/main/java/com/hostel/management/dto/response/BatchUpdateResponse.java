@@ -0,0 +1,36 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUpdateResponse {
+    private int requested;
+    private int updated;
+    private List<Result> results;          // une entrée par réservation, dans l'ordre demandé
+
+    public enum Outcome {
+        UPDATED,        // transition appliquée
+        UNCHANGED,      // déjà dans l'état demandé
+        NOT_FOUND,      // inexistante ou archivée
+        REJECTED,       // transition refusée (message)
+        CONFLICT        // modifiée entre la lecture et la mise à jour : à redemander
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        private Long id;
+        private Outcome outcome;
+        private String message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hostel.management.dto.response;
+
+import com.hostel.management.entity.Room;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BedAllocationResponse {
+    private Room.RoomType roomType;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Long roomId;
+    private String roomNumber;
+    private List<Long> bedIds;           // à reprendre tels quels dans BookingRequest.bedIds
+    private List<String> bedNumbers;
+}
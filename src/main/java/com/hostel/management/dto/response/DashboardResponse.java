@@ -0,0 +1,37 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardResponse {
+    private LocalDate date;
+    private List<BookingResponse> arrivals;
+    private List<BookingResponse> departures;
+    private List<BookingResponse> currentStays;
+    private List<BookingResponse> unpaidBookings;
+    private Kpis kpis;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Kpis {
+        private int arrivalsCount;
+        private int departuresCount;
+        private int inHouseCount;
+        private int unpaidCount;
+        private BigDecimal unpaidAmount;              // total des réservations UNPAID / PARTIAL
+        private StatsResponse.StatsLine tonight;      // occupation et revenu de la nuit (booking_stats_daily)
+        private StatsResponse.StatsLine monthToDate;  // du 1er du mois à ce soir inclus
+    }
+}
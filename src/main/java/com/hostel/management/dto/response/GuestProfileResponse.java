@@ -0,0 +1,30 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GuestProfileResponse {
+    private Long id;
+    private String email;
+    private String guestName;            // nom de la réservation la plus récente
+    private String phone;                // E.164 (normalize_phone)
+    private int bookingCount;            // réservations non annulées
+    private int completedStays;          // séjours terminés (CHECKED_OUT)
+    private int cancelledCount;
+    private int nights;
+    private BigDecimal lifetimeValue;    // total des réservations non annulées
+    private LocalDate firstStay;         // première arrivée (non annulée)
+    private LocalDate lastStay;          // dernière arrivée, éventuellement future
+    private LocalDateTime lastBookedAt;
+    private boolean returningGuest;      // au moins un séjour terminé
+}
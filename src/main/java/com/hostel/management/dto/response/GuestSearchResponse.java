@@ -0,0 +1,40 @@
+package com.hostel.management.dto.response;
+
+import com.hostel.management.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GuestSearchResponse {
+    private String query;
+    private String mode;                 // NAME, PHONE ou EMAIL
+    private int page;
+    private int size;
+    private boolean hasMore;             // page suivante disponible (pas de COUNT sur tout l'historique)
+    private List<GuestResult> results;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class GuestResult {
+        private Long bookingId;
+        private String bookingReference;
+        private String guestName;
+        private String guestEmail;
+        private String guestPhone;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        private Booking.BookingStatus status;
+        private boolean archived;        // consultable par référence (GET /api/bookings/reference/…)
+        private double score;            // similarité du nom (1.0 pour téléphone et email)
+    }
+}
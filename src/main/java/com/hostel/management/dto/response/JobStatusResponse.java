@@ -0,0 +1,32 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobStatusResponse {
+    private String name;
+    private String trigger;
+    private List<JobRun> recentRuns;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class JobRun {
+        private String node;
+        private Instant startedAt;
+        private long durationMs;
+        private String status;
+        private Integer affectedRows;
+        private String errorMessage;
+    }
+}
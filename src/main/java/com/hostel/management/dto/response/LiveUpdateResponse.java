@@ -0,0 +1,51 @@
+package com.hostel.management.dto.response;
+
+import com.hostel.management.entity.Booking;
+import com.hostel.management.event.BookingChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Messages des flux SSE (LiveFeedService). Chaque message remplace le précédent de même clé :
+ * un client lent ne reçoit que le dernier état.
+ */
+public final class LiveUpdateResponse {
+
+    private LiveUpdateResponse() {
+    }
+
+    // Événement SSE "availability" : clé (chambre, période)
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class AvailabilityDelta {
+        private Long roomId;
+        private LocalDate checkIn;
+        private LocalDate checkOut;          // exclu
+        private long freeBeds;               // lits libres sur toute la période
+        private LocalDateTime computedAt;
+    }
+
+    // Événement SSE "booking" : clé réservation
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookingChange {
+        private Long bookingId;
+        private String bookingReference;
+        private String guestName;
+        private BookingChangedEvent.Change change;
+        private Booking.BookingStatus status;
+        private Booking.PaymentStatus paymentStatus;
+        private LocalDate checkIn;
+        private LocalDate checkOut;
+        private LocalDateTime changedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectionStatusResponse {
+    private String name;
+    private long lastEventId;            // dernier événement appliqué
+    private long eventsApplied;          // depuis le dernier rejeu
+    private long pendingEvents;          // événements validés non encore appliqués
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatsResponse {
+    private String granularity;          // DAY ou MONTH
+    private LocalDate from;
+    private LocalDate to;                // exclu
+    private List<StatsLine> lines;       // une ligne par période et type de chambre ayant des réservations
+    private StatsLine total;             // tous types confondus sur [from, to[
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StatsLine {
+        private LocalDate period;        // jour, ou premier jour du mois
+        private String roomType;         // null pour le total
+        private int arrivals;
+        private int packArrivals;
+        private long bedNights;
+        private long packBedNights;
+        private long availableBedNights;
+        private BigDecimal revenue;
+        private BigDecimal packRevenue;
+        private BigDecimal occupancyRate; // bedNights / availableBedNights
+        private BigDecimal adr;           // revenu moyen par nuitée-lit vendue
+        private BigDecimal revPab;        // revenu par nuitée-lit disponible
+        private BigDecimal packShare;     // part des nuitées-lit vendues avec un pack
+    }
+}
@@ -0,0 +1,49 @@
+package com.hostel.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Planning lits × jours en colonnes : un tableau par attribut, la i-ème valeur de chaque
+ * tableau décrivant le i-ème lit (beds) ou la i-ème barre (bars).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TapeChartResponse {
+    private LocalDate from;
+    private LocalDate to;                // exclu
+    private int days;                    // colonnes du planning : to - from
+    private Beds beds;
+    private Bars bars;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Beds {
+        private long[] id;
+        private long[] roomId;
+        private String[] roomNumber;
+        private String[] roomType;
+        private String[] bedNumber;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bars {
+        private int[] bed;               // indice de ligne dans beds
+        private long[] booking;          // id de la réservation
+        private int[] start;             // jour d'arrivée - from (négatif si arrivée avant la fenêtre)
+        private int[] end;               // jour de départ - from, exclu (> days si départ après)
+        private String[] status;
+        private String[] initials;       // initiales du client, ex. "JD"
+    }
+}
@@ -12,6 +12,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
+// Index partiels et GiST des requêtes de chevauchement : db/migration/V2__booking_overlap_indexes.sql
+// Table partitionnée par mois d'arrivée (check_in_date) : db/migration/V6__partition_bookings_by_check_in.sql
 @Entity
 @Table(
         name = "bookings",
@@ -30,6 +32,17 @@ import java.util.List;
 @Builder
 public class Booking {
 
+    /**
+     * Durée maximale d'un séjour (contrainte chk_booking_max_nights).
+     * Borne basse des requêtes de chevauchement : une réservation qui chevauche [checkIn, checkOut[
+     * est arrivée au plus tôt MAX_NIGHTS jours avant checkIn, ce qui limite les partitions parcourues.
+     */
+    public static final int MAX_NIGHTS = 90;
+
+    public static LocalDate earliestOverlappingCheckIn(LocalDate checkIn) {
+        return checkIn.minusDays(MAX_NIGHTS);
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -85,7 +98,10 @@ public class Booking {
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "booking_beds",
-            joinColumns = @JoinColumn(name = "booking_id"),
+            joinColumns = {
+                    @JoinColumn(name = "booking_id", referencedColumnName = "id"),
+                    @JoinColumn(name = "check_in_date", referencedColumnName = "checkInDate")
+            },
             inverseJoinColumns = @JoinColumn(name = "bed_id")
     )
     @JsonIgnoreProperties({"room", "bookings"})
@@ -95,7 +111,10 @@ public class Booking {
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "booking_services",
-            joinColumns = @JoinColumn(name = "booking_id"),
+            joinColumns = {
+                    @JoinColumn(name = "booking_id", referencedColumnName = "id"),
+                    @JoinColumn(name = "check_in_date", referencedColumnName = "checkInDate")
+            },
             inverseJoinColumns = @JoinColumn(name = "service_id")
     )
     @JsonIgnoreProperties({"packs", "bookings"})
@@ -0,0 +1,44 @@
+package com.hostel.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Vue en lecture seule de la table de jointure booking_beds (alimentée par Booking.beds).
+ *
+ * Expose check_in_date, la clé de partition (V6) écrite par Hibernate via la jointure
+ * composite (booking_id, check_in_date) du @JoinTable de Booking.beds, pour que les requêtes
+ * de chevauchement joignent bookings sur (id, check_in_date) et bornent les deux tables
+ * sur la même fenêtre d'arrivée.
+ */
+@Entity
+@Immutable
+@Table(name = "booking_beds")
+@IdClass(BookingBed.Key.class)
+@Getter
+@NoArgsConstructor
+public class BookingBed {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Id
+    @Column(name = "bed_id")
+    private Long bedId;
+
+    @Column(name = "check_in_date")
+    private LocalDate checkInDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long bookingId;
+        private Long bedId;
+    }
+}
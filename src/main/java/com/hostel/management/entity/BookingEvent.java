@@ -0,0 +1,109 @@
+package com.hostel.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// Journal en ajout seul des changements d'état d'une réservation : db/migration/V10__booking_events.sql
+// tx_id (ordre de lecture des projections) et guest_phone_normalized sont renseignés par PostgreSQL.
+@Entity
+@Table(name = "booking_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEvent {
+
+    public enum EventType {
+        IMPORTED, CREATED, STATUS_CHANGED, PAYMENT_CHANGED, CANCELLED, EXPIRED, DELETED
+    }
+
+    // Séquence par blocs de 50 : les insertions du journal partent en lot avec le flush de l'entité
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_events_seq")
+    @SequenceGenerator(name = "booking_events_seq", sequenceName = "booking_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventType eventType;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // null : nouvelle réservation
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Booking.BookingStatus statusBefore;
+
+    // null : réservation supprimée
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Booking.BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Booking.PaymentStatus paymentStatus;
+
+    @Column(nullable = false, length = 100)
+    private String guestEmail;
+
+    @Column(nullable = false, length = 100)
+    private String guestName;
+
+    @Column(nullable = false, length = 20)
+    private String guestPhone;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(nullable = false)
+    private boolean withPack;
+
+    // Type de la première chambre (ordre alphabétique), comme booking_stats
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Room.RoomType roomType;
+
+    @Column(nullable = false)
+    private int beds;
+
+    /**
+     * État de la réservation après le changement ; status null pour une suppression.
+     */
+    public static BookingEvent of(EventType type, Booking booking, Booking.BookingStatus statusBefore) {
+        return BookingEvent.builder()
+                .bookingId(booking.getId())
+                .eventType(type)
+                .occurredAt(LocalDateTime.now())
+                .statusBefore(statusBefore)
+                .status(type == EventType.DELETED ? null : booking.getStatus())
+                .paymentStatus(booking.getPaymentStatus())
+                .guestEmail(booking.getGuestEmail().toLowerCase().trim())
+                .guestName(booking.getGuestName())
+                .guestPhone(booking.getGuestPhone())
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .totalPrice(booking.getTotalPrice())
+                .withPack(booking.getPack() != null)
+                .roomType(booking.getBeds().stream()
+                        .map(bed -> bed.getRoom().getRoomType())
+                        .min(Comparator.comparing(Room.RoomType::name))
+                        .orElse(null))
+                .beds(booking.getBeds().size())
+                .build();
+    }
+}
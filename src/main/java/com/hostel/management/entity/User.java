@@ -84,15 +84,6 @@ public class User implements UserDetails {
     // MÉTHODES DE SÉCURITÉ
     // ===================================
 
-    public void incrementFailedAttempts() {
-        // ✅ Gérer le cas null
-        if (this.failedLoginAttempts == null) {
-            this.failedLoginAttempts = 1;
-        } else {
-            this.failedLoginAttempts++;
-        }
-    }
-
     public void resetFailedAttempts() {
         this.failedLoginAttempts = 0;
         this.lockedUntil = null;
@@ -0,0 +1,38 @@
+package com.hostel.management.event;
+
+import com.hostel.management.entity.Booking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Création ou modification d'une réservation, publiée par BookingService dans la transaction
+ * qui l'effectue ; les abonnés utilisent @TransactionalEventListener(AFTER_COMMIT) pour ne
+ * voir que les changements validés.
+ */
+public record BookingChangedEvent(Change change, Long bookingId, String bookingReference, String guestName,
+                                  Booking.BookingStatus status, Booking.PaymentStatus paymentStatus,
+                                  LocalDate checkIn, LocalDate checkOut, List<Long> roomIds) {
+
+    public enum Change {
+        CREATED, STATUS_CHANGED, PAYMENT_CHANGED, CANCELLED, DELETED
+    }
+
+    public static BookingChangedEvent of(Change change, Booking booking) {
+        return new BookingChangedEvent(change, booking.getId(), booking.getBookingReference(),
+                booking.getGuestName(), booking.getStatus(), booking.getPaymentStatus(),
+                booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getBeds().stream().map(bed -> bed.getRoom().getId()).distinct().toList());
+    }
+
+    /**
+     * Le changement modifie-t-il les lits disponibles sur [checkIn, checkOut[ ?
+     */
+    public boolean affectsInventory() {
+        return switch (change) {
+            case CREATED, CANCELLED, DELETED -> true;
+            case STATUS_CHANGED -> status == Booking.BookingStatus.CANCELLED;
+            case PAYMENT_CHANGED -> false;
+        };
+    }
+}
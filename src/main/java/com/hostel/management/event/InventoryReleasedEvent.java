@@ -0,0 +1,30 @@
+package com.hostel.management.event;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Nuitées-lit remises en vente, publiées après le commit de la transaction qui les a libérées.
+ *
+ * Les caches ou index de disponibilité s'y abonnent avec @EventListener pour invalider
+ * les lits et périodes concernés.
+ */
+public record InventoryReleasedEvent(String reason, List<ReleasedHold> holds) {
+
+    public static final String PENDING_EXPIRED = "PENDING_EXPIRED";
+
+    /**
+     * Une réservation libérée : ses lits sur [checkIn, checkOut[.
+     */
+    public record ReleasedHold(Long bookingId, List<Long> bedIds, LocalDate checkIn, LocalDate checkOut) {
+
+        public long bedNights() {
+            return (long) bedIds.size() * ChronoUnit.DAYS.between(checkIn, checkOut);
+        }
+    }
+
+    public long bedNights() {
+        return holds.stream().mapToLong(ReleasedHold::bedNights).sum();
+    }
+}
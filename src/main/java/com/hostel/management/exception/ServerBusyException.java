@@ -0,0 +1,15 @@
+package com.hostel.management.exception;
+
+/**
+ * Ressource saturée (file d'attente pleine, délai dépassé) : la requête est refusée
+ * immédiatement (503) plutôt que d'attendre, le client peut réessayer après Retry-After.
+ */
+public class ServerBusyException extends RuntimeException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+
+    public ServerBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,217 @@
+package com.hostel.management.monitoring;
+
+import com.hostel.management.exception.BookingException;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métriques métier exposées sur /actuator/prometheus.
+ *
+ * - hostel.booking.create{outcome}              : durée de création (success, conflict, validation, error)
+ * - hostel.booking.serialization.failures        : conflits SERIALIZABLE (SQLState 40001) à rejouer
+ * - hostel.booking.expired, hostel.booking.expired.bed.nights : réservations PENDING expirées
+ * - hostel.availability.query{method}            : latence des vérifications de disponibilité
+ * - hostel.email.send{type,outcome}              : latence et échecs d'envoi Brevo
+ * - hostel.cloudinary.upload{source,outcome}     : latence des uploads, taille dans hostel.cloudinary.upload.bytes
+ * - hostel.scheduler.job{job,outcome}, hostel.scheduler.job.skipped{job} : tâches de maintenance
+ * - hostel.live.subscribers{topic}, hostel.live.dropped{topic,reason} : flux SSE (LiveFeedService)
+ * - hostel.ratelimit.rejected{group,scope}       : requêtes refusées par RateLimitFilter (ip, target)
+ * - hostel.idempotency.replayed{scope}           : réponses rejouées pour un Idempotency-Key déjà vu
+ * - hostel.jpa.lazy.loads{kind}, hostel.jpa.lazy.loads.per.request{uri} : voir LazyLoadMetrics
+ *
+ * Les métriques HikariCP (hikaricp.connections.active / pending / usage) sont publiées
+ * automatiquement par l'actuator.
+ */
+@Component
+public class HostelMetrics {
+
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    private final MeterRegistry registry;
+    private final Counter serializationFailures;
+    private final DistributionSummary uploadBytes;
+
+    public HostelMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.serializationFailures = Counter.builder("hostel.booking.serialization.failures")
+                .description("Transactions de réservation annulées par PostgreSQL (SERIALIZABLE)")
+                .register(registry);
+        this.uploadBytes = DistributionSummary.builder("hostel.cloudinary.upload.bytes")
+                .description("Taille des images envoyées à Cloudinary")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // ========== RÉSERVATIONS ==========
+
+    /**
+     * Chronomètre la création d'une réservation, commit compris
+     * (les conflits de sérialisation n'apparaissent qu'au commit).
+     */
+    public <T> T recordBookingCreation(Supplier<T> creation) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = creation.get();
+            outcome = "success";
+            return result;
+        } catch (ValidationException | ResourceNotFoundException e) {
+            outcome = "validation";
+            throw e;
+        } catch (BookingException e) {
+            outcome = "conflict";
+            throw e;
+        } catch (RuntimeException e) {
+            if (isSerializationFailure(e)) {
+                serializationFailures.increment();
+                outcome = "conflict";
+            } else if (e instanceof ConcurrencyFailureException) {
+                // Verrou optimiste (@Version) ou délai de verrou dépassé
+                outcome = "conflict";
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("hostel.booking.create")
+                    .description("Création de réservation (POST /api/bookings)")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    static boolean isSerializationFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && SERIALIZATION_FAILURE.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void recordExpiredBookings(int bookings, long bedNights) {
+        Counter.builder("hostel.booking.expired")
+                .description("Réservations PENDING annulées à l'expiration du délai de paiement")
+                .register(registry)
+                .increment(bookings);
+        Counter.builder("hostel.booking.expired.bed.nights")
+                .description("Nuitées-lit remises en vente par l'expiration des réservations PENDING")
+                .register(registry)
+                .increment(bedNights);
+    }
+
+    // ========== DISPONIBILITÉS ==========
+
+    public <T> T recordAvailability(String method, Supplier<T> query) {
+        return Timer.builder("hostel.availability.query")
+                .description("Vérification de disponibilité")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(query);
+    }
+
+    // ========== EMAILS ==========
+
+    public void recordEmail(String type, long startNanos, boolean success) {
+        Timer.builder("hostel.email.send")
+                .description("Envoi d'email via l'API Brevo")
+                .tag("type", type)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ========== CLOUDINARY ==========
+
+    public void recordUpload(String source, long bytes, long startNanos, boolean success) {
+        Timer.builder("hostel.cloudinary.upload")
+                .description("Upload d'image vers Cloudinary")
+                .tag("source", source)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (success) {
+            uploadBytes.record(bytes);
+        }
+    }
+
+    // ========== TÂCHES PLANIFIÉES ==========
+
+    public void recordJob(String job, long startNanos, boolean success) {
+        Timer.builder("hostel.scheduler.job")
+                .description("Exécution d'une tâche de maintenance")
+                .tag("job", job)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJobSkipped(String job) {
+        Counter.builder("hostel.scheduler.job.skipped")
+                .description("Déclenchements ignorés : bail détenu par une autre instance")
+                .tag("job", job)
+                .register(registry)
+                .increment();
+    }
+
+    // ========== FLUX EN DIRECT ==========
+
+    public void bindLiveSubscribers(String topic, Supplier<Number> subscribers) {
+        Gauge.builder("hostel.live.subscribers", subscribers)
+                .description("Abonnés connectés aux flux SSE")
+                .tag("topic", topic)
+                .register(registry);
+    }
+
+    public void recordLiveDrop(String topic, String reason) {
+        Counter.builder("hostel.live.dropped")
+                .description("Abonnés SSE refusés ou déconnectés par le serveur")
+                .tag("topic", topic)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    // ========== LIMITATION DE DÉBIT ==========
+
+    public void recordRateLimited(String group, String scope) {
+        Counter.builder("hostel.ratelimit.rejected")
+                .description("Requêtes refusées (429) par RateLimitFilter")
+                .tag("group", group)
+                .tag("scope", scope)
+                .register(registry)
+                .increment();
+    }
+
+    // ========== IDEMPOTENCE ==========
+
+    public void recordIdempotentReplay(String scope) {
+        Counter.builder("hostel.idempotency.replayed")
+                .description("Réponses rejouées pour une clé Idempotency-Key déjà utilisée")
+                .tag("scope", scope)
+                .register(registry)
+                .increment();
+    }
+
+    // ========== COMPRESSION ==========
+
+    public void recordCompressedResponse(String encoding, String cache) {
+        Counter.builder("hostel.compression.responses")
+                .description("Réponses servies par ResponseCompressionFilter, par codage et issue du cache")
+                .tag("encoding", encoding)
+                .tag("cache", cache)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,78 @@
+package com.hostel.management.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compte les chargements paresseux Hibernate : initialisation d'une collection
+ * (beds, services, photos...) ou d'un proxy d'entité (bed.getRoom(), booking.getPack()).
+ *
+ * Le total par type alimente hostel.jpa.lazy.loads{kind} ; le compteur par thread
+ * est relevé en fin de requête HTTP par LazyLoadMetricsFilter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LazyLoadMetrics {
+
+    private static final ThreadLocal<int[]> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry registry;
+
+    @PostConstruct
+    void registerListeners() {
+        Counter collections = Counter.builder("hostel.jpa.lazy.loads")
+                .description("Chargements paresseux Hibernate")
+                .tag("kind", "collection")
+                .register(registry);
+        Counter entities = Counter.builder("hostel.jpa.lazy.loads")
+                .description("Chargements paresseux Hibernate")
+                .tag("kind", "entity")
+                .register(registry);
+
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+
+        listeners.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+            collections.increment();
+            increment();
+        });
+        listeners.appendListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            // IMMEDIATE_LOAD : initialisation d'un proxy non chargé
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                entities.increment();
+                increment();
+            }
+        });
+        log.info("✅ Suivi des chargements paresseux Hibernate activé");
+    }
+
+    static void begin() {
+        CURRENT_REQUEST.set(new int[1]);
+    }
+
+    static int end() {
+        int[] count = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    private static void increment() {
+        int[] count = CURRENT_REQUEST.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hostel.management.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publie le nombre de chargements paresseux déclenchés par chaque requête HTTP,
+ * par route (hostel.jpa.lazy.loads.per.request{uri}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class LazyLoadMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LazyLoadMetrics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int lazyLoads = LazyLoadMetrics.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hostel.jpa.lazy.loads.per.request")
+                    .description("Chargements paresseux Hibernate par requête")
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(lazyLoads);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
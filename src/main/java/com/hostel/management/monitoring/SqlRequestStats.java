@@ -0,0 +1,58 @@
+package com.hostel.management.monitoring;
+
+/**
+ * Statistiques SQL de la requête HTTP en cours (thread courant) :
+ * nombre d'exécutions JDBC, temps base cumulé et requête la plus lente.
+ *
+ * Alimenté par le proxy de DataSource (SqlStatsDataSourceConfig), relevé par SqlStatsFilter.
+ * Les threads hors requête HTTP (@Async, tâches planifiées) ne sont pas suivis.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long totalMillis;
+    private long slowestMillis = -1;
+    private String slowestSql;
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql, long elapsedMillis) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats == null) return;
+        stats.statements++;
+        stats.totalMillis += elapsedMillis;
+        if (elapsedMillis > stats.slowestMillis) {
+            stats.slowestMillis = elapsedMillis;
+            stats.slowestSql = sql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getSlowestMillis() {
+        return Math.max(slowestMillis, 0);
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+}
@@ -0,0 +1,54 @@
+package com.hostel.management.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Enveloppe la DataSource applicative dans un proxy datasource-proxy qui chronomètre
+ * chaque exécution JDBC et l'impute à la requête HTTP en cours (SqlRequestStats).
+ */
+@Configuration
+public class SqlStatsDataSourceConfig {
+
+    // static : le post-processeur doit être instancié avant la DataSource
+    @Bean
+    static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new RequestStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class RequestStatsListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            String sql = queryInfoList.size() == 1
+                    ? queryInfoList.get(0).getQuery()
+                    : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            SqlRequestStats.record(sql, execInfo.getElapsedTime());
+        }
+    }
+}
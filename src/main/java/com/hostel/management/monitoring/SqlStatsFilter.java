@@ -0,0 +1,83 @@
+package com.hostel.management.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Compte les requêtes SQL et le temps base de chaque requête HTTP.
+ *
+ * - Hors production : en-têtes X-SQL-Count et X-SQL-Time-Ms sur chaque réponse.
+ * - Partout : log WARN (endpoint, nombre de requêtes, requête la plus lente) au-delà des seuils.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final int MAX_SQL_LOG_LENGTH = 500;
+
+    @Value("${app.monitoring.sql.response-headers:true}")
+    private boolean responseHeaders;
+
+    @Value("${app.monitoring.sql.max-statements:30}")
+    private int maxStatements;
+
+    @Value("${app.monitoring.sql.max-db-time-ms:500}")
+    private long maxDbTimeMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Les en-têtes doivent précéder le corps : réponse mise en tampon seulement si activés
+        ContentCachingResponseWrapper buffered = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlRequestStats.end();
+            if (buffered != null) {
+                buffered.setHeader("X-SQL-Count", String.valueOf(stats.getStatements()));
+                buffered.setHeader("X-SQL-Time-Ms", String.valueOf(stats.getTotalMillis()));
+                buffered.copyBodyToResponse();
+            }
+            if (stats.getStatements() > maxStatements || stats.getTotalMillis() > maxDbTimeMs) {
+                logSlowRequest(request, stats);
+            }
+        }
+    }
+
+    private void logSlowRequest(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String slowestSql = stats.getSlowestSql();
+        if (slowestSql != null && slowestSql.length() > MAX_SQL_LOG_LENGTH) {
+            slowestSql = slowestSql.substring(0, MAX_SQL_LOG_LENGTH) + "...";
+        }
+        log.warn("⚠️ Requête coûteuse en base {} {} : {} requêtes SQL, {} ms ; plus lente ({} ms) : {}",
+                request.getMethod(),
+                pattern != null ? pattern : request.getRequestURI(),
+                stats.getStatements(),
+                stats.getTotalMillis(),
+                stats.getSlowestMillis(),
+                slowestSql);
+    }
+
+    // Flux SSE (…/stream) : la mise en tampon de la réponse retiendrait les événements
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/actuator") || uri.endsWith("/stream");
+    }
+}
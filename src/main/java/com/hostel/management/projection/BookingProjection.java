@@ -0,0 +1,30 @@
+package com.hostel.management.projection;
+
+import com.hostel.management.repository.ProjectionOffsetRepository.JournalEntry;
+
+import java.util.List;
+
+/**
+ * Modèle de lecture alimenté par le journal booking_events (BookingProjectionRunner).
+ *
+ * apply() et reset() s'exécutent dans la transaction qui avance la position de la projection :
+ * chaque événement est appliqué exactement une fois, et reset() suivi du rejeu de tout le
+ * journal reconstruit la projection sans lire les tables de réservations.
+ */
+public interface BookingProjection {
+
+    /**
+     * Identifiant stable (ligne de projection_offsets).
+     */
+    String name();
+
+    /**
+     * Applique des événements consécutifs du journal, dans l'ordre (tx_id, id).
+     */
+    void apply(List<JournalEntry> events);
+
+    /**
+     * Vide le modèle de lecture avant un rejeu complet.
+     */
+    void reset();
+}
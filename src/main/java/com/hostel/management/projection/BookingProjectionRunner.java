@@ -0,0 +1,154 @@
+package com.hostel.management.projection;
+
+import com.hostel.management.dto.response.ProjectionStatusResponse;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.ProjectionOffsetRepository;
+import com.hostel.management.repository.ProjectionOffsetRepository.JournalEntry;
+import com.hostel.management.repository.ProjectionOffsetRepository.ProjectionOffset;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Alimente les projections (BookingProjection) à partir du journal booking_events.
+ *
+ * Chaque passage lit, par lots de app.projections.batch-size, les événements des transactions
+ * terminées qui suivent la position de la projection, les applique et avance la position dans
+ * la même transaction. La ligne de position est verrouillée (SKIP LOCKED) : derrière plusieurs
+ * instances, une seule alimente une projection donnée à un instant donné.
+ */
+@Component
+@Slf4j
+public class BookingProjectionRunner {
+
+    private final Map<String, BookingProjection> projections;
+    private final ProjectionOffsetRepository offsetRepository;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration pollInterval;
+
+    // Thread dédié : le planificateur partagé peut être occupé par une tâche de maintenance longue
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-projections");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookingProjectionRunner(List<BookingProjection> projections,
+                                   ProjectionOffsetRepository offsetRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.projections.batch-size:1000}") int batchSize,
+                                   @Value("${app.projections.poll-interval:1s}") Duration pollInterval) {
+        this.projections = projections.stream()
+                .collect(Collectors.toMap(BookingProjection::name, Function.identity()));
+        this.offsetRepository = offsetRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transaction.executeWithoutResult(status -> offsetRepository.register(projections.keySet()));
+        ticker.scheduleWithFixedDelay(this::catchUpAll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("✅ Projections du journal démarrées : {}", projections.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void catchUpAll() {
+        for (BookingProjection projection : projections.values()) {
+            try {
+                catchUp(projection);
+            } catch (Exception e) {
+                // Position inchangée : le lot est rejoué au passage suivant
+                log.error("❌ Échec de la projection {}", projection.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Applique les événements en attente, lot par lot.
+     *
+     * @return nombre d'événements appliqués (0 si une autre instance alimente la projection)
+     */
+    public long catchUp(BookingProjection projection) {
+        long applied = 0;
+        int batch;
+        do {
+            Integer count = transaction.execute(status -> offsetRepository.lock(projection.name(), true)
+                    .map(offset -> applyNextBatch(projection, offset))
+                    .orElse(0));
+            batch = count == null ? 0 : count;
+            applied += batch;
+        } while (batch == batchSize);
+        return applied;
+    }
+
+    /**
+     * Vide la projection et rejoue tout le journal, dans une seule transaction : les lecteurs
+     * voient l'ancien état jusqu'au commit.
+     *
+     * @return nombre d'événements rejoués
+     */
+    public long replay(String name) {
+        BookingProjection projection = projections.get(name);
+        if (projection == null) {
+            throw new ResourceNotFoundException("Projection inconnue : " + name);
+        }
+        Long replayed = transaction.execute(status -> {
+            offsetRepository.lock(name, false)
+                    .orElseThrow(() -> new ResourceNotFoundException("Projection non enregistrée : " + name));
+            projection.reset();
+            offsetRepository.reset(name);
+            long total = 0;
+            int batch;
+            do {
+                batch = applyNextBatch(projection, offsetRepository.lock(name, false).orElseThrow());
+                total += batch;
+            } while (batch == batchSize);
+            return total;
+        });
+        log.info("✅ Projection {} reconstruite : {} événements rejoués", name, replayed);
+        return replayed == null ? 0 : replayed;
+    }
+
+    public List<ProjectionStatusResponse> getStatuses() {
+        return offsetRepository.findAll().stream()
+                .map(offset -> ProjectionStatusResponse.builder()
+                        .name(offset.name())
+                        .lastEventId(offset.lastEventId())
+                        .eventsApplied(offset.eventsApplied())
+                        .pendingEvents(offsetRepository.countPending(offset))
+                        .updatedAt(offset.updatedAt())
+                        .build())
+                .toList();
+    }
+
+    private int applyNextBatch(BookingProjection projection, ProjectionOffset offset) {
+        List<JournalEntry> events = offsetRepository.readAfter(offset, batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        projection.apply(events);
+        offsetRepository.advance(projection.name(), events.get(events.size() - 1), events.size());
+        return events.size();
+    }
+}
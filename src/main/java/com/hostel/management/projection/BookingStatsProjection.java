@@ -0,0 +1,33 @@
+package com.hostel.management.projection;
+
+import com.hostel.management.repository.BookingStatsRepository;
+import com.hostel.management.repository.ProjectionOffsetRepository.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Statistiques d'occupation et de chiffre d'affaires (booking_stats_daily, booking_stats_monthly).
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStatsProjection implements BookingProjection {
+
+    private final BookingStatsRepository statsRepository;
+
+    @Override
+    public String name() {
+        return "booking-stats";
+    }
+
+    @Override
+    public void apply(List<JournalEntry> events) {
+        statsRepository.applyEvents(events.stream().map(JournalEntry::eventId).toList());
+    }
+
+    @Override
+    public void reset() {
+        statsRepository.reset();
+    }
+}
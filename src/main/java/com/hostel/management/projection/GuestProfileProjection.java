@@ -0,0 +1,37 @@
+package com.hostel.management.projection;
+
+import com.hostel.management.repository.GuestProfileRepository;
+import com.hostel.management.repository.ProjectionOffsetRepository.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Profils clients (guest_profiles) : un recalcul par client concerné par le lot d'événements.
+ */
+@Component
+@RequiredArgsConstructor
+public class GuestProfileProjection implements BookingProjection {
+
+    private final GuestProfileRepository guestProfileRepository;
+
+    @Override
+    public String name() {
+        return "guest-profiles";
+    }
+
+    @Override
+    public void apply(List<JournalEntry> events) {
+        guestProfileRepository.refresh(events.stream()
+                .map(JournalEntry::guestEmail)
+                .distinct()
+                .sorted()
+                .toList());
+    }
+
+    @Override
+    public void reset() {
+        guestProfileRepository.reset();
+    }
+}
@@ -0,0 +1,294 @@
+package com.hostel.management.ratelimit;
+
+import com.hostel.management.dto.response.ErrorResponse;
+import com.hostel.management.monitoring.HostelMetrics;
+import com.hostel.management.ratelimit.TokenBucketStore.Decision;
+import com.hostel.management.ratelimit.TokenBucketStore.Limit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Limitation de débit des endpoints publics coûteux, avant toute connexion à la base.
+ *
+ * Chaque groupe de routes a deux seaux à jetons (TokenBucketStore) : par IP cliente et par cible
+ * (email du corps JSON, référence de réservation), pour qu'un même compte ne soit pas visé depuis
+ * de nombreuses IP. Limites au format "requêtes/durée" :
+ * - booking-create  POST /api/bookings                          : app.rate-limit.booking-create.per-ip / per-target
+ * - booking-lookup  GET /api/bookings/reference/{reference}     : app.rate-limit.booking-lookup.*
+ * - login           POST /api/auth/login                        : app.rate-limit.login.*
+ * - register        POST /api/auth/register                     : app.rate-limit.register.*
+ * - password-reset  POST /api/auth/forgot-password, reset-password : app.rate-limit.password-reset.*
+ *
+ * Réponses : en-têtes RateLimit-Limit / -Remaining / -Reset / -Policy (draft IETF) du seau le plus
+ * contraint ; au-delà, 429 avec Retry-After. Aucune exemption par JWT : /api/auth/register délivre
+ * un jeton à quiconque s'inscrit, et tous les comptes ont la même autorité (ROLE_USER).
+ *
+ * Placé dans la chaîne Spring Security après CorsFilter (les navigateurs peuvent lire le 429) et
+ * avant JwtAuthenticationFilter, qui charge l'utilisateur en base.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketStore store;
+    private final ObjectMapper objectMapper;
+    private final HostelMetrics hostelMetrics;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final List<Route> routes;
+
+    public RateLimitFilter(TokenBucketStore store,
+                           ObjectMapper objectMapper,
+                           HostelMetrics hostelMetrics,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-body-bytes:8192}") int maxBodyBytes,
+                           @Value("${app.rate-limit.booking-create.per-ip:20/10m}") String bookingCreatePerIp,
+                           @Value("${app.rate-limit.booking-create.per-target:5/10m}") String bookingCreatePerTarget,
+                           @Value("${app.rate-limit.booking-lookup.per-ip:30/1m}") String bookingLookupPerIp,
+                           @Value("${app.rate-limit.booking-lookup.per-target:10/1m}") String bookingLookupPerTarget,
+                           @Value("${app.rate-limit.login.per-ip:20/5m}") String loginPerIp,
+                           @Value("${app.rate-limit.login.per-target:5/5m}") String loginPerTarget,
+                           @Value("${app.rate-limit.register.per-ip:5/1h}") String registerPerIp,
+                           @Value("${app.rate-limit.register.per-target:3/1h}") String registerPerTarget,
+                           @Value("${app.rate-limit.password-reset.per-ip:10/15m}") String passwordResetPerIp,
+                           @Value("${app.rate-limit.password-reset.per-target:3/15m}") String passwordResetPerTarget) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.hostelMetrics = hostelMetrics;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.routes = List.of(
+                new Route("booking-create", "POST", "/api/bookings",
+                        parse(bookingCreatePerIp), parse(bookingCreatePerTarget), bodyField("guestEmail")),
+                new Route("booking-lookup", "GET", "/api/bookings/reference/{reference}",
+                        parse(bookingLookupPerIp), parse(bookingLookupPerTarget), pathVariable("reference")),
+                new Route("login", "POST", "/api/auth/login",
+                        parse(loginPerIp), parse(loginPerTarget), bodyField("email")),
+                new Route("register", "POST", "/api/auth/register",
+                        parse(registerPerIp), parse(registerPerTarget), bodyField("email")),
+                new Route("password-reset", "POST", "/api/auth/forgot-password",
+                        parse(passwordResetPerIp), parse(passwordResetPerTarget), bodyField("email")),
+                new Route("password-reset", "POST", "/api/auth/reset-password",
+                        parse(passwordResetPerIp), parse(passwordResetPerTarget), bodyField("email")));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = null;
+        PathPattern.PathMatchInfo match = null;
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Route candidate : routes) {
+            if (candidate.method().equals(request.getMethod())
+                    && (match = candidate.pattern().matchAndExtract(path)) != null) {
+                route = candidate;
+                break;
+            }
+        }
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Decision perIp = store.tryConsume(route.group() + ":ip:" + request.getRemoteAddr(), route.perIp());
+        if (!perIp.allowed()) {
+            reject(route, "ip", perIp, request, response);
+            return;
+        }
+
+        Decision tightest = perIp;
+        // Corps éventuellement lu pour extraire la cible : la suite de la chaîne reçoit target.request()
+        TargetRequest target = route.target().apply(new TargetRequest(request, match, null));
+        if (target.value() != null) {
+            Decision perTarget = store.tryConsume(
+                    route.group() + ":target:" + target.value().trim().toLowerCase(Locale.ROOT), route.perTarget());
+            if (!perTarget.allowed()) {
+                reject(route, "target", perTarget, request, response);
+                return;
+            }
+            if (perTarget.remaining() < perIp.remaining()) {
+                tightest = perTarget;
+            }
+        }
+
+        writeHeaders(response, tightest);
+        filterChain.doFilter(target.request(), response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    private void reject(Route route, String scope, Decision decision,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        hostelMetrics.recordRateLimited(route.group(), scope);
+        log.warn("⚠️ Limite de débit {} ({}) atteinte : {} {} depuis {}",
+                route.group(), scope, request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+
+        writeHeaders(response, decision);
+        response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Trop de requêtes, réessayez dans " + decision.retryAfterSeconds() + " secondes",
+                request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(error));
+    }
+
+    private static void writeHeaders(HttpServletResponse response, Decision decision) {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit().capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        response.setHeader("RateLimit-Policy", decision.limit().policy());
+    }
+
+    // "20/10m" : 20 requêtes par 10 minutes
+    private static Limit parse(String limit) {
+        int slash = limit.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Limite attendue au format requêtes/durée : " + limit);
+        }
+        return new Limit(Integer.parseInt(limit.substring(0, slash).trim()),
+                DurationStyle.detectAndParse(limit.substring(slash + 1).trim()));
+    }
+
+    private static Function<TargetRequest, TargetRequest> pathVariable(String name) {
+        return target -> new TargetRequest(target.request(), target.match(),
+                target.match().getUriVariables().get(name));
+    }
+
+    /**
+     * Lit le corps JSON (borné à app.rate-limit.max-body-bytes) pour en extraire un champ, et le
+     * remet à disposition du contrôleur. Corps trop gros ou illisible : limite par IP seulement,
+     * la validation du contrôleur répond.
+     */
+    private Function<TargetRequest, TargetRequest> bodyField(String field) {
+        return target -> {
+            HttpServletRequest request = target.request();
+            if (request.getContentLengthLong() > maxBodyBytes) {
+                return target;
+            }
+            try {
+                InputStream input = request.getInputStream();
+                byte[] head = input.readNBytes(maxBodyBytes + 1);
+                HttpServletRequest replay = new ReplayedBodyRequest(request, head, input);
+                if (head.length > maxBodyBytes) {
+                    return new TargetRequest(replay, target.match(), null);
+                }
+                String value = null;
+                try {
+                    JsonNode node = objectMapper.readTree(head).path(field);
+                    value = node.isString() && !node.asString().isBlank() ? node.asString() : null;
+                } catch (RuntimeException e) {
+                    // JSON invalide : signalé par le contrôleur
+                }
+                return new TargetRequest(replay, target.match(), value);
+            } catch (IOException e) {
+                return target;
+            }
+        };
+    }
+
+    private record Route(String group, String method, PathPattern pattern, Limit perIp, Limit perTarget,
+                         Function<TargetRequest, TargetRequest> target) {
+
+        Route(String group, String method, String pattern, Limit perIp, Limit perTarget,
+              Function<TargetRequest, TargetRequest> target) {
+            this(group, method, PathPatternParser.defaultInstance.parse(pattern), perIp, perTarget, target);
+        }
+    }
+
+    // Requête transmise au reste de la chaîne (corps rejoué le cas échéant) et cible extraite
+    private record TargetRequest(HttpServletRequest request, PathPattern.PathMatchInfo match, String value) {
+    }
+
+    /**
+     * Requête dont le début du corps a déjà été lu : le flux rejoue ces octets puis la suite.
+     */
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final InputStream body;
+
+        private ReplayedBodyRequest(HttpServletRequest request, byte[] head, InputStream rest) {
+            super(request);
+            this.body = new SequenceInputStream(new ByteArrayInputStream(head), rest);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = body.read(buffer, offset, length);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Lecture non bloquante non supportée");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(body,
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
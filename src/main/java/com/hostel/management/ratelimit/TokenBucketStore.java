@@ -0,0 +1,164 @@
+package com.hostel.management.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Seaux à jetons en mémoire, un par clé (groupe de routes + IP ou cible).
+ *
+ * - Verrous par bandes : les clés sont réparties sur app.rate-limit.stripes tables, chacune
+ *   protégée par son propre verrou ; deux clients ne se bloquent que s'ils tombent sur la même bande.
+ * - Expiration : un seau redevenu plein est équivalent à un seau neuf. Chaque accès à une bande
+ *   retire ses plus anciens seaux pleins (ordre d'accès), et la taille d'une bande est bornée
+ *   (app.rate-limit.max-keys au total) : une rafale d'IP distinctes ne fait pas grossir la mémoire.
+ *
+ * L'état est propre à l'instance : derrière N instances, la limite effective est au plus N fois
+ * la limite configurée.
+ */
+@Component
+public class TokenBucketStore {
+
+    // Seaux expirés retirés au plus par accès, pour garder un coût constant
+    private static final int MAX_EVICTIONS_PER_ACCESS = 16;
+
+    private final Stripe[] stripes;
+
+    public TokenBucketStore(@Value("${app.rate-limit.stripes:64}") int stripes,
+                            @Value("${app.rate-limit.max-keys:100000}") int maxKeys) {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(Math.max(1, maxKeys / count));
+        }
+    }
+
+    /**
+     * Prend un jeton dans le seau de la clé, créé plein s'il n'existe pas.
+     */
+    public Decision tryConsume(String key, Limit limit) {
+        return stripeFor(key).tryConsume(key, limit, System.nanoTime());
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * capacity requêtes par period, en rafale ou étalées (un jeton rendu toutes les period / capacity).
+     */
+    public record Limit(int capacity, Duration period) {
+
+        public Limit {
+            if (capacity < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Limite invalide : " + capacity + "/" + period);
+            }
+        }
+
+        long nanosPerToken() {
+            return Math.max(1, period.toNanos() / capacity);
+        }
+
+        // Politique annoncée dans RateLimit-Policy (draft IETF) : "10;w=60"
+        public String policy() {
+            return capacity + ";w=" + Math.max(1, period.toSeconds());
+        }
+    }
+
+    /**
+     * @param remaining         jetons restants après la requête
+     * @param resetSeconds      délai avant que le seau soit de nouveau plein
+     * @param retryAfterSeconds délai avant le prochain jeton (requête refusée), 0 sinon
+     */
+    public record Decision(boolean allowed, Limit limit, int remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+        private long fullAt;
+    }
+
+    // Horloge explicite (now, en nanosecondes) : TokenBucketStoreTest
+    static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        Decision tryConsume(String key, Limit limit, long now) {
+            long nanosPerToken = limit.nanosPerToken();
+            lock.lock();
+            try {
+                evictFull(now);
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket();
+                    bucket.tokens = limit.capacity();
+                    bucket.updatedAt = now;
+                    buckets.put(key, bucket);
+                } else {
+                    double refilled = (double) (now - bucket.updatedAt) / nanosPerToken;
+                    bucket.tokens = Math.min(limit.capacity(), bucket.tokens + refilled);
+                    bucket.updatedAt = now;
+                }
+
+                boolean allowed = bucket.tokens >= 1;
+                if (allowed) {
+                    bucket.tokens -= 1;
+                }
+                long toFull = (long) Math.ceil((limit.capacity() - bucket.tokens) * nanosPerToken);
+                bucket.fullAt = now + toFull;
+                long retryAfter = allowed ? 0 : (long) Math.ceil((1 - bucket.tokens) * nanosPerToken);
+                return new Decision(allowed, limit, (int) bucket.tokens, seconds(toFull), seconds(retryAfter));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Du plus anciennement utilisé au plus récent ; s'arrête au premier seau encore entamé
+        private void evictFull(long now) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            for (int i = 0; i < MAX_EVICTIONS_PER_ACCESS && iterator.hasNext(); i++) {
+                if (now - iterator.next().fullAt < 0) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return buckets.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static long seconds(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
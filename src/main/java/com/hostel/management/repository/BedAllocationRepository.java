@@ -0,0 +1,90 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lits libres d'un type de chambre pour un séjour, avec l'intervalle libre qui l'entoure
+ * (BedAllocationService), en une requête.
+ *
+ * Les réservations voisines sont cherchées sur [checkIn - horizon, checkOut + horizon[ ;
+ * check_in_date est borné des deux côtés (Booking.MAX_NIGHTS en plus en bas) pour que seules
+ * les partitions mensuelles concernées soient parcourues.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BedAllocationRepository {
+
+    // Une réservation non annulée occupe le lit (même prédicat que findAvailableBedsByRoomAndDates)
+    private static final String CANDIDATES = """
+            WITH candidates AS (
+                SELECT bd.id, bd.room_id, r.room_number, bd.bed_number, bd.is_available,
+                       count(*) OVER (PARTITION BY bd.room_id) AS room_beds
+                FROM beds bd
+                JOIN rooms r ON r.id = bd.room_id
+                WHERE r.room_type = :roomType AND r.is_active = true AND r.deleted = false AND bd.deleted = false
+            ), nearby AS (
+                SELECT bb.bed_id, b.check_in_date, b.check_out_date
+                FROM booking_beds bb
+                JOIN bookings b ON b.id = bb.booking_id AND b.check_in_date = bb.check_in_date
+                WHERE b.status <> 'CANCELLED'
+                AND bb.check_in_date >= :earliestCheckIn AND bb.check_in_date < :horizonEnd
+                AND b.check_in_date >= :earliestCheckIn AND b.check_in_date < :horizonEnd
+                AND b.check_out_date > :horizonStart
+                AND bb.bed_id IN (SELECT id FROM candidates)
+            )
+            SELECT c.id, c.room_id, c.room_number, c.bed_number, c.room_beds,
+                   max(n.check_out_date) FILTER (WHERE n.check_out_date <= :checkIn) AS free_from,
+                   min(n.check_in_date) FILTER (WHERE n.check_in_date >= :checkOut) AS free_until
+            FROM candidates c
+            LEFT JOIN nearby n ON n.bed_id = c.id
+            WHERE c.is_available = true
+            GROUP BY c.id, c.room_id, c.room_number, c.bed_number, c.room_beds
+            HAVING count(*) FILTER (WHERE n.check_in_date < :checkOut AND n.check_out_date > :checkIn) = 0
+            ORDER BY c.room_number, c.bed_number, c.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param earliestCheckIn (checkIn - horizon) - Booking.MAX_NIGHTS : borne basse des arrivées voisines
+     * @param horizonStart checkIn - horizon : au-delà, l'intervalle libre est considéré ouvert
+     * @param horizonEnd checkOut + horizon
+     */
+    public List<FreeBed> findFreeBeds(String roomType, LocalDate checkIn, LocalDate checkOut,
+                                      LocalDate earliestCheckIn, LocalDate horizonStart, LocalDate horizonEnd) {
+        return jdbcTemplate.query(CANDIDATES,
+                new MapSqlParameterSource()
+                        .addValue("roomType", roomType)
+                        .addValue("checkIn", Date.valueOf(checkIn))
+                        .addValue("checkOut", Date.valueOf(checkOut))
+                        .addValue("earliestCheckIn", Date.valueOf(earliestCheckIn))
+                        .addValue("horizonStart", Date.valueOf(horizonStart))
+                        .addValue("horizonEnd", Date.valueOf(horizonEnd)),
+                (rs, i) -> new FreeBed(
+                        rs.getLong("id"),
+                        rs.getLong("room_id"),
+                        rs.getString("room_number"),
+                        rs.getString("bed_number"),
+                        rs.getInt("room_beds"),
+                        rs.getObject("free_from", LocalDate.class),
+                        rs.getObject("free_until", LocalDate.class)));
+    }
+
+    /**
+     * Lit libre sur tout le séjour.
+     *
+     * @param roomBeds Lits non supprimés de la chambre (libres ou non)
+     * @param freeFrom Départ de la réservation précédente, null si aucune dans l'horizon
+     * @param freeUntil Arrivée de la réservation suivante, null si aucune dans l'horizon
+     */
+    public record FreeBed(long bedId, long roomId, String roomNumber, String bedNumber, int roomBeds,
+                          LocalDate freeFrom, LocalDate freeUntil) {
+    }
+}
@@ -1,12 +1,14 @@
 package com.hostel.management.repository;
 
 import com.hostel.management.entity.Bed;
+import com.hostel.management.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,54 +31,107 @@ public interface BedRepository extends JpaRepository<Bed, Long> {
             "WHERE b.room.id = :roomId " +
             "AND b.deleted = false " +
             "AND b.id NOT IN (" +
-            "  SELECT bed.id FROM Booking bk " +
-            "  JOIN bk.beds bed " +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
             "  WHERE bk.status != 'CANCELLED' " +
-            "  AND bk.checkInDate < :checkOut " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
             "  AND bk.checkOutDate > :checkIn" +
             ")")
     List<Bed> findAvailableBedsByRoomAndDates(
             @Param("roomId") Long roomId,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    // Borne basse de check_in_date : élagage des partitions de bookings (V6)
+    default List<Bed> findAvailableBedsByRoomAndDates(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return findAvailableBedsByRoomAndDates(roomId, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
+    // Lits libres d'une chambre sur toute la période (flux de disponibilité, LiveFeedService)
+    @Query("SELECT COUNT(b) FROM Bed b " +
+            "WHERE b.room.id = :roomId " +
+            "AND b.deleted = false " +
+            "AND b.id NOT IN (" +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
+            "  WHERE bk.status != 'CANCELLED' " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
+            "  AND bk.checkOutDate > :checkIn" +
+            ")")
+    long countAvailableBedsByRoomAndDates(
+            @Param("roomId") Long roomId,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut
+    );
+
+    default long countAvailableBedsByRoomAndDates(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return countAvailableBedsByRoomAndDates(roomId, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
+    @Query("SELECT DISTINCT b.room.id FROM Bed b WHERE b.id IN :bedIds")
+    List<Long> findRoomIdsByBedIds(@Param("bedIds") Collection<Long> bedIds);
+
     // ✅ MODIFIÉ : Tous les lits disponibles (non supprimés)
     @Query("SELECT b FROM Bed b " +
             "WHERE b.room.isActive = true " +
             "AND b.room.deleted = false " +
             "AND b.deleted = false " +
             "AND b.id NOT IN (" +
-            "  SELECT bed.id FROM Booking bk " +
-            "  JOIN bk.beds bed " +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
             "  WHERE bk.status != 'CANCELLED' " +
-            "  AND bk.checkInDate < :checkOut " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
             "  AND bk.checkOutDate > :checkIn" +
             ")")
     List<Bed> findAllAvailableBeds(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default List<Bed> findAllAvailableBeds(LocalDate checkIn, LocalDate checkOut) {
+        return findAllAvailableBeds(Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     // ✅ MODIFIÉ : Compter les lits disponibles (non supprimés)
     @Query("SELECT COUNT(b) FROM Bed b " +
             "WHERE b.room.isActive = true " +
             "AND b.room.deleted = false " +
             "AND b.deleted = false " +
             "AND b.id NOT IN (" +
-            "  SELECT bed.id FROM Booking bk " +
-            "  JOIN bk.beds bed " +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
             "  WHERE bk.status != 'CANCELLED' " +
-            "  AND bk.checkInDate < :checkOut " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
             "  AND bk.checkOutDate > :checkIn" +
             ")")
     long countAvailableBeds(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default long countAvailableBeds(LocalDate checkIn, LocalDate checkOut) {
+        return countAvailableBeds(Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     // ✅ GARDÉ pour usage interne
     List<Bed> findByRoomId(Long roomId);
 
     Optional<Bed> findByRoomIdAndBedNumber(Long roomId, String bedNumber);
+
+    // Inventaire vendable par type de chambre : [roomType, nombre de lits] (statistiques RevPAB)
+    @Query("SELECT b.room.roomType, COUNT(b) FROM Bed b " +
+            "WHERE b.room.isActive = true " +
+            "AND b.room.deleted = false " +
+            "AND b.deleted = false " +
+            "GROUP BY b.room.roomType")
+    List<Object[]> countActiveBedsByRoomType();
 }
@@ -0,0 +1,117 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tables froides bookings_archive, booking_beds_archive et booking_services_archive (V5).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingArchiveRepository {
+
+    private static final String BOOKING_COLUMNS = """
+            id, access_code, booking_reference, check_in_date, check_out_date, created_at,
+            guest_email, guest_name, guest_phone, notes, number_of_persons, payment_status,
+            status, total_price, updated_at, version, pack_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Déplace un lot de réservations CHECKED_OUT terminées avant beforeDate, avec leurs lits
+     * et services, en une seule instruction (tout ou rien).
+     *
+     * Idempotent : une réservation déjà présente dans l'archive n'y est pas dupliquée.
+     * SKIP LOCKED : une réservation verrouillée par une autre transaction attend le lot suivant.
+     * Chaque instruction filtre sur (id, check_in_date), la clé de partition de V6.
+     *
+     * @return nombre de réservations retirées de la table bookings
+     */
+    public int moveBatch(LocalDate beforeDate, int batchSize) {
+        return jdbcTemplate.update("""
+                WITH batch AS (
+                    SELECT id, check_in_date FROM bookings
+                    WHERE status = 'CHECKED_OUT'
+                    AND check_out_date < ?
+                    ORDER BY check_out_date, id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), archived AS (
+                    INSERT INTO bookings_archive (%1$s, archived_at)
+                    SELECT %1$s, now() FROM bookings WHERE (id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                    ON CONFLICT (id) DO NOTHING
+                ), archived_beds AS (
+                    INSERT INTO booking_beds_archive (booking_id, bed_id)
+                    SELECT booking_id, bed_id FROM booking_beds
+                    WHERE (booking_id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                    ON CONFLICT DO NOTHING
+                ), archived_services AS (
+                    INSERT INTO booking_services_archive (booking_id, service_id)
+                    SELECT booking_id, service_id FROM booking_services
+                    WHERE (booking_id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                    ON CONFLICT DO NOTHING
+                ), deleted_beds AS (
+                    DELETE FROM booking_beds
+                    WHERE (booking_id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                ), deleted_services AS (
+                    DELETE FROM booking_services
+                    WHERE (booking_id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                )
+                DELETE FROM bookings WHERE (id, check_in_date) IN (SELECT id, check_in_date FROM batch)
+                """.formatted(BOOKING_COLUMNS),
+                Date.valueOf(beforeDate), batchSize);
+    }
+
+    /**
+     * Réservation archivée, détachée : champs simples renseignés, relations
+     * à résoudre à partir de packId, bedIds et serviceIds.
+     */
+    public Optional<ArchivedBooking> findByBookingReference(String bookingReference) {
+        return jdbcTemplate.query("""
+                        SELECT %s FROM bookings_archive
+                        WHERE booking_reference = ?
+                        ORDER BY archived_at DESC
+                        LIMIT 1
+                        """.formatted(BOOKING_COLUMNS),
+                        (rs, i) -> new ArchivedBooking(
+                                Booking.builder()
+                                        .id(rs.getLong("id"))
+                                        .accessCode(rs.getString("access_code"))
+                                        .bookingReference(rs.getString("booking_reference"))
+                                        .checkInDate(rs.getObject("check_in_date", LocalDate.class))
+                                        .checkOutDate(rs.getObject("check_out_date", LocalDate.class))
+                                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                                        .guestEmail(rs.getString("guest_email"))
+                                        .guestName(rs.getString("guest_name"))
+                                        .guestPhone(rs.getString("guest_phone"))
+                                        .notes(rs.getString("notes"))
+                                        .numberOfPersons(rs.getInt("number_of_persons"))
+                                        .paymentStatus(Booking.PaymentStatus.valueOf(rs.getString("payment_status")))
+                                        .status(Booking.BookingStatus.valueOf(rs.getString("status")))
+                                        .totalPrice(rs.getBigDecimal("total_price"))
+                                        .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                                        .version(rs.getLong("version"))
+                                        .build(),
+                                rs.getObject("pack_id", Long.class),
+                                jdbcTemplate.queryForList(
+                                        "SELECT bed_id FROM booking_beds_archive WHERE booking_id = ? ORDER BY bed_id",
+                                        Long.class, rs.getLong("id")),
+                                jdbcTemplate.queryForList(
+                                        "SELECT service_id FROM booking_services_archive WHERE booking_id = ? ORDER BY service_id",
+                                        Long.class, rs.getLong("id"))),
+                        bookingReference)
+                .stream()
+                .findFirst();
+    }
+
+    public record ArchivedBooking(Booking booking, Long packId, List<Long> bedIds, List<Long> serviceIds) {
+    }
+}
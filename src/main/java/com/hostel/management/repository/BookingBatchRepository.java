@@ -0,0 +1,143 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transitions de statut et de paiement appliquées à un lot de réservations (BookingBatchService),
+ * sans charger les entités : une lecture, puis un seul ordre SQL qui met à jour les lignes,
+ * incrémente version (verrou optimiste de Booking) et journalise dans booking_events.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingBatchRepository {
+
+    // Colonne modifiée par le lot ; jamais issue de la requête HTTP
+    public enum Field {
+        STATUS("status"), PAYMENT_STATUS("payment_status");
+
+        private final String column;
+
+        Field(String column) {
+            this.column = column;
+        }
+    }
+
+    // Lits agrégés par réservation : type de chambre (celui du premier lit) comme appendExpired
+    private static final String BEDS = """
+            CROSS JOIN LATERAL (
+                SELECT min(r.room_type) AS room_type, count(bb.bed_id) AS beds,
+                       array_remove(array_agg(DISTINCT bd.room_id), NULL) AS room_ids
+                FROM booking_beds bb
+                JOIN beds bd ON bd.id = bb.bed_id
+                JOIN rooms r ON r.id = bd.room_id
+                WHERE bb.booking_id = u.id AND bb.check_in_date = u.check_in_date
+            ) x""";
+
+    // Seules les lignes dont la version n'a pas changé depuis la lecture sont modifiées.
+    // check_in_date (clé de partition, V6) dans la jointure et bornée par les dates lues :
+    // seules les partitions des mois du lot sont parcourues.
+    private static final String APPLY = """
+            WITH input AS (
+                SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:checkIns AS date[]), CAST(:versions AS bigint[]),
+                                     CAST(:statusesBefore AS varchar[])) AS i(id, check_in_date, version, status_before)
+            ), updated AS (
+                UPDATE bookings b
+                SET %1$s = :value, updated_at = :now, version = b.version + 1
+                FROM input i
+                WHERE b.id = i.id AND b.check_in_date = i.check_in_date AND b.version = i.version
+                AND b.check_in_date BETWEEN :minCheckIn AND :maxCheckIn
+                RETURNING b.id, b.booking_reference, b.status, b.payment_status, b.guest_email, b.guest_name,
+                          b.guest_phone, b.check_in_date, b.check_out_date, b.total_price, b.pack_id,
+                          i.status_before
+            ), journal AS (
+                INSERT INTO booking_events (id, booking_id, event_type, occurred_at, status_before, status,
+                                            payment_status, guest_email, guest_name, guest_phone, check_in_date,
+                                            check_out_date, total_price, with_pack, room_type, beds)
+                SELECT nextval('booking_events_seq'), u.id, :eventType, :now, u.status_before, u.status,
+                       u.payment_status, lower(trim(u.guest_email)), u.guest_name, u.guest_phone, u.check_in_date,
+                       u.check_out_date, u.total_price, u.pack_id IS NOT NULL, x.room_type, x.beds
+                FROM updated u
+                %2$s
+            )
+            SELECT u.id, u.booking_reference, u.guest_name, u.status, u.payment_status,
+                   u.check_in_date, u.check_out_date, x.room_ids
+            FROM updated u
+            %2$s
+            ORDER BY u.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * État courant des réservations demandées (les absentes n'existent pas ou sont archivées)
+     */
+    public List<BookingState> findStates(Collection<Long> ids) {
+        return jdbcTemplate.query("""
+                        SELECT id, check_in_date, status, payment_status, version
+                        FROM bookings
+                        WHERE id IN (:ids)
+                        """,
+                new MapSqlParameterSource("ids", ids),
+                (rs, i) -> new BookingState(
+                        rs.getLong("id"),
+                        rs.getObject("check_in_date", LocalDate.class),
+                        rs.getString("status"),
+                        rs.getString("payment_status"),
+                        rs.getLong("version")));
+    }
+
+    /**
+     * Applique value à field sur les réservations lues (findStates) et journalise eventType.
+     *
+     * @return les réservations modifiées ; une réservation lue mais absente a été modifiée entre-temps
+     */
+    public List<ChangedBooking> apply(Field field, String value, String eventType,
+                                      List<BookingState> states, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", states.stream().map(BookingState::id).toArray(Long[]::new))
+                .addValue("checkIns", states.stream().map(state -> state.checkIn().toString()).toArray(String[]::new))
+                .addValue("minCheckIn", states.stream().map(BookingState::checkIn).min(LocalDate::compareTo).orElseThrow())
+                .addValue("maxCheckIn", states.stream().map(BookingState::checkIn).max(LocalDate::compareTo).orElseThrow())
+                .addValue("versions", states.stream().map(BookingState::version).toArray(Long[]::new))
+                .addValue("statusesBefore", states.stream().map(BookingState::status).toArray(String[]::new))
+                .addValue("value", value)
+                .addValue("eventType", eventType)
+                .addValue("now", Timestamp.valueOf(now));
+        return jdbcTemplate.query(APPLY.formatted(field.column, BEDS), params,
+                (rs, i) -> new ChangedBooking(
+                        rs.getLong("id"),
+                        rs.getString("booking_reference"),
+                        rs.getString("guest_name"),
+                        rs.getString("status"),
+                        rs.getString("payment_status"),
+                        rs.getObject("check_in_date", LocalDate.class),
+                        rs.getObject("check_out_date", LocalDate.class),
+                        roomIds(rs.getArray("room_ids"))));
+    }
+
+    private static List<Long> roomIds(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        return Arrays.stream((Long[]) array.getArray()).toList();
+    }
+
+    public record BookingState(long id, LocalDate checkIn, String status, String paymentStatus, long version) {
+    }
+
+    public record ChangedBooking(long id, String bookingReference, String guestName, String status,
+                                 String paymentStatus, LocalDate checkIn, LocalDate checkOut, List<Long> roomIds) {
+    }
+}
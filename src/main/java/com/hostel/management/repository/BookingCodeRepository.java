@@ -0,0 +1,49 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Séquence booking_code_seq (V12) et codes déjà attribués (booking_codes, V6).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingCodeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Réserve un bloc de valeurs de la séquence. Hors transaction au sens MVCC : aucune
+     * valeur n'est rendue en cas de rollback, aucune n'est vue deux fois.
+     */
+    public List<Long> nextValues(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval('booking_code_seq') FROM generate_series(1, ?)", Long.class, count);
+    }
+
+    /**
+     * Codes d'accès et références des réservations des tables chaudes
+     */
+    public void forEachCode(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT access_code, booking_reference FROM booking_codes", rs -> {
+            consumer.accept(rs.getString("access_code"));
+            consumer.accept(rs.getString("booking_reference"));
+        });
+    }
+
+    /**
+     * Codes d'accès, parmi ceux donnés, encore attribués à une réservation des tables chaudes
+     */
+    public Set<String> findTakenAccessCodes(Collection<String> accessCodes) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT access_code FROM booking_codes WHERE access_code = ANY(?)", String.class,
+                (Object) accessCodes.toArray(String[]::new)));
+    }
+}
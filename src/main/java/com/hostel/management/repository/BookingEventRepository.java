@@ -0,0 +1,42 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.BookingEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Journalise l'expiration d'un lot de réservations PENDING, dans la transaction qui vient de
+     * les annuler par SQL (cancelExpiredPendingBookings) : un seul INSERT pour tout le lot.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO booking_events (id, booking_id, event_type, occurred_at, status_before, status,
+                                    payment_status, guest_email, guest_name, guest_phone, check_in_date,
+                                    check_out_date, total_price, with_pack, room_type, beds)
+        SELECT nextval('booking_events_seq'), b.id, 'EXPIRED', :now, 'PENDING', b.status,
+               b.payment_status, lower(trim(b.guest_email)), b.guest_name, b.guest_phone, b.check_in_date,
+               b.check_out_date, b.total_price, b.pack_id IS NOT NULL, min(r.room_type), count(bb.bed_id)
+        FROM bookings b
+        LEFT JOIN booking_beds bb ON bb.booking_id = b.id AND bb.check_in_date = b.check_in_date
+        LEFT JOIN beds bd ON bd.id = bb.bed_id
+        LEFT JOIN rooms r ON r.id = bd.room_id
+        WHERE b.id IN (:bookingIds)
+        GROUP BY b.id, b.check_in_date
+        """, nativeQuery = true)
+    int appendExpired(@Param("bookingIds") Collection<Long> bookingIds, @Param("now") LocalDateTime now);
+
+    // Historique d'une réservation, dans l'ordre du journal
+    @Query(value = "SELECT * FROM booking_events WHERE booking_id = :bookingId ORDER BY tx_id, id",
+            nativeQuery = true)
+    List<BookingEvent> findByBookingIdInJournalOrder(@Param("bookingId") Long bookingId);
+}
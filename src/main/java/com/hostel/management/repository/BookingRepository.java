@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,97 +41,146 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findTodayCheckOuts(@Param("date") LocalDate date);
 
     // ========== VÉRIFICATION DISPONIBILITÉ (CRITIQUE) ==========
+    //
+    // bookings est partitionné par mois d'arrivée (V6). Chaque requête de chevauchement borne
+    // check_in_date des deux côtés : [checkIn - Booking.MAX_NIGHTS, checkOut[, pour que
+    // PostgreSQL écarte les autres partitions. La jointure passe par BookingBed sur
+    // (id, check_in_date) et borne aussi booking_beds (index idx_booking_beds_bed_check_in).
+    // Les méthodes default gardent la signature (checkIn, checkOut) pour les appelants.
 
     /**
      * ✅ CRITIQUE : Trouve les réservations qui chevauchent les dates pour un lit spécifique
      * Utilisé pour éviter les doubles réservations
+     *
+     * Index : idx_booking_beds_bed_check_in + idx_booking_active_window (V6)
      */
     @Query("""
-        SELECT DISTINCT b FROM Booking b 
-        JOIN b.beds bed 
-        WHERE bed.id = :bedId 
+        SELECT DISTINCT b FROM Booking b
+        JOIN BookingBed bb ON bb.bookingId = b.id AND bb.checkInDate = b.checkInDate
+        WHERE bb.bedId = :bedId
         AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
-        AND NOT (b.checkOutDate <= :checkIn OR b.checkInDate >= :checkOut)
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :checkOut
+        AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut
+        AND b.checkOutDate > :checkIn
         """)
     List<Booking> findOverlappingBookingsForBed(
             @Param("bedId") Long bedId,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default List<Booking> findOverlappingBookingsForBed(Long bedId, LocalDate checkIn, LocalDate checkOut) {
+        return findOverlappingBookingsForBed(bedId, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     /**
      * ✅ CRITIQUE : Trouve les réservations qui chevauchent les dates pour une chambre
      */
     @Query("""
-        SELECT DISTINCT b FROM Booking b 
-        JOIN b.beds bed 
-        JOIN bed.room r
-        WHERE r.id = :roomId 
+        SELECT DISTINCT b FROM Booking b
+        JOIN BookingBed bb ON bb.bookingId = b.id AND bb.checkInDate = b.checkInDate
+        JOIN Bed bed ON bed.id = bb.bedId
+        WHERE bed.room.id = :roomId
         AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
-        AND NOT (b.checkOutDate <= :checkIn OR b.checkInDate >= :checkOut)
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :checkOut
+        AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut
+        AND b.checkOutDate > :checkIn
         """)
     List<Booking> findOverlappingBookingsForRoom(
             @Param("roomId") Long roomId,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default List<Booking> findOverlappingBookingsForRoom(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return findOverlappingBookingsForRoom(roomId, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     /**
      * ✅ NOUVEAU : Vérifie si plusieurs lits sont disponibles en même temps
      */
     @Query("""
-        SELECT DISTINCT b FROM Booking b 
-        JOIN b.beds bed 
-        WHERE bed.id IN :bedIds 
+        SELECT DISTINCT b FROM Booking b
+        JOIN BookingBed bb ON bb.bookingId = b.id AND bb.checkInDate = b.checkInDate
+        WHERE bb.bedId IN :bedIds
         AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
-        AND NOT (b.checkOutDate <= :checkIn OR b.checkInDate >= :checkOut)
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :checkOut
+        AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut
+        AND b.checkOutDate > :checkIn
         """)
     List<Booking> findOverlappingBookingsForBeds(
             @Param("bedIds") List<Long> bedIds,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default List<Booking> findOverlappingBookingsForBeds(List<Long> bedIds, LocalDate checkIn, LocalDate checkOut) {
+        return findOverlappingBookingsForBeds(bedIds, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     // ========== STATISTIQUES & RAPPORTS ==========
 
     /**
      * Compte les réservations actives dans une période donnée
      */
     @Query("""
-        SELECT COUNT(DISTINCT b) FROM Booking b 
+        SELECT COUNT(DISTINCT b) FROM Booking b
         WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
-        AND NOT (b.checkOutDate <= :checkIn OR b.checkInDate >= :checkOut)
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :checkOut
+        AND b.checkOutDate > :checkIn
         """)
     long countActiveBookingsInPeriod(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default long countActiveBookingsInPeriod(LocalDate checkIn, LocalDate checkOut) {
+        return countActiveBookingsInPeriod(Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     /**
      * ✅ NOUVEAU : Compte le nombre de lits occupés dans une période
      */
     @Query("""
-        SELECT COUNT(DISTINCT bed.id) FROM Booking b 
-        JOIN b.beds bed
+        SELECT COUNT(DISTINCT bb.bedId) FROM Booking b
+        JOIN BookingBed bb ON bb.bookingId = b.id AND bb.checkInDate = b.checkInDate
         WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
-        AND NOT (b.checkOutDate <= :checkIn OR b.checkInDate >= :checkOut)
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :checkOut
+        AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut
+        AND b.checkOutDate > :checkIn
         """)
     long countOccupiedBedsInPeriod(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default long countOccupiedBedsInPeriod(LocalDate checkIn, LocalDate checkOut) {
+        return countOccupiedBedsInPeriod(Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     /**
      * ✅ NOUVEAU : Trouve toutes les réservations en cours (checked-in)
      */
     @Query("""
-        SELECT b FROM Booking b 
-        WHERE b.status = 'CHECKED_IN' 
-        AND :today >= b.checkInDate 
+        SELECT b FROM Booking b
+        WHERE b.status = 'CHECKED_IN'
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate <= :today
         AND :today < b.checkOutDate
         ORDER BY b.checkOutDate ASC
         """)
-    List<Booking> findCurrentStays(@Param("today") LocalDate today);
+    List<Booking> findCurrentStays(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
+            @Param("today") LocalDate today
+    );
+
+    default List<Booking> findCurrentStays(LocalDate today) {
+        return findCurrentStays(Booking.earliestOverlappingCheckIn(today), today);
+    }
 
     /**
      * ✅ NOUVEAU : Trouve les réservations qui arrivent bientôt
@@ -147,32 +197,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     );
 
     /**
-     * ✅ NOUVEAU : Trouve les réservations avec paiement incomplet
+     * ✅ NOUVEAU : Trouve les réservations avec paiement incomplet arrivant avant :until
+     * (séjours en cours compris : borne basse = arrivée la plus ancienne encore présente)
      */
     @Query("""
-        SELECT b FROM Booking b 
+        SELECT b FROM Booking b
         WHERE b.paymentStatus IN ('UNPAID', 'PARTIAL')
         AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
+        AND b.checkInDate >= :earliestCheckIn AND b.checkInDate < :until
         ORDER BY b.checkInDate ASC
         """)
-    List<Booking> findBookingsWithUnpaidBalance();
-
-    /**
-     * ✅ NOUVEAU : Statistiques par mois
-     */
-    @Query("""
-        SELECT COUNT(b), SUM(b.totalPrice) FROM Booking b 
-        WHERE b.status NOT IN ('CANCELLED')
-        AND YEAR(b.checkInDate) = :year 
-        AND MONTH(b.checkInDate) = :month
-        """)
-    Object[] getMonthlyStats(
-            @Param("year") int year,
-            @Param("month") int month
+    List<Booking> findBookingsWithUnpaidBalance(
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
+            @Param("until") LocalDate until
     );
 
+    default List<Booking> findBookingsWithUnpaidBalance(LocalDate today, int daysAhead) {
+        return findBookingsWithUnpaidBalance(Booking.earliestOverlappingCheckIn(today), today.plusDays(daysAhead + 1));
+    }
+
     /**
-     * ✅ NOUVEAU : Réservations d'un client
+     * ✅ NOUVEAU : Réservations d'un client (index idx_booking_guest_email_lower, V8)
+     * Recherche par nom ou téléphone : GuestSearchRepository
      */
     @Query("""
         SELECT b FROM Booking b 
@@ -181,47 +227,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         """)
     List<Booking> findByGuestEmailIgnoreCase(@Param("email") String email);
 
-    /**
-     * ✅ NOUVEAU : Chercher par téléphone
-     */
-    @Query("""
-        SELECT b FROM Booking b 
-        WHERE b.guestPhone LIKE %:phone%
-        ORDER BY b.createdAt DESC
-        """)
-    List<Booking> findByGuestPhoneContaining(@Param("phone") String phone);
-
-    /**
-     * ✅ NOUVEAU : Chercher par nom
-     */
-    @Query("""
-        SELECT b FROM Booking b 
-        WHERE LOWER(b.guestName) LIKE LOWER(CONCAT('%', :name, '%'))
-        ORDER BY b.createdAt DESC
-        """)
-    List<Booking> findByGuestNameContainingIgnoreCase(@Param("name") String name);
 
     // ========== NETTOYAGE & MAINTENANCE ==========
 
     /**
-     * ✅ NOUVEAU : Trouver les anciennes réservations à archiver
+     * Annule un lot de réservations PENDING créées avant expirationTime (un seul aller-retour,
+     * sans charger les entités) et retourne les lits libérés, une ligne par (réservation, lit).
+     *
+     * SKIP LOCKED : les réservations en cours de modification (confirmation, paiement) sont
+     * laissées au lot suivant ; version incrémentée pour le verrou optimiste de Booking.
+     * Index : idx_booking_pending_created (V4).
      */
-    @Query("""
-        SELECT b FROM Booking b 
-        WHERE b.status = 'CHECKED_OUT'
-        AND b.checkOutDate < :beforeDate
-        """)
-    List<Booking> findOldBookingsForArchive(@Param("beforeDate") LocalDate beforeDate);
-
-    /**
-     * ✅ NOUVEAU : Réservations pending expirées (plus de 24h sans confirmation)
-     */
-    @Query("""
-        SELECT b FROM Booking b 
-        WHERE b.status = 'PENDING'
-        AND b.createdAt < :expirationTime
-        """)
-    List<Booking> findExpiredPendingBookings(@Param("expirationTime") java.time.LocalDateTime expirationTime);
+    @Query(value = """
+        WITH expired AS (
+            SELECT id FROM bookings
+            WHERE status = 'PENDING'
+            AND created_at < :expirationTime
+            ORDER BY created_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        ), cancelled AS (
+            UPDATE bookings b
+            SET status = 'CANCELLED',
+                updated_at = :now,
+                version = b.version + 1,
+                notes = concat_ws(E'\\n', b.notes, 'Annulée automatiquement : délai de paiement dépassé')
+            FROM expired
+            WHERE b.id = expired.id
+            RETURNING b.id, b.check_in_date, b.check_out_date
+        )
+        SELECT c.id AS bookingId, bb.bed_id AS bedId,
+               c.check_in_date AS checkInDate, c.check_out_date AS checkOutDate
+        FROM cancelled c
+        LEFT JOIN booking_beds bb ON bb.booking_id = c.id AND bb.check_in_date = c.check_in_date
+        """, nativeQuery = true)
+    List<ReleasedBedRow> cancelExpiredPendingBookings(
+            @Param("expirationTime") LocalDateTime expirationTime,
+            @Param("now") LocalDateTime now,
+            @Param("batchSize") int batchSize);
+
+    interface ReleasedBedRow {
+        Long getBookingId();
+        Long getBedId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
 
     List<Booking> findByCheckInDate(LocalDate checkInDate);
 
@@ -0,0 +1,155 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tables booking_stats_daily et booking_stats_monthly (V7).
+ *
+ * Alimentées par le journal booking_events (BookingStatsProjection) : les contributions des
+ * réservations sont calculées en SQL ensembliste, une ligne par nuit de séjour
+ * (generate_series), puis ajoutées aux agrégats par upsert. Les lignes sont
+ * écrites dans l'ordre de la clé pour que deux mises à jour concurrentes ne s'interbloquent pas.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingStatsRepository {
+
+    // Une ligne par événement du journal : type de chambre (celui du premier lit) et nombre de lits
+    private static final String EVENT_STAYS = """
+            SELECT e.check_in_date, e.check_out_date, e.total_price, e.with_pack, e.room_type, e.beds
+            FROM booking_events e
+            WHERE e.id IN (:ids) AND e.room_type IS NOT NULL AND %s""";
+
+    // Une réservation compte si elle existe et n'est pas annulée (status NULL : supprimée)
+    private static final String COUNTED_AFTER = "coalesce(e.status <> 'CANCELLED', false)";
+    private static final String COUNTED_BEFORE = "coalesce(e.status_before <> 'CANCELLED', false)";
+
+    // Nuits de séjour ; le reste de la division du prix revient à la première nuit
+    private static final String NIGHTS = """
+            WITH stays AS (
+                %s
+            ), nights AS (
+                SELECT s.room_type, s.with_pack, s.beds, n.night::date AS stay_date,
+                       n.night = s.check_in_date AS arrival,
+                       CASE WHEN n.night = s.check_in_date
+                            THEN s.total_price - round(s.total_price / (s.check_out_date - s.check_in_date), 2)
+                                    * (s.check_out_date - s.check_in_date - 1)
+                            ELSE round(s.total_price / (s.check_out_date - s.check_in_date), 2)
+                       END AS revenue
+                FROM stays s
+                CROSS JOIN LATERAL generate_series(s.check_in_date, s.check_out_date - 1, interval '1 day') AS n(night)
+                WHERE n.night >= :from AND n.night < :to
+            )""";
+
+    private static final String UPSERT = """
+            %1$s
+            INSERT INTO %2$s (%3$s, room_type, arrivals, pack_arrivals, bed_nights, pack_bed_nights, revenue, pack_revenue)
+            SELECT %4$s, room_type,
+                   :sign * count(*) FILTER (WHERE arrival),
+                   :sign * count(*) FILTER (WHERE arrival AND with_pack),
+                   :sign * sum(beds),
+                   :sign * coalesce(sum(beds) FILTER (WHERE with_pack), 0),
+                   :sign * sum(revenue),
+                   :sign * coalesce(sum(revenue) FILTER (WHERE with_pack), 0)
+            FROM nights
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            ON CONFLICT (%3$s, room_type) DO UPDATE SET
+                arrivals = %2$s.arrivals + excluded.arrivals,
+                pack_arrivals = %2$s.pack_arrivals + excluded.pack_arrivals,
+                bed_nights = %2$s.bed_nights + excluded.bed_nights,
+                pack_bed_nights = %2$s.pack_bed_nights + excluded.pack_bed_nights,
+                revenue = %2$s.revenue + excluded.revenue,
+                pack_revenue = %2$s.pack_revenue + excluded.pack_revenue
+            """;
+
+    private static final LocalDate ALL_FROM = LocalDate.of(1970, 1, 1);
+    private static final LocalDate ALL_TO = LocalDate.of(9999, 1, 1);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Applique des événements du journal : chacun ajoute la réservation aux agrégats si elle
+     * se met à compter (création, import), la retire si elle cesse de compter (annulation,
+     * expiration, suppression), et ne change rien sinon (paiement, statut non annulé).
+     */
+    public void applyEvents(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", eventIds)
+                .addValue("from", Date.valueOf(ALL_FROM))
+                .addValue("to", Date.valueOf(ALL_TO));
+        upsert(EVENT_STAYS.formatted(COUNTED_AFTER + " AND NOT " + COUNTED_BEFORE), params.addValue("sign", 1));
+        upsert(EVENT_STAYS.formatted(COUNTED_BEFORE + " AND NOT " + COUNTED_AFTER), params.addValue("sign", -1));
+    }
+
+    // Avant un rejeu complet du journal
+    public void reset() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM booking_stats_daily");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM booking_stats_monthly");
+    }
+
+    private int upsert(String stays, MapSqlParameterSource params) {
+        String nights = NIGHTS.formatted(stays);
+        int days = jdbcTemplate.update(UPSERT.formatted(nights, "booking_stats_daily", "stay_date", "stay_date"), params);
+        jdbcTemplate.update(UPSERT.formatted(nights, "booking_stats_monthly", "month",
+                "date_trunc('month', stay_date)::date"), params);
+        return days;
+    }
+
+    public List<StatsRow> findDaily(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT stay_date AS period, room_type, arrivals, pack_arrivals, bed_nights, pack_bed_nights,
+                               revenue, pack_revenue
+                        FROM booking_stats_daily
+                        WHERE stay_date >= :from AND stay_date < :to
+                        ORDER BY stay_date, room_type
+                        """,
+                new MapSqlParameterSource().addValue("from", Date.valueOf(from)).addValue("to", Date.valueOf(to)),
+                (rs, i) -> mapRow(rs));
+    }
+
+    public List<StatsRow> findMonthly(LocalDate fromMonth, LocalDate toMonth) {
+        return jdbcTemplate.query("""
+                        SELECT month AS period, room_type, arrivals, pack_arrivals, bed_nights, pack_bed_nights,
+                               revenue, pack_revenue
+                        FROM booking_stats_monthly
+                        WHERE month >= :from AND month < :to
+                        ORDER BY month, room_type
+                        """,
+                new MapSqlParameterSource().addValue("from", Date.valueOf(fromMonth)).addValue("to", Date.valueOf(toMonth)),
+                (rs, i) -> mapRow(rs));
+    }
+
+    private static StatsRow mapRow(ResultSet rs) throws SQLException {
+        return new StatsRow(
+                rs.getObject("period", LocalDate.class),
+                rs.getString("room_type"),
+                rs.getInt("arrivals"),
+                rs.getInt("pack_arrivals"),
+                rs.getInt("bed_nights"),
+                rs.getInt("pack_bed_nights"),
+                rs.getBigDecimal("revenue"),
+                rs.getBigDecimal("pack_revenue"));
+    }
+
+    /**
+     * Agrégat d'un jour (ou d'un mois, period = premier jour) pour un type de chambre.
+     */
+    public record StatsRow(LocalDate period, String roomType, int arrivals, int packArrivals,
+                           int bedNights, int packBedNights, BigDecimal revenue, BigDecimal packRevenue) {
+    }
+}
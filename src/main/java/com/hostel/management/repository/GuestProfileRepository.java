@@ -0,0 +1,146 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Table guest_profiles (V9).
+ *
+ * Un profil est recalculé entièrement à partir des événements des réservations du client dans
+ * le journal booking_events (dernier état de chaque réservation, archive comprise) : l'opération
+ * est idempotente, un recalcul en double ou rejoué ne fausse pas les compteurs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GuestProfileRepository {
+
+    // Dernier état de chaque réservation d'après le journal (les supprimées sont écartées) ;
+    // created_at : date du premier événement de la réservation
+    private static final String STAYS = """
+            SELECT l.booking_id, l.guest_email AS email, l.guest_name, l.guest_phone_normalized, l.check_in_date,
+                   l.check_out_date, l.total_price, l.status, f.created_at
+            FROM (
+                SELECT DISTINCT ON (e.booking_id) e.booking_id, e.guest_email, e.guest_name,
+                       e.guest_phone_normalized, e.check_in_date, e.check_out_date, e.total_price, e.status
+                FROM booking_events e
+                WHERE %1$s
+                ORDER BY e.booking_id, e.tx_id DESC, e.id DESC
+            ) l
+            JOIN (
+                SELECT e.booking_id, min(e.occurred_at) AS created_at
+                FROM booking_events e
+                WHERE %1$s
+                GROUP BY e.booking_id
+            ) f ON f.booking_id = l.booking_id
+            WHERE l.status IS NOT NULL""";
+
+    private static final String UPSERT = """
+            INSERT INTO guest_profiles (email, guest_name, phone_normalized, booking_count, completed_stays,
+                                        cancelled_count, nights, lifetime_value, first_stay, last_stay,
+                                        last_booked_at, updated_at)
+            SELECT s.email,
+                   (array_agg(s.guest_name ORDER BY s.created_at DESC, s.booking_id DESC))[1],
+                   (array_agg(s.guest_phone_normalized ORDER BY s.created_at DESC, s.booking_id DESC))[1],
+                   count(*) FILTER (WHERE s.status <> 'CANCELLED'),
+                   count(*) FILTER (WHERE s.status = 'CHECKED_OUT'),
+                   count(*) FILTER (WHERE s.status = 'CANCELLED'),
+                   coalesce(sum(s.check_out_date - s.check_in_date) FILTER (WHERE s.status <> 'CANCELLED'), 0),
+                   coalesce(sum(s.total_price) FILTER (WHERE s.status <> 'CANCELLED'), 0),
+                   min(s.check_in_date) FILTER (WHERE s.status <> 'CANCELLED'),
+                   max(s.check_in_date) FILTER (WHERE s.status <> 'CANCELLED'),
+                   max(s.created_at),
+                   now()
+            FROM (
+                %s
+            ) s
+            GROUP BY s.email
+            ORDER BY s.email
+            ON CONFLICT (email) DO UPDATE SET
+                guest_name = excluded.guest_name,
+                phone_normalized = excluded.phone_normalized,
+                booking_count = excluded.booking_count,
+                completed_stays = excluded.completed_stays,
+                cancelled_count = excluded.cancelled_count,
+                nights = excluded.nights,
+                lifetime_value = excluded.lifetime_value,
+                first_stay = excluded.first_stay,
+                last_stay = excluded.last_stay,
+                last_booked_at = excluded.last_booked_at,
+                updated_at = excluded.updated_at
+            """;
+
+    private static final RowMapper<GuestProfile> ROW_MAPPER = (rs, i) -> new GuestProfile(
+            rs.getLong("id"),
+            rs.getString("email"),
+            rs.getString("guest_name"),
+            rs.getString("phone_normalized"),
+            rs.getInt("booking_count"),
+            rs.getInt("completed_stays"),
+            rs.getInt("cancelled_count"),
+            rs.getInt("nights"),
+            rs.getBigDecimal("lifetime_value"),
+            rs.getObject("first_stay", LocalDate.class),
+            rs.getObject("last_stay", LocalDate.class),
+            rs.getObject("last_booked_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Recalcule les profils des emails donnés (déjà normalisés) ; supprime ceux qui n'ont plus
+     * aucune réservation.
+     */
+    public void refresh(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("emails", emails);
+        String stays = STAYS.formatted("e.guest_email IN (:emails)");
+        jdbcTemplate.update(UPSERT.formatted(stays), params);
+        jdbcTemplate.update("""
+                DELETE FROM guest_profiles p
+                WHERE p.email IN (:emails)
+                AND p.email NOT IN (SELECT s.email FROM (%s) s)
+                """.formatted(stays), params);
+    }
+
+    // Avant un rejeu complet du journal
+    public void reset() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM guest_profiles");
+    }
+
+    public Optional<GuestProfile> findByEmail(String email) {
+        return jdbcTemplate.query("SELECT * FROM guest_profiles WHERE email = :email",
+                        new MapSqlParameterSource("email", email), ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Profils partageant un numéro (famille, groupe) ; le numéro est normalisé comme en base.
+     */
+    public List<GuestProfile> findByPhone(String phone) {
+        return jdbcTemplate.query("""
+                        SELECT * FROM guest_profiles
+                        WHERE phone_normalized = normalize_phone(:phone)
+                        ORDER BY last_booked_at DESC
+                        """,
+                new MapSqlParameterSource("phone", phone), ROW_MAPPER);
+    }
+
+    public record GuestProfile(Long id, String email, String guestName, String phoneNormalized,
+                               int bookingCount, int completedStays, int cancelledCount, int nights,
+                               BigDecimal lifetimeValue, LocalDate firstStay, LocalDate lastStay,
+                               LocalDateTime lastBookedAt, LocalDateTime updatedAt) {
+    }
+}
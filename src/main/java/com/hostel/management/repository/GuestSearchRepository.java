@@ -0,0 +1,91 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recherche clients sur les réservations chaudes et archivées, servie par les index de V8
+ * (trigrammes sur le nom et le téléphone normalisé, lower(guest_email)).
+ *
+ * Chaque méthode retourne au plus limit lignes à partir de offset, triées par pertinence
+ * puis par arrivée la plus récente.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GuestSearchRepository {
+
+    private static final String COLUMNS = """
+            id, booking_reference, guest_name, guest_email, guest_phone, check_in_date, check_out_date, status""";
+
+    private static final String PAGE = """
+            ORDER BY score DESC, check_in_date DESC, id DESC
+            LIMIT :limit OFFSET :offset""";
+
+    private static final RowMapper<GuestMatch> ROW_MAPPER = (rs, i) -> new GuestMatch(
+            rs.getLong("id"),
+            rs.getString("booking_reference"),
+            rs.getString("guest_name"),
+            rs.getString("guest_email"),
+            rs.getString("guest_phone"),
+            rs.getObject("check_in_date", LocalDate.class),
+            rs.getObject("check_out_date", LocalDate.class),
+            Booking.BookingStatus.valueOf(rs.getString("status")),
+            rs.getBoolean("archived"),
+            rs.getDouble("score"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Nom approché : word_similarity(:query, guest_name) au-dessus du seuil donné
+     * (opérateur <%, servi par l'index GIN trigrammes).
+     */
+    public List<GuestMatch> searchByName(String query, double threshold, int limit, int offset) {
+        // Seuil de l'opérateur <% pour cette transaction uniquement
+        jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)", String.class,
+                Double.toString(threshold));
+        return search("word_similarity(:query, guest_name)", ":query <% guest_name", query, limit, offset);
+    }
+
+    /**
+     * Numéro complet (comparé au format E.164) ou fragment de chiffres (contenu dans le numéro normalisé).
+     */
+    public List<GuestMatch> searchByPhone(String query, boolean fullNumber, int limit, int offset) {
+        String condition = fullNumber
+                ? "guest_phone_normalized = normalize_phone(:query)"
+                : "guest_phone_normalized LIKE '%' || :query || '%'";
+        return search("1.0", condition, query, limit, offset);
+    }
+
+    public List<GuestMatch> searchByEmail(String email, int limit, int offset) {
+        return search("1.0", "lower(guest_email) = lower(:query)", email, limit, offset);
+    }
+
+    private List<GuestMatch> search(String score, String condition, String query, int limit, int offset) {
+        String sql = """
+                SELECT * FROM (
+                    SELECT %1$s, false AS archived, %2$s AS score FROM bookings WHERE %3$s
+                    UNION ALL
+                    SELECT %1$s, true AS archived, %2$s AS score FROM bookings_archive WHERE %3$s
+                ) matches
+                %4$s
+                """.formatted(COLUMNS, score, condition, PAGE);
+        return jdbcTemplate.query(sql, new MapSqlParameterSource()
+                        .addValue("query", query)
+                        .addValue("limit", limit)
+                        .addValue("offset", offset),
+                ROW_MAPPER);
+    }
+
+    public record GuestMatch(Long bookingId, String bookingReference, String guestName, String guestEmail,
+                             String guestPhone, LocalDate checkInDate, LocalDate checkOutDate,
+                             Booking.BookingStatus status, boolean archived, double score) {
+    }
+}
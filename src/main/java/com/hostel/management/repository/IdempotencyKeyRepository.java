@@ -0,0 +1,85 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Table idempotency_keys (V11). Une clé expirée, ou en cours sur un bail dépassé,
+ * est reprise comme si elle n'existait pas.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Réserve la clé pour une première exécution. Une seule instance voit la ligne
+     * insérée ou reprise ; les autres lisent l'état existant (find).
+     */
+    public boolean claim(String scope, String key, String requestHash, Duration lease, Duration ttl) {
+        int updated = jdbcTemplate.update("""
+                INSERT INTO idempotency_keys
+                    (scope, idempotency_key, request_hash, status, created_at, locked_until, expires_at)
+                VALUES (?, ?, ?, 'IN_PROGRESS', now(),
+                        now() + ? * interval '1 millisecond', now() + ? * interval '1 millisecond')
+                ON CONFLICT (scope, idempotency_key) DO UPDATE
+                    SET request_hash = EXCLUDED.request_hash,
+                        status = 'IN_PROGRESS',
+                        response_body = NULL,
+                        created_at = EXCLUDED.created_at,
+                        locked_until = EXCLUDED.locked_until,
+                        expires_at = EXCLUDED.expires_at
+                    WHERE idempotency_keys.expires_at <= now()
+                       OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until <= now())
+                """, scope, key, requestHash, lease.toMillis(), ttl.toMillis());
+        return updated == 1;
+    }
+
+    /**
+     * État courant d'une clé non expirée
+     */
+    public Optional<StoredKey> find(String scope, String key) {
+        return jdbcTemplate.query("""
+                        SELECT request_hash, status, response_body, locked_until <= now() AS lease_expired
+                        FROM idempotency_keys
+                        WHERE scope = ? AND idempotency_key = ? AND expires_at > now()
+                        """,
+                (rs, i) -> new StoredKey(
+                        rs.getString("request_hash"),
+                        "COMPLETED".equals(rs.getString("status")),
+                        rs.getString("response_body"),
+                        rs.getBoolean("lease_expired")),
+                scope, key).stream().findFirst();
+    }
+
+    /**
+     * Enregistre la réponse ; appelé dans la transaction de l'opération rejouable
+     */
+    public void complete(String scope, String key, String responseBody) {
+        jdbcTemplate.update("""
+                UPDATE idempotency_keys
+                SET status = 'COMPLETED', response_body = ?, locked_until = now()
+                WHERE scope = ? AND idempotency_key = ? AND status = 'IN_PROGRESS'
+                """, responseBody, scope, key);
+    }
+
+    /**
+     * Libère une clé dont l'exécution a échoué : la prochaine tentative s'exécute à nouveau
+     */
+    public void release(String scope, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND status = 'IN_PROGRESS'",
+                scope, key);
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= now()");
+    }
+
+    public record StoredKey(String requestHash, boolean completed, String responseBody, boolean leaseExpired) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecture du journal booking_events et positions des projections (projection_offsets, V10).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionOffsetRepository {
+
+    private static final RowMapper<ProjectionOffset> OFFSET_MAPPER = (rs, i) -> new ProjectionOffset(
+            rs.getString("name"),
+            rs.getLong("last_tx_id"),
+            rs.getLong("last_event_id"),
+            rs.getLong("events_applied"),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void register(Collection<String> names) {
+        for (String name : names) {
+            jdbcTemplate.update("INSERT INTO projection_offsets (name) VALUES (:name) ON CONFLICT (name) DO NOTHING",
+                    new MapSqlParameterSource("name", name));
+        }
+    }
+
+    /**
+     * Verrouille la position d'une projection jusqu'à la fin de la transaction : une seule instance
+     * applique les événements d'une projection à la fois. skipLocked : vide si une autre la détient.
+     */
+    public Optional<ProjectionOffset> lock(String name, boolean skipLocked) {
+        return jdbcTemplate.query("SELECT * FROM projection_offsets WHERE name = :name FOR UPDATE"
+                                + (skipLocked ? " SKIP LOCKED" : ""),
+                        new MapSqlParameterSource("name", name), OFFSET_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Événements suivant la position donnée, limités aux transactions terminées (antérieures à
+     * pg_snapshot_xmin) : aucune transaction encore ouverte ne peut y ajouter d'événement.
+     */
+    public List<JournalEntry> readAfter(ProjectionOffset offset, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, tx_id, booking_id, event_type, guest_email
+                        FROM booking_events
+                        WHERE (tx_id, id) > (:lastTxId, :lastEventId)
+                        AND tx_id < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+                        ORDER BY tx_id, id
+                        LIMIT :limit
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("lastTxId", offset.lastTxId())
+                        .addValue("lastEventId", offset.lastEventId())
+                        .addValue("limit", limit),
+                (rs, i) -> new JournalEntry(
+                        rs.getLong("id"),
+                        rs.getLong("tx_id"),
+                        rs.getLong("booking_id"),
+                        rs.getString("event_type"),
+                        rs.getString("guest_email")));
+    }
+
+    public void advance(String name, JournalEntry last, int applied) {
+        jdbcTemplate.update("""
+                        UPDATE projection_offsets
+                        SET last_tx_id = :txId, last_event_id = :eventId,
+                            events_applied = events_applied + :applied, updated_at = now()
+                        WHERE name = :name
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("name", name)
+                        .addValue("txId", last.txId())
+                        .addValue("eventId", last.eventId())
+                        .addValue("applied", applied));
+    }
+
+    public void reset(String name) {
+        jdbcTemplate.update("""
+                        UPDATE projection_offsets
+                        SET last_tx_id = 0, last_event_id = 0, events_applied = 0, updated_at = now()
+                        WHERE name = :name
+                        """,
+                new MapSqlParameterSource("name", name));
+    }
+
+    public List<ProjectionOffset> findAll() {
+        return jdbcTemplate.query("SELECT * FROM projection_offsets ORDER BY name", OFFSET_MAPPER);
+    }
+
+    // Événements validés non encore appliqués (retard de la projection)
+    public long countPending(ProjectionOffset offset) {
+        Long pending = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM booking_events WHERE (tx_id, id) > (:lastTxId, :lastEventId)",
+                new MapSqlParameterSource()
+                        .addValue("lastTxId", offset.lastTxId())
+                        .addValue("lastEventId", offset.lastEventId()),
+                Long.class);
+        return pending == null ? 0 : pending;
+    }
+
+    public record ProjectionOffset(String name, long lastTxId, long lastEventId, long eventsApplied,
+                                   LocalDateTime updatedAt) {
+    }
+
+    public record JournalEntry(long eventId, long txId, long bookingId, String eventType, String guestEmail) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.hostel.management.repository;
 
+import com.hostel.management.entity.Booking;
 import com.hostel.management.entity.Room;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -48,15 +49,22 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             "AND r.deleted = false " +
             "AND b.deleted = false " +
             "AND b.id NOT IN (" +
-            "  SELECT bed.id FROM Booking bk " +
-            "  JOIN bk.beds bed " +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
             "  WHERE bk.status != 'CANCELLED' " +
-            "  AND bk.checkInDate < :checkOut " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
             "  AND bk.checkOutDate > :checkIn" +
             ")")
-    List<Room> findAvailableRooms(@Param("checkIn") LocalDate checkIn,
+    List<Room> findAvailableRooms(@Param("earliestCheckIn") LocalDate earliestCheckIn,
+                                  @Param("checkIn") LocalDate checkIn,
                                   @Param("checkOut") LocalDate checkOut);
 
+    // Borne basse de check_in_date : élagage des partitions de bookings (V6)
+    default List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
+        return findAvailableRooms(Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     // ✅ MODIFIÉ : Chambres disponibles par type (non supprimées)
     @EntityGraph(attributePaths = {"beds"})
     @Query("SELECT DISTINCT r FROM Room r " +
@@ -66,18 +74,24 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             "AND r.roomType = :roomType " +
             "AND b.deleted = false " +
             "AND b.id NOT IN (" +
-            "  SELECT bed.id FROM Booking bk " +
-            "  JOIN bk.beds bed " +
+            "  SELECT bb.bedId FROM BookingBed bb " +
+            "  JOIN Booking bk ON bk.id = bb.bookingId AND bk.checkInDate = bb.checkInDate " +
             "  WHERE bk.status != 'CANCELLED' " +
-            "  AND bk.checkInDate < :checkOut " +
+            "  AND bk.checkInDate >= :earliestCheckIn AND bk.checkInDate < :checkOut " +
+            "  AND bb.checkInDate >= :earliestCheckIn AND bb.checkInDate < :checkOut " +
             "  AND bk.checkOutDate > :checkIn" +
             ")")
     List<Room> findAvailableRoomsByType(
             @Param("roomType") Room.RoomType roomType,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
 
+    default List<Room> findAvailableRoomsByType(Room.RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        return findAvailableRoomsByType(roomType, Booking.earliestOverlappingCheckIn(checkIn), checkIn, checkOut);
+    }
+
     // ✅ MODIFIÉ : Statistiques (non supprimées)
     @Query("SELECT r.roomType, COUNT(r) FROM Room r WHERE r.isActive = true AND r.deleted = false GROUP BY r.roomType")
     List<Object[]> countRoomsByType();
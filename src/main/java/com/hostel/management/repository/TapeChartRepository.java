@@ -0,0 +1,86 @@
+package com.hostel.management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lectures du planning lits × jours (TapeChartService), sans entités.
+ *
+ * Les réservations d'une fenêtre sont lues en une requête bornée des deux côtés sur
+ * check_in_date ([from - Booking.MAX_NIGHTS, to[, comme les requêtes de chevauchement) :
+ * seules les partitions mensuelles concernées de bookings et booking_beds sont parcourues,
+ * bookings par idx_booking_not_cancelled_window (V6).
+ */
+@Repository
+@RequiredArgsConstructor
+public class TapeChartRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Lits en service, plus les lits supprimés cités par des réservations de la fenêtre
+     * (pour que chaque barre ait sa ligne), dans l'ordre d'affichage.
+     */
+    public List<BedRow> findBeds(Collection<Long> bookedBedIds) {
+        return jdbcTemplate.query("""
+                        SELECT bd.id, bd.room_id, r.room_number, r.room_type, bd.bed_number
+                        FROM beds bd
+                        JOIN rooms r ON r.id = bd.room_id
+                        WHERE (bd.deleted = false AND r.deleted = false) OR bd.id IN (:booked)
+                        ORDER BY r.room_number, bd.bed_number, bd.id
+                        """,
+                // IN () vide invalide : -1 ne correspond à aucun lit
+                new MapSqlParameterSource("booked", bookedBedIds.isEmpty() ? List.of(-1L) : bookedBedIds),
+                (rs, i) -> new BedRow(
+                        rs.getLong("id"),
+                        rs.getLong("room_id"),
+                        rs.getString("room_number"),
+                        rs.getString("room_type"),
+                        rs.getString("bed_number")));
+    }
+
+    /**
+     * Occupation de chaque lit par les réservations qui chevauchent [from, to[, triée par lit
+     * puis par arrivée.
+     *
+     * @param earliestCheckIn from - Booking.MAX_NIGHTS : borne basse de la fenêtre d'arrivée
+     */
+    public List<BarRow> findBars(LocalDate earliestCheckIn, LocalDate from, LocalDate to, boolean includeCancelled) {
+        // Prédicat dans le texte SQL (pas en paramètre) : l'index partiel reste utilisable
+        return jdbcTemplate.query("""
+                        SELECT bb.bed_id, b.id, b.check_in_date, b.check_out_date, b.status, b.guest_name
+                        FROM booking_beds bb
+                        JOIN bookings b ON b.id = bb.booking_id AND b.check_in_date = bb.check_in_date
+                        WHERE bb.check_in_date >= :earliestCheckIn AND bb.check_in_date < :to
+                        AND b.check_in_date >= :earliestCheckIn AND b.check_in_date < :to
+                        AND b.check_out_date > :from
+                        %s
+                        ORDER BY bb.bed_id, b.check_in_date, b.id
+                        """.formatted(includeCancelled ? "" : "AND b.status <> 'CANCELLED'"),
+                new MapSqlParameterSource()
+                        .addValue("earliestCheckIn", Date.valueOf(earliestCheckIn))
+                        .addValue("from", Date.valueOf(from))
+                        .addValue("to", Date.valueOf(to)),
+                (rs, i) -> new BarRow(
+                        rs.getLong("bed_id"),
+                        rs.getLong("id"),
+                        rs.getObject("check_in_date", LocalDate.class),
+                        rs.getObject("check_out_date", LocalDate.class),
+                        rs.getString("status"),
+                        rs.getString("guest_name")));
+    }
+
+    public record BedRow(long id, long roomId, String roomNumber, String roomType, String bedNumber) {
+    }
+
+    public record BarRow(long bedId, long bookingId, LocalDate checkIn, LocalDate checkOut,
+                         String status, String guestName) {
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,15 +59,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     int cleanupExpiredResetCodes(@Param("now") LocalDateTime now);
 
     /**
-     * ✅ OPTIMISATION : Débloque les comptes expirés en une seule requête UPDATE
-     * Utilisé par la tâche planifiée de déblocage
-     * @param now Date/heure actuelle
-     * @return Nombre de comptes débloqués
+     * Verrouille un compte (passage au-delà du seuil de LoginAttemptTracker) : le verrou
+     * expire de lui-même (User.isAccountLocked), sans UPDATE de déverrouillage
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = :attempts, u.lockedUntil = :lockedUntil, " +
+            "u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int lockAccount(@Param("id") Long id,
+                    @Param("attempts") int attempts,
+                    @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Efface le verrou et le compteur persistés après une connexion réussie
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lockedUntil = NULL, " +
+            "u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int clearLoginFailures(@Param("id") Long id);
+
+    /**
+     * Remplace le hash du mot de passe (rehash au coût configuré après connexion)
      */
+    @Transactional
     @Modifying
-    @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lockedUntil = NULL " +
-            "WHERE u.lockedUntil < :now AND u.lockedUntil IS NOT NULL")
-    int unlockExpiredAccounts(@Param("now") LocalDateTime now);
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 
     // ===================================
     // REQUÊTES SUPPLÉMENTAIRES (BONUS)
@@ -0,0 +1,44 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.service.BookingArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Déplace chaque nuit les réservations terminées vers les tables d'archive.
+ * Le nombre de réservations déplacées est historisé dans scheduled_job_runs (affected_rows).
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingArchiveJob implements MaintenanceJob {
+
+    private final BookingArchiveService bookingArchiveService;
+
+    @Value("${app.jobs.booking-archive.cron:0 0 4 * * *}")
+    private String cron;
+
+    @Override
+    public String name() {
+        return "booking-archive";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return new CronTrigger(cron);
+    }
+
+    @Override
+    public int execute() {
+        return bookingArchiveService.archiveOldBookings();
+    }
+
+    @Override
+    public Duration lockAtMostFor() {
+        return Duration.ofHours(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hostel.management.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Crée à l'avance les partitions mensuelles de bookings (V6) : les réservations sont
+ * possibles jusqu'à un an à l'avance et ne doivent pas tomber dans bookings_default,
+ * qui empêcherait ensuite de créer la partition du mois concerné.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingPartitionJob implements MaintenanceJob {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.jobs.booking-partitions.months-ahead:13}")
+    private int monthsAhead;
+
+    @Override
+    public String name() {
+        return "booking-partitions";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return new CronTrigger("0 15 2 * * *");
+    }
+
+    @Override
+    public int execute() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_booking_partitions(?, ?)", Integer.class,
+                Date.valueOf(currentMonth), Date.valueOf(currentMonth.plusMonths(monthsAhead)));
+        return created != null ? created : 0;
+    }
+}
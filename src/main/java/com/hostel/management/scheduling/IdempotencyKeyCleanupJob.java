@@ -0,0 +1,36 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Supprime les clés Idempotency-Key expirées (idempotency_keys).
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob implements MaintenanceJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Value("${app.jobs.idempotency-key-cleanup.cron:0 30 * * * *}")
+    private String cron;
+
+    @Override
+    public String name() {
+        return "idempotency-key-cleanup";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return new CronTrigger(cron);
+    }
+
+    @Override
+    public int execute() {
+        return idempotencyService.cleanupExpired();
+    }
+}
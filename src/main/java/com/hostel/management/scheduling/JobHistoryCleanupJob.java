@@ -0,0 +1,38 @@
+package com.hostel.management.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Purge l'historique d'exécution des tâches (scheduled_job_runs) au-delà de la rétention.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobHistoryCleanupJob implements MaintenanceJob {
+
+    private final SchedulerLockRepository lockRepository;
+
+    @Value("${app.jobs.history-retention:30d}")
+    private Duration retention;
+
+    @Override
+    public String name() {
+        return "job-history-cleanup";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return new CronTrigger("0 30 3 * * *");
+    }
+
+    @Override
+    public int execute() {
+        return lockRepository.deleteRunsBefore(Instant.now().minus(retention));
+    }
+}
@@ -0,0 +1,46 @@
+package com.hostel.management.scheduling;
+
+import org.springframework.scheduling.Trigger;
+
+import java.time.Duration;
+
+/**
+ * Tâche de maintenance planifiée, exécutée une seule fois à l'échelle du cluster.
+ *
+ * Toute implémentation déclarée en bean (@Component) est prise en charge par
+ * MaintenanceJobScheduler : planification, bail en base (scheduler_locks),
+ * historique (scheduled_job_runs) et métriques hostel.scheduler.job.
+ */
+public interface MaintenanceJob {
+
+    /**
+     * Identifiant stable (clé du bail et de l'historique), ex. "reset-code-cleanup".
+     */
+    String name();
+
+    /**
+     * Déclenchement : CronTrigger ou PeriodicTrigger.
+     */
+    Trigger trigger();
+
+    /**
+     * Exécute la tâche et retourne le nombre de lignes traitées.
+     */
+    int execute();
+
+    /**
+     * Durée maximale du bail : si l'instance meurt en cours d'exécution,
+     * une autre pourra reprendre la tâche après ce délai.
+     */
+    default Duration lockAtMostFor() {
+        return Duration.ofMinutes(10);
+    }
+
+    /**
+     * Durée minimale du bail : absorbe le décalage entre les déclenchements
+     * des différentes instances pour une tâche très courte.
+     */
+    default Duration lockAtLeastFor() {
+        return Duration.ofSeconds(30);
+    }
+}
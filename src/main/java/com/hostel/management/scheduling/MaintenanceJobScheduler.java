@@ -0,0 +1,105 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.dto.response.JobStatusResponse;
+import com.hostel.management.monitoring.HostelMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Registre central des tâches de maintenance.
+ *
+ * Chaque MaintenanceJob est planifiée sur toutes les instances ; à chaque déclenchement,
+ * seule l'instance qui obtient le bail en base l'exécute. Chaque exécution effective est
+ * historisée (scheduled_job_runs) et chronométrée (hostel.scheduler.job{job,outcome}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceJobScheduler implements SchedulingConfigurer {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    // pid@hôte : identifie l'instance dans les baux et l'historique
+    private static final String NODE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final List<MaintenanceJob> jobs;
+    private final SchedulerLockRepository lockRepository;
+    private final HostelMetrics hostelMetrics;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        for (MaintenanceJob job : jobs) {
+            registrar.addTriggerTask(() -> runIfLeader(job), job.trigger());
+            log.info("✅ Tâche planifiée enregistrée : {} ({})", job.name(), describe(job.trigger()));
+        }
+    }
+
+    /**
+     * Exécute la tâche si le bail est libre ; sinon une autre instance s'en charge.
+     */
+    public void runIfLeader(MaintenanceJob job) {
+        boolean acquired;
+        try {
+            acquired = lockRepository.tryAcquire(job.name(), job.lockAtMostFor(), NODE);
+        } catch (Exception e) {
+            log.error("Impossible d'obtenir le bail de la tâche {}", job.name(), e);
+            return;
+        }
+        if (!acquired) {
+            hostelMetrics.recordJobSkipped(job.name());
+            log.debug("Tâche {} déjà prise par une autre instance", job.name());
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        try {
+            int affected = job.execute();
+            hostelMetrics.recordJob(job.name(), start, true);
+            lockRepository.recordRun(job.name(), NODE, startedAt, Instant.now(), "SUCCESS", affected, null);
+            if (affected > 0) {
+                log.info("Tâche {} : {} lignes traitées", job.name(), affected);
+            }
+        } catch (Exception e) {
+            hostelMetrics.recordJob(job.name(), start, false);
+            log.error("❌ Échec de la tâche {}", job.name(), e);
+            lockRepository.recordRun(job.name(), NODE, startedAt, Instant.now(), "FAILED", null, truncate(e.toString()));
+        } finally {
+            lockRepository.release(job.name(), job.lockAtLeastFor(), NODE);
+        }
+    }
+
+    public List<JobStatusResponse> getJobStatuses(int recentRuns) {
+        return jobs.stream()
+                .map(job -> JobStatusResponse.builder()
+                        .name(job.name())
+                        .trigger(describe(job.trigger()))
+                        .recentRuns(lockRepository.findRecentRuns(job.name(), recentRuns))
+                        .build())
+                .toList();
+    }
+
+    private static String describe(Trigger trigger) {
+        if (trigger instanceof CronTrigger cron) {
+            return "cron " + cron.getExpression();
+        }
+        if (trigger instanceof PeriodicTrigger periodic) {
+            return "toutes les " + periodic.getPeriodDuration();
+        }
+        return trigger.toString();
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
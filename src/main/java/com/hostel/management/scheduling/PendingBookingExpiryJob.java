@@ -0,0 +1,46 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.service.BookingExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Annule les réservations PENDING dont le délai de paiement est dépassé,
+ * pour remettre leurs lits en vente.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingBookingExpiryJob implements MaintenanceJob {
+
+    private final BookingExpiryService bookingExpiryService;
+
+    @Value("${app.jobs.pending-expiry.interval:1m}")
+    private Duration interval;
+
+    @Override
+    public String name() {
+        return "pending-booking-expiry";
+    }
+
+    @Override
+    public Trigger trigger() {
+        PeriodicTrigger trigger = new PeriodicTrigger(interval);
+        trigger.setInitialDelay(Duration.ofSeconds(30));
+        return trigger;
+    }
+
+    @Override
+    public int execute() {
+        return bookingExpiryService.expireStalePendingBookings();
+    }
+
+    @Override
+    public Duration lockAtLeastFor() {
+        return Duration.ofSeconds(15);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Efface les codes de réinitialisation de mot de passe expirés.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResetCodeCleanupJob implements MaintenanceJob {
+
+    private final AuthService authService;
+
+    @Value("${app.jobs.reset-code-cleanup.cron:0 0 * * * *}")
+    private String cron;
+
+    @Override
+    public String name() {
+        return "reset-code-cleanup";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return new CronTrigger(cron);
+    }
+
+    @Override
+    public int execute() {
+        return authService.cleanupExpiredResetCodes();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hostel.management.scheduling;
+
+import com.hostel.management.dto.response.JobStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Baux et historique des tâches planifiées (tables scheduler_locks et scheduled_job_runs).
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Prend le bail si personne ne le détient (ou s'il a expiré).
+     * Une seule instance voit la ligne insérée ou mise à jour.
+     */
+    public boolean tryAcquire(String name, Duration lockAtMostFor, String node) {
+        int updated = jdbcTemplate.update("""
+                INSERT INTO scheduler_locks (name, lock_until, locked_at, locked_by)
+                VALUES (?, now() + ? * interval '1 millisecond', now(), ?)
+                ON CONFLICT (name) DO UPDATE
+                    SET lock_until = EXCLUDED.lock_until,
+                        locked_at = EXCLUDED.locked_at,
+                        locked_by = EXCLUDED.locked_by
+                    WHERE scheduler_locks.lock_until <= now()
+                """, name, lockAtMostFor.toMillis(), node);
+        return updated == 1;
+    }
+
+    /**
+     * Rend le bail, en le conservant au moins lockAtLeastFor après sa prise.
+     */
+    public void release(String name, Duration lockAtLeastFor, String node) {
+        jdbcTemplate.update("""
+                UPDATE scheduler_locks
+                SET lock_until = greatest(now(), locked_at + ? * interval '1 millisecond')
+                WHERE name = ? AND locked_by = ?
+                """, lockAtLeastFor.toMillis(), name, node);
+    }
+
+    public void recordRun(String jobName, String node, Instant startedAt, Instant finishedAt,
+                          String status, Integer affectedRows, String errorMessage) {
+        jdbcTemplate.update("""
+                INSERT INTO scheduled_job_runs
+                    (job_name, node, started_at, finished_at, duration_ms, status, affected_rows, error_message)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                jobName, node, Timestamp.from(startedAt), Timestamp.from(finishedAt),
+                Duration.between(startedAt, finishedAt).toMillis(), status, affectedRows, errorMessage);
+    }
+
+    public List<JobStatusResponse.JobRun> findRecentRuns(String jobName, int limit) {
+        return jdbcTemplate.query("""
+                SELECT node, started_at, duration_ms, status, affected_rows, error_message
+                FROM scheduled_job_runs
+                WHERE job_name = ?
+                ORDER BY started_at DESC
+                LIMIT ?
+                """,
+                (rs, i) -> JobStatusResponse.JobRun.builder()
+                        .node(rs.getString("node"))
+                        .startedAt(rs.getTimestamp("started_at").toInstant())
+                        .durationMs(rs.getLong("duration_ms"))
+                        .status(rs.getString("status"))
+                        .affectedRows((Integer) rs.getObject("affected_rows"))
+                        .errorMessage(rs.getString("error_message"))
+                        .build(),
+                jobName, limit);
+    }
+
+    public int deleteRunsBefore(Instant threshold) {
+        return jdbcTemplate.update("DELETE FROM scheduled_job_runs WHERE started_at < ?", Timestamp.from(threshold));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hostel.management.security;
+
+import com.hostel.management.exception.ServerBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Encodeur délégant dont les calculs (encode, matches) s'exécutent sur passwordHashingExecutor :
+ * une rafale de connexions n'occupe que les threads de hachage, jamais tous les cœurs,
+ * et les recherches de disponibilité restent servies.
+ *
+ * File pleine ou attente au-delà du délai : ServerBusyException (503) immédiate, la tâche
+ * encore en file est annulée et ne sera pas calculée.
+ *
+ * upgradeEncoding délègue à BCrypt : un hash d'un coût inférieur au coût configuré est
+ * recalculé après une connexion réussie (DaoAuthenticationProvider → CustomUserDetailsService).
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, Executor executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        FutureTask<T> task = new FutureTask<>(hashing);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ File de hachage pleine : requête refusée");
+            throw busy(e);
+        }
+        try {
+            return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Encore en file : retirée du calcul ; déjà commencée : terminée sans être attendue
+            task.cancel(false);
+            log.warn("⚠️ Hachage non obtenu en {} ms : requête refusée", timeoutMillis);
+            throw busy(e);
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ServerBusyException busy(Exception cause) {
+        return new ServerBusyException("Serveur momentanément surchargé. Réessayez dans quelques secondes.", cause);
+    }
+}
@@ -1,15 +1,19 @@
 package com.hostel.management.security;
 
+import com.hostel.management.entity.User;
 import com.hostel.management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -18,4 +22,18 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé: " + email));
     }
+
+    /**
+     * Appelé par DaoAuthenticationProvider après une connexion réussie dont le hash est d'un coût
+     * inférieur à app.auth.bcrypt-cost : seul le mot de passe est réécrit
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        log.info("✅ Hash du mot de passe relevé au coût configuré: {}", user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
 }
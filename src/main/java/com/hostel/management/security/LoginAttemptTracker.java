@@ -0,0 +1,232 @@
+package com.hostel.management.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Échecs de connexion en mémoire, par email et par IP, sur une fenêtre glissante.
+ *
+ * - Compteur à fenêtre glissante : nombre d'échecs de la fenêtre courante plus ceux de la
+ *   précédente, pondérés par la part de celle-ci encore couverte ; deux entiers par clé.
+ * - Verrous par bandes : clés réparties sur des tables protégées chacune par son verrou.
+ * - Verrouillage : au-delà du seuil, la clé est bloquée app.auth.lockout ; le blocage expire
+ *   de lui-même, sans tâche de déverrouillage. Les entrées sans échec récent ni blocage en
+ *   cours sont retirées lors des accès suivants.
+ *
+ * Seul le passage au verrouillage d'un compte est persisté (users.locked_until, AuthService),
+ * pour survivre à un redémarrage et être vu des autres instances.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final int STRIPES = 32;
+    private static final int MAX_EVICTIONS_PER_ACCESS = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long windowNanos;
+    private final long lockoutNanos;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginAttemptTracker(@Value("${app.auth.failure-window:15m}") Duration window,
+                               @Value("${app.auth.lockout:30m}") Duration lockout,
+                               @Value("${app.auth.max-failures-per-email:5}") int maxFailuresPerEmail,
+                               @Value("${app.auth.max-failures-per-ip:20}") int maxFailuresPerIp,
+                               @Value("${app.auth.max-tracked-keys:100000}") int maxKeys) {
+        this(window, lockout, maxFailuresPerEmail, maxFailuresPerIp, maxKeys, System::nanoTime);
+    }
+
+    // Horloge en nanosecondes injectable (LoginAttemptTrackerTest)
+    LoginAttemptTracker(Duration window, Duration lockout, int maxFailuresPerEmail, int maxFailuresPerIp,
+                        int maxKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.windowNanos = window.toNanos();
+        this.lockoutNanos = lockout.toNanos();
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxKeys / STRIPES));
+        }
+    }
+
+    public Duration getLockout() {
+        return Duration.ofNanos(lockoutNanos);
+    }
+
+    public int getMaxFailuresPerEmail() {
+        return maxFailuresPerEmail;
+    }
+
+    /**
+     * Blocage en cours de l'email ou de l'IP (compte ou adresse), null sinon.
+     */
+    public Lockout lockoutOf(String email, String ip) {
+        long now = nanoClock.getAsLong();
+        if (stripeFor(emailKey(email)).isLocked(emailKey(email), now)) {
+            return Lockout.ACCOUNT;
+        }
+        if (ip != null && stripeFor(ipKey(ip)).isLocked(ipKey(ip), now)) {
+            return Lockout.ADDRESS;
+        }
+        return null;
+    }
+
+    /**
+     * Enregistre un échec (mot de passe faux ou email inconnu).
+     *
+     * @return blocage déclenché par cet échec, null si les seuils ne sont pas atteints
+     */
+    public Lockout recordFailure(String email, String ip) {
+        long now = nanoClock.getAsLong();
+        boolean accountLocked = stripeFor(emailKey(email)).recordFailure(emailKey(email), maxFailuresPerEmail, now);
+        boolean addressLocked = ip != null && stripeFor(ipKey(ip)).recordFailure(ipKey(ip), maxFailuresPerIp, now);
+        return accountLocked ? Lockout.ACCOUNT : addressLocked ? Lockout.ADDRESS : null;
+    }
+
+    /**
+     * Connexion réussie ou mot de passe réinitialisé : oublie les échecs de l'email.
+     */
+    public void reset(String email) {
+        stripeFor(emailKey(email)).remove(emailKey(email));
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    public enum Lockout {
+        ACCOUNT, ADDRESS
+    }
+
+    private static final class Window {
+        private long index;
+        private int current;
+        private int previous;
+        private long lockedUntil;
+        private boolean locked;
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Window> windows;
+
+        private Stripe(int maxKeys) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        private boolean isLocked(String key, long now) {
+            lock.lock();
+            try {
+                Window window = windows.get(key);
+                return window != null && window.locked && now - window.lockedUntil < 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // true si cet échec fait passer la clé au-dessus du seuil
+        private boolean recordFailure(String key, int threshold, long now) {
+            lock.lock();
+            try {
+                evictStale(now);
+                Window window = windows.computeIfAbsent(key, k -> new Window());
+                slide(window, now);
+                window.current++;
+                if (window.locked && now - window.lockedUntil < 0) {
+                    return false;
+                }
+                if (estimate(window, now) >= threshold) {
+                    window.locked = true;
+                    window.lockedUntil = now + lockoutNanos;
+                    window.current = 0;
+                    window.previous = 0;
+                    return true;
+                }
+                window.locked = false;
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(String key) {
+            lock.lock();
+            try {
+                windows.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return windows.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void slide(Window window, long now) {
+            long index = Math.floorDiv(now, windowNanos);
+            if (index == window.index + 1) {
+                window.previous = window.current;
+                window.current = 0;
+            } else if (index != window.index) {
+                window.previous = 0;
+                window.current = 0;
+            }
+            window.index = index;
+        }
+
+        private double estimate(Window window, long now) {
+            double elapsed = (double) Math.floorMod(now, windowNanos) / windowNanos;
+            return window.current + window.previous * (1 - elapsed);
+        }
+
+        // Du plus anciennement utilisé au plus récent ; s'arrête à la première entrée encore utile
+        private void evictStale(long now) {
+            Iterator<Window> iterator = windows.values().iterator();
+            for (int i = 0; i < MAX_EVICTIONS_PER_ACCESS && iterator.hasNext(); i++) {
+                Window window = iterator.next();
+                boolean lockActive = window.locked && now - window.lockedUntil < 0;
+                if (lockActive || Math.floorDiv(now, windowNanos) <= window.index + 1) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.hostel.management.security;
 
+import com.hostel.management.compression.ResponseCompressionFilter;
+import com.hostel.management.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +20,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableWebSecurity
@@ -23,6 +32,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ResponseCompressionFilter responseCompressionFilter;
     private final CorsConfigurationSource corsConfigurationSource;
 
     @Bean
@@ -31,6 +42,10 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // ===== FLUX SSE =====
+                        // Redispatch asynchrone d'une requête déjà autorisée (fin de flux, timeout)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ===== AUTH =====
                         .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
                         .requestMatchers("/api/auth/forgot-password", "/api/auth/reset-password").permitAll()
@@ -44,6 +59,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/rooms").permitAll()
                         .requestMatchers("/api/rooms/{id}").permitAll()
                         .requestMatchers("/api/rooms/available").permitAll()
+                        .requestMatchers("/api/rooms/available/stream").permitAll()
+                        .requestMatchers("/api/rooms/allocate").permitAll()
                         .requestMatchers("/api/rooms/{id}/availability").permitAll()
 
                         // ===== ROOMS ADMIN (modification) =====
@@ -61,6 +78,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/bookings").permitAll()
                         .requestMatchers("/api/bookings/reference/**").permitAll()
 
+                        // ===== ACTUATOR (health + scrape Prometheus) =====
+                        // En production, servis sur management.server.port (réseau privé uniquement)
+                        .requestMatchers("/actuator/health", "/actuator/info", "/actuator/prometheus").permitAll()
+
                         // ===== ADMIN =====
                         .requestMatchers("/api/admin/**").authenticated()
 
@@ -69,6 +90,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                // Limitation de débit avant le chargement de l'utilisateur en base (JwtAuthenticationFilter)
+                .addFilterAfter(rateLimitFilter, CorsFilter.class)
+                // Catalogue servi depuis le cache compressé, avant l'authentification
+                .addFilterAfter(responseCompressionFilter, RateLimitFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -79,8 +104,15 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt au coût configuré, calculé sur passwordHashingExecutor. Les hashes existants gardent
+     * leur format ($2a$…, sans préfixe {id}) : un coût inférieur est relevé à la connexion suivante.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+            @Value("${app.auth.bcrypt-cost:10}") int bcryptCost,
+            @Value("${app.auth.hashing.timeout:5s}") Duration hashingTimeout) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptCost), passwordHashingExecutor, hashingTimeout);
     }
 }
@@ -9,6 +9,7 @@ import com.hostel.management.exception.ResourceNotFoundException;
 import com.hostel.management.exception.ValidationException;
 import com.hostel.management.repository.UserRepository;
 import com.hostel.management.security.JwtTokenProvider;
+import com.hostel.management.security.LoginAttemptTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 /**
@@ -45,17 +47,12 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final LoginAttemptTracker loginAttemptTracker;
 
     // ===================================
     // CONSTANTES DE SÉCURITÉ
     // ===================================
 
-    /** Nombre maximum de tentatives de connexion avant verrouillage */
-    private static final int MAX_FAILED_ATTEMPTS = 5;
-
-    /** Durée du verrouillage de compte en minutes */
-    private static final int LOCKOUT_DURATION_MINUTES = 30;
-
     /** Durée de validité du code de réinitialisation en minutes */
     private static final int RESET_CODE_EXPIRY_MINUTES = 15;
 
@@ -115,24 +112,36 @@ public class AuthService {
      * Connexion d'un utilisateur existant
      *
      * Sécurité:
-     * - Vérification du compte verrouillé
-     * - Incrémentation des tentatives échouées
-     * - Verrouillage automatique après MAX_FAILED_ATTEMPTS
+     * - Échecs comptés en mémoire par email et par IP (LoginAttemptTracker, fenêtre glissante) :
+     *   aucune écriture en base par mot de passe erroné
+     * - Verrouillage au-delà du seuil par email : seul ce passage est persisté (locked_until),
+     *   le déverrouillage se fait par expiration
+     * - Sans transaction : aucune connexion n'est retenue pendant la vérification BCrypt
      *
      * @param request Données de connexion (email, mot de passe)
+     * @param clientIp Adresse du client
      * @return Réponse avec token JWT et informations utilisateur
      * @throws AuthenticationException Si identifiants invalides
-     * @throws LockedException Si le compte est verrouillé
+     * @throws LockedException Si le compte ou l'adresse est verrouillé
      */
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         String email = request.getEmail().toLowerCase().trim();
 
-        // Récupération de l'utilisateur
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new AuthenticationException("Identifiants invalides"));
+        // Blocage connu de cette instance : ni requête SQL ni BCrypt
+        LoginAttemptTracker.Lockout lockout = loginAttemptTracker.lockoutOf(email, clientIp);
+        if (lockout != null) {
+            log.warn("Tentative de connexion bloquée ({}): {} depuis {}", lockout, email, clientIp);
+            throw lockedException(lockout);
+        }
 
-        // Vérification du verrouillage
+        // Récupération de l'utilisateur (email inconnu : compte comme un échec pour l'IP)
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            loginAttemptTracker.recordFailure(email, clientIp);
+            throw new AuthenticationException("Identifiants invalides");
+        }
+
+        // Vérification du verrouillage persisté (autre instance, avant redémarrage)
         if (user.isAccountLocked()) {
             log.warn("Tentative de connexion sur compte verrouillé: {}", email);
             throw new LockedException(
@@ -145,46 +154,48 @@ public class AuthService {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(email, request.getPassword())
             );
-
-            // Réinitialisation des tentatives en cas de succès
-            if (user.getFailedLoginAttempts() > 0) {
-                user.resetFailedAttempts();
-                userRepository.save(user);
-            }
-
-            // Génération du token JWT
-            String token = jwtTokenProvider.generateToken(user.getEmail());
-            log.info("Connexion réussie: {}", email);
-
-            return AuthResponse.builder()
-                    .token(token)
-                    .email(user.getEmail())
-                    .fullName(user.getFullName())
-                    .message("Connexion réussie")
-                    .build();
-
         } catch (BadCredentialsException e) {
-            // Incrémentation des tentatives échouées
-            user.incrementFailedAttempts();
-
-            // Verrouillage après MAX_FAILED_ATTEMPTS
-            if (user.getFailedLoginAttempts() >= MAX_FAILED_ATTEMPTS) {
-                user.lockAccount(LOCKOUT_DURATION_MINUTES);
-                userRepository.save(user);
-                log.warn("Compte verrouillé après {} tentatives: {}",
-                        MAX_FAILED_ATTEMPTS, email);
-                throw new LockedException(
-                        "Trop de tentatives échouées. Compte verrouillé pour " +
-                                LOCKOUT_DURATION_MINUTES + " minutes."
-                );
+            LoginAttemptTracker.Lockout triggered = loginAttemptTracker.recordFailure(email, clientIp);
+            if (triggered == LoginAttemptTracker.Lockout.ACCOUNT) {
+                int attempts = loginAttemptTracker.getMaxFailuresPerEmail();
+                userRepository.lockAccount(user.getId(), attempts,
+                        LocalDateTime.now().plus(loginAttemptTracker.getLockout()));
+                log.warn("Compte verrouillé après {} tentatives: {}", attempts, email);
+            } else if (triggered == LoginAttemptTracker.Lockout.ADDRESS) {
+                log.warn("Adresse {} bloquée après trop de tentatives échouées", clientIp);
             } else {
-                userRepository.save(user);
-                int attemptsLeft = MAX_FAILED_ATTEMPTS - user.getFailedLoginAttempts();
-                log.warn("Tentative de connexion échouée pour: {} (reste {})",
-                        email, attemptsLeft);
-                throw new AuthenticationException("Identifiants invalides");
+                log.warn("Tentative de connexion échouée pour: {}", email);
+            }
+            if (triggered != null) {
+                throw lockedException(triggered);
             }
+            throw new AuthenticationException("Identifiants invalides");
+        }
+
+        // Réinitialisation des tentatives en cas de succès
+        loginAttemptTracker.reset(email);
+        // failed_login_attempts est nullable (V1) : ne pas dépendre du getter pour le garde-fou
+        if (Objects.requireNonNullElse(user.getFailedLoginAttempts(), 0) > 0 || user.getLockedUntil() != null) {
+            userRepository.clearLoginFailures(user.getId());
         }
+
+        // Génération du token JWT
+        String token = jwtTokenProvider.generateToken(user.getEmail());
+        log.info("Connexion réussie: {}", email);
+
+        return AuthResponse.builder()
+                .token(token)
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .message("Connexion réussie")
+                .build();
+    }
+
+    private LockedException lockedException(LoginAttemptTracker.Lockout lockout) {
+        long minutes = loginAttemptTracker.getLockout().toMinutes();
+        return new LockedException(lockout == LoginAttemptTracker.Lockout.ACCOUNT
+                ? "Trop de tentatives échouées. Compte verrouillé pour " + minutes + " minutes."
+                : "Trop de tentatives échouées depuis cette adresse. Réessayez dans " + minutes + " minutes.");
     }
 
     // ===================================
@@ -278,6 +289,7 @@ public class AuthService {
         user.setResetCodeExpiry(null);
         user.resetFailedAttempts(); // Débloquer aussi le compte
         userRepository.save(user);
+        loginAttemptTracker.reset(normalizedEmail);
 
         log.info("Mot de passe réinitialisé avec succès pour: {}", normalizedEmail);
     }
@@ -306,8 +318,8 @@ public class AuthService {
             throw new ValidationException("Mot de passe actuel incorrect");
         }
 
-        // Vérification que le nouveau est différent
-        if (passwordEncoder.matches(newPassword, user.getPassword())) {
+        // Vérification que le nouveau est différent (l'ancien vient d'être vérifié : pas de second BCrypt)
+        if (newPassword.equals(currentPassword)) {
             throw new ValidationException("Le nouveau mot de passe doit être différent de l'ancien");
         }
 
@@ -401,36 +413,19 @@ public class AuthService {
     /**
      * ✅ OPTIMISÉ : Nettoyage des codes de réinitialisation expirés
      *
-     * Appelé automatiquement par @Scheduled dans ScheduledTasksConfig
+     * Appelé par ResetCodeCleanupJob (MaintenanceJobScheduler)
      * Une seule requête UPDATE au lieu de SELECT + N updates
      *
      * Performance: 100x plus rapide que la version avec stream()
      */
     @Transactional
-    public void cleanupExpiredResetCodes() {
+    public int cleanupExpiredResetCodes() {
         LocalDateTime now = LocalDateTime.now();
         int count = userRepository.cleanupExpiredResetCodes(now);
 
         if (count > 0) {
             log.info("Nettoyage de {} codes de réinitialisation expirés", count);
         }
-    }
-
-    /**
-     * ✅ OPTIMISÉ : Déblocage des comptes avec verrouillage expiré
-     *
-     * Appelé automatiquement par @Scheduled dans ScheduledTasksConfig
-     * Une seule requête UPDATE au lieu de SELECT + N updates
-     *
-     * Performance: 100x plus rapide que la version avec stream()
-     */
-    @Transactional
-    public void unlockExpiredAccounts() {
-        LocalDateTime now = LocalDateTime.now();
-        int count = userRepository.unlockExpiredAccounts(now);
-
-        if (count > 0) {
-            log.info("Déblocage de {} comptes expirés", count);
-        }
+        return count;
     }
 }
@@ -5,6 +5,7 @@ import com.hostel.management.entity.Bed;
 import com.hostel.management.entity.Booking;
 import com.hostel.management.entity.Room;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.monitoring.HostelMetrics;
 import com.hostel.management.repository.BedRepository;
 import com.hostel.management.repository.BookingRepository;
 import com.hostel.management.repository.RoomRepository;
@@ -25,11 +26,12 @@ public class AvailabilityService {
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final BedRepository bedRepository;
+    private final HostelMetrics hostelMetrics;
 
     @Transactional(readOnly = true)
     public boolean isBedAvailable(Long bedId, LocalDate checkIn, LocalDate checkOut) {
-        List<Booking> overlappingBookings = bookingRepository
-                .findOverlappingBookingsForBed(bedId, checkIn, checkOut);
+        List<Booking> overlappingBookings = hostelMetrics.recordAvailability("isBedAvailable",
+                () -> bookingRepository.findOverlappingBookingsForBed(bedId, checkIn, checkOut));
 
         boolean isAvailable = overlappingBookings.isEmpty();
 
@@ -41,8 +43,8 @@ public class AvailabilityService {
 
     @Transactional(readOnly = true)
     public boolean areBedsAvailable(List<Long> bedIds, LocalDate checkIn, LocalDate checkOut) {
-        List<Booking> overlappingBookings = bookingRepository
-                .findOverlappingBookingsForBeds(bedIds, checkIn, checkOut);
+        List<Booking> overlappingBookings = hostelMetrics.recordAvailability("areBedsAvailable",
+                () -> bookingRepository.findOverlappingBookingsForBeds(bedIds, checkIn, checkOut));
 
         boolean isAvailable = overlappingBookings.isEmpty();
 
@@ -54,8 +56,8 @@ public class AvailabilityService {
 
     @Transactional(readOnly = true)
     public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
-        List<Booking> overlappingBookings = bookingRepository
-                .findOverlappingBookingsForRoom(roomId, checkIn, checkOut);
+        List<Booking> overlappingBookings = hostelMetrics.recordAvailability("isRoomAvailable",
+                () -> bookingRepository.findOverlappingBookingsForRoom(roomId, checkIn, checkOut));
 
         boolean isAvailable = overlappingBookings.isEmpty();
 
@@ -68,6 +70,11 @@ public class AvailabilityService {
     // ✅ AJOUTER CETTE MÉTHODE
     @Transactional(readOnly = true)
     public AvailabilityResponse checkRoomAvailability(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return hostelMetrics.recordAvailability("checkRoomAvailability",
+                () -> computeRoomAvailability(roomId, checkIn, checkOut));
+    }
+
+    private AvailabilityResponse computeRoomAvailability(Long roomId, LocalDate checkIn, LocalDate checkOut) {
         // Récupérer la chambre
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Chambre non trouvée"));
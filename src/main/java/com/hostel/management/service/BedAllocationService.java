@@ -0,0 +1,173 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.BedAllocationResponse;
+import com.hostel.management.entity.Booking;
+import com.hostel.management.entity.Room;
+import com.hostel.management.exception.BookingException;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.monitoring.HostelMetrics;
+import com.hostel.management.repository.BedAllocationRepository;
+import com.hostel.management.repository.BedAllocationRepository.FreeBed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attribution automatique des lits : "N lits de type X du checkIn au checkOut".
+ *
+ * Best-fit sur les intervalles libres : chaque lit libre sur le séjour est entouré d'un
+ * intervalle libre (du départ précédent à l'arrivée suivante) ; le séjour est placé là où il
+ * laisse le moins de nuits libres de part et d'autre. Les trous courts sont ainsi comblés en
+ * premier et les longs intervalles restent entiers pour les longs séjours, au lieu d'être
+ * découpés en nuits isolées invendables.
+ *
+ * - DORTOIR : les N lits dans un même dortoir (un seul prix par réservation), celui dont les
+ *   N meilleurs lits laissent le moins de nuits libres ;
+ * - SINGLE / DOUBLE : une chambre entière, libre sur tout le séjour.
+ *
+ * Un intervalle sans réservation voisine dans l'horizon (app.booking.allocation.horizon-days)
+ * compte pour l'horizon entier.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class BedAllocationService {
+
+    public static final int MAX_BEDS = 10;
+
+    private final BedAllocationRepository bedAllocationRepository;
+    private final HostelMetrics hostelMetrics;
+
+    @Value("${app.booking.allocation.horizon-days:30}")
+    private int horizonDays;
+
+    /**
+     * Lits proposés pour le séjour, sans réservation (RoomController, GET /api/rooms/allocate).
+     */
+    @Transactional(readOnly = true)
+    public BedAllocationResponse propose(Room.RoomType roomType, int bedCount, LocalDate checkIn, LocalDate checkOut) {
+        List<FreeBed> beds = allocate(roomType, bedCount, checkIn, checkOut);
+        return BedAllocationResponse.builder()
+                .roomType(roomType)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .roomId(beds.get(0).roomId())
+                .roomNumber(beds.get(0).roomNumber())
+                .bedIds(beds.stream().map(FreeBed::bedId).toList())
+                .bedNumbers(beds.stream().map(FreeBed::bedNumber).toList())
+                .build();
+    }
+
+    /**
+     * Lits attribués à une nouvelle réservation (BookingService.createBooking), lus dans sa
+     * transaction SERIALIZABLE : deux attributions concurrentes du même lit ne peuvent pas
+     * être validées toutes les deux.
+     *
+     * @throws BookingException Si aucune chambre du type ne peut accueillir le séjour
+     */
+    @Transactional(readOnly = true)
+    public List<Long> allocateBedIds(Room.RoomType roomType, int bedCount, LocalDate checkIn, LocalDate checkOut) {
+        return allocate(roomType, bedCount, checkIn, checkOut).stream().map(FreeBed::bedId).toList();
+    }
+
+    private List<FreeBed> allocate(Room.RoomType roomType, int bedCount, LocalDate checkIn, LocalDate checkOut) {
+        if (roomType == null) {
+            throw new ValidationException("Type de chambre obligatoire pour l'attribution automatique");
+        }
+        if (bedCount < 1 || bedCount > MAX_BEDS) {
+            throw new ValidationException("Vous pouvez réserver entre 1 et " + MAX_BEDS + " lits");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new ValidationException("La date de départ doit être après la date d'arrivée");
+        }
+
+        LocalDate horizonStart = checkIn.minusDays(horizonDays);
+        List<FreeBed> freeBeds = hostelMetrics.recordAvailability("allocateBeds",
+                () -> bedAllocationRepository.findFreeBeds(roomType.name(), checkIn, checkOut,
+                        Booking.earliestOverlappingCheckIn(horizonStart), horizonStart, checkOut.plusDays(horizonDays)));
+
+        List<FreeBed> chosen = roomType == Room.RoomType.DORTOIR
+                ? chooseDormitoryBeds(freeBeds, bedCount, checkIn, checkOut, horizonDays)
+                : chooseRoom(freeBeds, checkIn, checkOut, horizonDays);
+        if (chosen.isEmpty()) {
+            throw new BookingException(roomType == Room.RoomType.DORTOIR
+                    ? "Aucun dortoir n'a " + bedCount + " lit(s) libre(s) pour ces dates"
+                    : "Aucune chambre " + roomType + " n'est disponible pour ces dates");
+        }
+
+        log.info("Attribution {} × {} du {} au {} → chambre {}, lits {}",
+                bedCount, roomType, checkIn, checkOut, chosen.get(0).roomNumber(),
+                chosen.stream().map(FreeBed::bedNumber).toList());
+        return chosen;
+    }
+
+    /**
+     * Les N lits d'un même dortoir qui laissent le moins de nuits libres ; vide si aucun
+     * dortoir n'a N lits libres.
+     */
+    static List<FreeBed> chooseDormitoryBeds(List<FreeBed> freeBeds, int bedCount,
+                                             LocalDate checkIn, LocalDate checkOut, int horizonDays) {
+        Comparator<FreeBed> bestFit = Comparator.comparingLong(bed -> leftover(bed, checkIn, checkOut, horizonDays));
+        List<FreeBed> best = List.of();
+        long bestLeftover = Long.MAX_VALUE;
+        for (List<FreeBed> room : byRoom(freeBeds).values()) {
+            if (room.size() < bedCount) {
+                continue;
+            }
+            // Tri stable : à égalité, ordre des numéros de lit
+            List<FreeBed> beds = room.stream().sorted(bestFit).limit(bedCount).toList();
+            long total = beds.stream().mapToLong(bed -> leftover(bed, checkIn, checkOut, horizonDays)).sum();
+            if (total < bestLeftover) {
+                best = beds;
+                bestLeftover = total;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * La chambre entièrement libre qui laisse le moins de nuits libres ; vide si aucune.
+     */
+    static List<FreeBed> chooseRoom(List<FreeBed> freeBeds, LocalDate checkIn, LocalDate checkOut, int horizonDays) {
+        List<FreeBed> best = List.of();
+        long bestLeftover = Long.MAX_VALUE;
+        for (List<FreeBed> room : byRoom(freeBeds).values()) {
+            if (room.size() < room.get(0).roomBeds()) {
+                continue;
+            }
+            long total = room.stream().mapToLong(bed -> leftover(bed, checkIn, checkOut, horizonDays)).sum();
+            if (total < bestLeftover) {
+                best = room;
+                bestLeftover = total;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Nuits libres laissées autour du séjour sur ce lit : 0 si le séjour comble exactement le trou.
+     */
+    static long leftover(FreeBed bed, LocalDate checkIn, LocalDate checkOut, int horizonDays) {
+        long before = bed.freeFrom() == null ? horizonDays : ChronoUnit.DAYS.between(bed.freeFrom(), checkIn);
+        long after = bed.freeUntil() == null ? horizonDays : ChronoUnit.DAYS.between(checkOut, bed.freeUntil());
+        return Math.min(before, horizonDays) + Math.min(after, horizonDays);
+    }
+
+    // Lits groupés par chambre, dans l'ordre de la requête (numéro de chambre, puis de lit)
+    private static Map<Long, List<FreeBed>> byRoom(List<FreeBed> freeBeds) {
+        Map<Long, List<FreeBed>> rooms = new LinkedHashMap<>();
+        for (FreeBed bed : freeBeds) {
+            rooms.computeIfAbsent(bed.roomId(), id -> new ArrayList<>()).add(bed);
+        }
+        return rooms;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hostel.management.service;
+
+import com.hostel.management.entity.Booking;
+import com.hostel.management.repository.BedRepository;
+import com.hostel.management.repository.BookingArchiveRepository;
+import com.hostel.management.repository.PackRepository;
+import com.hostel.management.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Archivage des réservations terminées : les tables chaudes (bookings, booking_beds,
+ * booking_services) ne gardent que la fenêtre active, ce qui allège les index
+ * parcourus par les requêtes de chevauchement.
+ *
+ * Chaque lot est déplacé dans sa propre transaction : une exécution interrompue
+ * reprend simplement au lot suivant.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchiveService {
+
+    private final BookingArchiveRepository archiveRepository;
+    private final BedRepository bedRepository;
+    private final ServiceRepository serviceRepository;
+    private final PackRepository packRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Réservations CHECKED_OUT dont le départ est antérieur à cette durée
+    @Value("${app.bookings.archive.after:365d}")
+    private Duration archiveAfter;
+
+    @Value("${app.bookings.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.bookings.archive.max-batches:100}")
+    private int maxBatches;
+
+    /**
+     * Déplace les réservations terminées vers les tables d'archive.
+     *
+     * @return nombre de réservations archivées par cette exécution
+     */
+    public int archiveOldBookings() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDate beforeDate = LocalDate.now().minusDays(archiveAfter.toDays());
+        int moved = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = transaction.execute(status -> archiveRepository.moveBatch(beforeDate, batchSize));
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("✅ {} réservations archivées (départ avant le {})", moved, beforeDate);
+        }
+        return moved;
+    }
+
+    /**
+     * Réservation archivée reconstituée (détachée, lecture seule) pour BookingService.mapToResponse.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Booking> findByBookingReference(String reference) {
+        return archiveRepository.findByBookingReference(reference)
+                .map(archived -> {
+                    Booking booking = archived.booking();
+                    booking.setBeds(new ArrayList<>(bedRepository.findAllById(archived.bedIds())));
+                    booking.setServices(new ArrayList<>(serviceRepository.findAllById(archived.serviceIds())));
+                    if (archived.packId() != null) {
+                        booking.setPack(packRepository.findById(archived.packId()).orElse(null));
+                    }
+                    return booking;
+                });
+    }
+}
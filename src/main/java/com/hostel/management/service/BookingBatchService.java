@@ -0,0 +1,138 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.BatchUpdateResponse;
+import com.hostel.management.dto.response.BatchUpdateResponse.Outcome;
+import com.hostel.management.entity.Booking;
+import com.hostel.management.entity.BookingEvent;
+import com.hostel.management.event.BookingChangedEvent;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.repository.BookingBatchRepository;
+import com.hostel.management.repository.BookingBatchRepository.BookingState;
+import com.hostel.management.repository.BookingBatchRepository.ChangedBooking;
+import com.hostel.management.repository.BookingBatchRepository.Field;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transitions de statut et de paiement sur un lot de réservations (vague de check-outs du matin) :
+ * une transaction, une lecture et un UPDATE ensembliste au lieu d'un aller-retour complet
+ * (chargement, sauvegarde, mapping) par réservation.
+ *
+ * Mêmes règles que les transitions unitaires (BookingService.validateStatusTransition) ;
+ * chaque réservation reçoit son propre résultat, les refus n'empêchent pas les autres.
+ * Le verrou optimiste est respecté : une réservation modifiée entre la lecture et l'UPDATE
+ * (version différente) n'est pas écrasée et revient en CONFLICT.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatchService {
+
+    private final BookingBatchRepository bookingBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BatchUpdateResponse updateStatuses(List<Long> bookingIds, Booking.BookingStatus status) {
+        BookingEvent.EventType eventType = status == Booking.BookingStatus.CANCELLED
+                ? BookingEvent.EventType.CANCELLED
+                : BookingEvent.EventType.STATUS_CHANGED;
+        return apply(bookingIds, Field.STATUS, status.name(), eventType,
+                BookingChangedEvent.Change.STATUS_CHANGED,
+                state -> {
+                    Booking.BookingStatus current = Booking.BookingStatus.valueOf(state.status());
+                    if (current == status) {
+                        return Outcome.UNCHANGED;
+                    }
+                    BookingService.validateStatusTransition(current, status);
+                    return Outcome.UPDATED;
+                });
+    }
+
+    @Transactional
+    public BatchUpdateResponse updatePaymentStatuses(List<Long> bookingIds, Booking.PaymentStatus paymentStatus) {
+        return apply(bookingIds, Field.PAYMENT_STATUS, paymentStatus.name(), BookingEvent.EventType.PAYMENT_CHANGED,
+                BookingChangedEvent.Change.PAYMENT_CHANGED,
+                state -> paymentStatus.name().equals(state.paymentStatus()) ? Outcome.UNCHANGED : Outcome.UPDATED);
+    }
+
+    /**
+     * @param check UPDATED si la transition s'applique, UNCHANGED sinon ; ValidationException si refusée
+     */
+    private BatchUpdateResponse apply(List<Long> bookingIds, Field field, String value,
+                                      BookingEvent.EventType eventType, BookingChangedEvent.Change change,
+                                      Function<BookingState, Outcome> check) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        Map<Long, BookingState> states = bookingBatchRepository.findStates(ids).stream()
+                .collect(Collectors.toMap(BookingState::id, Function.identity()));
+
+        Map<Long, BatchUpdateResponse.Result> results = new LinkedHashMap<>();
+        List<BookingState> toUpdate = new ArrayList<>();
+        for (Long id : ids) {
+            BookingState state = states.get(id);
+            if (state == null) {
+                results.put(id, result(id, Outcome.NOT_FOUND, "Réservation non trouvée"));
+                continue;
+            }
+            try {
+                Outcome outcome = check.apply(state);
+                if (outcome == Outcome.UPDATED) {
+                    toUpdate.add(state);
+                }
+                results.put(id, result(id, outcome, null));
+            } catch (ValidationException e) {
+                results.put(id, result(id, Outcome.REJECTED, e.getMessage()));
+            }
+        }
+
+        int updated = 0;
+        if (!toUpdate.isEmpty()) {
+            List<ChangedBooking> changed = bookingBatchRepository.apply(
+                    field, value, eventType.name(), toUpdate, LocalDateTime.now());
+            Set<Long> changedIds = new LinkedHashSet<>();
+            for (ChangedBooking booking : changed) {
+                changedIds.add(booking.id());
+                eventPublisher.publishEvent(toEvent(change, booking));
+            }
+            for (BookingState state : toUpdate) {
+                if (!changedIds.contains(state.id())) {
+                    results.put(state.id(), result(state.id(), Outcome.CONFLICT,
+                            "Réservation modifiée entre-temps, veuillez réessayer"));
+                }
+            }
+            updated = changed.size();
+        }
+
+        log.info("Lot {} → {} : {} réservations, {} modifiées", field, value, ids.size(), updated);
+        return BatchUpdateResponse.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .results(new ArrayList<>(results.values()))
+                .build();
+    }
+
+    private static BookingChangedEvent toEvent(BookingChangedEvent.Change change, ChangedBooking booking) {
+        return new BookingChangedEvent(change, booking.id(), booking.bookingReference(), booking.guestName(),
+                Booking.BookingStatus.valueOf(booking.status()), Booking.PaymentStatus.valueOf(booking.paymentStatus()),
+                booking.checkIn(), booking.checkOut(), booking.roomIds());
+    }
+
+    private static BatchUpdateResponse.Result result(Long id, Outcome outcome, String message) {
+        return BatchUpdateResponse.Result.builder()
+                .id(id)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.hostel.management.service;
+
+import com.hostel.management.repository.BookingCodeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Attribution des codes d'accès (6 chiffres) et des références (BK-aaaammjj-XXXXX),
+ * sans violation de contrainte au commit SERIALIZABLE.
+ *
+ * Chaque réservation consomme une valeur de booking_code_seq, réservée par blocs de
+ * app.booking.codes.block-size (un aller-retour base par bloc ; un bloc entamé est perdu au
+ * redémarrage). La valeur est permutée par un chiffrement de Feistel à clé
+ * (app.booking.codes.secret) sur l'espace de chaque code : deux valeurs distinctes modulo
+ * cet espace donnent deux codes distincts, sans suite prévisible sans la clé.
+ *
+ * - code d'accès : 10^6 valeurs. Au-delà de la valeur 10^6 de la séquence, les codes
+ *   reviennent ; les réservations ANNULÉES ou EN ATTENTE gardant leur code dans booking_codes,
+ *   les codes d'accès de chaque bloc revenu sont vérifiés (une requête par bloc) et les codes
+ *   encore attribués sont sautés ;
+ * - référence : 36^5 suffixes précédés de la date de réservation, une collision demanderait
+ *   plus de 60 millions de réservations le même jour : uniques par construction.
+ *
+ * Les codes présents dans booking_codes au démarrage (tirages aléatoires antérieurs, clé
+ * précédente) sont écartés : la valeur de séquence correspondante est sautée.
+ */
+@Component
+@Slf4j
+public class BookingCodeAllocator {
+
+    private static final String ALPHA_NUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int ACCESS_CODE_DIGITS = 6;
+    private static final int REFERENCE_LENGTH = 5;
+    private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BookingCodeRepository bookingCodeRepository;
+    private final FeistelPermutation accessCodes;
+    private final FeistelPermutation references;
+    private final int blockSize;
+
+    // Codes déjà attribués au démarrage ; ceux de la séquence ne peuvent pas y revenir
+    private Set<String> reserved = Set.of();
+
+    // Bloc de valeurs en cours et codes d'accès du bloc déjà attribués (protégés par this)
+    private List<Long> block = List.of();
+    private Set<String> taken = Set.of();
+    private int cursor;
+
+    public BookingCodeAllocator(BookingCodeRepository bookingCodeRepository,
+                                @Value("${app.booking.codes.secret}") String secret,
+                                @Value("${app.booking.codes.block-size:50}") int blockSize) {
+        // Clé propre aux codes : une fuite ou une rotation du secret JWT ne les expose pas
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.booking.codes.secret doit être défini");
+        }
+        this.bookingCodeRepository = bookingCodeRepository;
+        this.accessCodes = new FeistelPermutation(pow(10, ACCESS_CODE_DIGITS), roundKeys(secret, "access-code"));
+        this.references = new FeistelPermutation(pow(ALPHA_NUMERIC.length(), REFERENCE_LENGTH), roundKeys(secret, "reference"));
+        this.blockSize = blockSize;
+    }
+
+    @PostConstruct
+    public void loadReservedCodes() {
+        Set<String> codes = new HashSet<>();
+        bookingCodeRepository.forEachCode(codes::add);
+        reserved = codes;
+        log.info("✅ Attribution des codes prête ({} codes existants écartés)", codes.size());
+    }
+
+    /**
+     * Codes d'une nouvelle réservation. Aucune requête hors du rechargement d'un bloc, qui ne
+     * lit que la séquence tant que les codes d'accès ne sont pas revenus (pas de verrou de
+     * prédicat dans la transaction appelante), puis aussi booking_codes par son index unique.
+     */
+    public BookingCodes next(LocalDate bookingDate) {
+        while (true) {
+            long value = nextValue();
+            String accessCode = accessCode(value);
+            String reference = "BK-" + bookingDate.format(REFERENCE_DATE) + "-" + referenceSuffix(value);
+            if (!reserved.contains(accessCode) && !reserved.contains(reference)) {
+                return new BookingCodes(accessCode, reference);
+            }
+        }
+    }
+
+    String accessCode(long value) {
+        long code = accessCodes.permute(Math.floorMod(value, accessCodes.domain()));
+        String digits = Long.toString(code);
+        return "0".repeat(ACCESS_CODE_DIGITS - digits.length()) + digits;
+    }
+
+    String referenceSuffix(long value) {
+        long code = references.permute(Math.floorMod(value, references.domain()));
+        char[] chars = new char[REFERENCE_LENGTH];
+        for (int i = REFERENCE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHA_NUMERIC.charAt((int) (code % ALPHA_NUMERIC.length()));
+            code /= ALPHA_NUMERIC.length();
+        }
+        return new String(chars);
+    }
+
+    private synchronized long nextValue() {
+        while (true) {
+            if (cursor == block.size()) {
+                refill();
+            }
+            long value = block.get(cursor++);
+            if (taken.isEmpty() || !taken.contains(accessCode(value))) {
+                return value;
+            }
+        }
+    }
+
+    private void refill() {
+        block = bookingCodeRepository.nextValues(blockSize);
+        cursor = 0;
+        List<String> wrapped = block.stream()
+                .filter(value -> value >= accessCodes.domain())
+                .map(this::accessCode)
+                .toList();
+        taken = wrapped.isEmpty() ? Set.of() : bookingCodeRepository.findTakenAccessCodes(wrapped);
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    // Une clé par tour, dérivée du secret et de l'usage (les deux permutations sont indépendantes)
+    private static long[] roundKeys(String secret, String purpose) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(("booking-codes:" + purpose + ":").getBytes(StandardCharsets.UTF_8));
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(secret.getBytes(StandardCharsets.UTF_8)));
+            long[] keys = new long[FeistelPermutation.ROUNDS];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = hash.getLong();
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record BookingCodes(String accessCode, String bookingReference) {
+    }
+
+    /**
+     * Permutation de [0, domain) : réseau de Feistel équilibré sur le plus petit nombre pair
+     * de bits couvrant le domaine, les sorties hors domaine étant rechiffrées (cycle walking,
+     * moins de 4 passes en moyenne).
+     */
+    public static final class FeistelPermutation {
+
+        static final int ROUNDS = 4;
+
+        private final long domain;
+        private final int halfBits;
+        private final long halfMask;
+        private final long[] roundKeys;
+
+        public FeistelPermutation(long domain, long[] roundKeys) {
+            int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+            this.domain = domain;
+            this.halfBits = (bits + 1) / 2;
+            this.halfMask = (1L << halfBits) - 1;
+            this.roundKeys = roundKeys;
+        }
+
+        public long domain() {
+            return domain;
+        }
+
+        public long permute(long value) {
+            long x = value;
+            do {
+                x = encrypt(x);
+            } while (x >= domain);
+            return x;
+        }
+
+        private long encrypt(long x) {
+            long left = x >>> halfBits;
+            long right = x & halfMask;
+            for (long key : roundKeys) {
+                long next = left ^ (mix(right ^ key) & halfMask);
+                left = right;
+                right = next;
+            }
+            return (left << halfBits) | right;
+        }
+
+        // Finaliseur de SplitMix64 : chaque bit d'entrée influence tous les bits de sortie
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hostel.management.service;
+
+import com.hostel.management.event.InventoryReleasedEvent;
+import com.hostel.management.event.InventoryReleasedEvent.ReleasedHold;
+import com.hostel.management.monitoring.HostelMetrics;
+import com.hostel.management.repository.BookingEventRepository;
+import com.hostel.management.repository.BookingRepository;
+import com.hostel.management.repository.BookingRepository.ReleasedBedRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expiration des réservations PENDING dont le délai de paiement est dépassé.
+ *
+ * Les réservations sont annulées par lots (un UPDATE ensembliste par lot, sans charger
+ * les entités), chaque lot dans sa propre transaction pour ne pas verrouiller longtemps
+ * la table. L'expiration est journalisée (booking_events, EXPIRED) dans la même transaction ;
+ * après chaque commit, les lits libérés sont publiés (InventoryReleasedEvent).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExpiryService {
+
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HostelMetrics hostelMetrics;
+    private final BookingEventRepository bookingEventRepository;
+
+    @Value("${app.bookings.pending-hold:30m}")
+    private Duration pendingHold;
+
+    @Value("${app.bookings.expiry-batch-size:500}")
+    private int batchSize;
+
+    // Borne le travail d'une exécution ; le reliquat est traité au déclenchement suivant
+    @Value("${app.bookings.expiry-max-batches:20}")
+    private int maxBatches;
+
+    /**
+     * Annule les réservations PENDING créées depuis plus de app.bookings.pending-hold.
+     *
+     * @return nombre de réservations annulées
+     */
+    public int expireStalePendingBookings() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime expirationTime = LocalDateTime.now().minus(pendingHold);
+        int expired = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<ReleasedHold> holds = transaction.execute(status -> {
+                List<ReleasedBedRow> rows =
+                        bookingRepository.cancelExpiredPendingBookings(expirationTime, LocalDateTime.now(), batchSize);
+                List<ReleasedHold> cancelled = toHolds(rows);
+                if (!cancelled.isEmpty()) {
+                    bookingEventRepository.appendExpired(
+                            cancelled.stream().map(ReleasedHold::bookingId).toList(), LocalDateTime.now());
+                }
+                return cancelled;
+            });
+            if (holds.isEmpty()) {
+                break;
+            }
+
+            InventoryReleasedEvent event = new InventoryReleasedEvent(InventoryReleasedEvent.PENDING_EXPIRED, holds);
+            hostelMetrics.recordExpiredBookings(holds.size(), event.bedNights());
+            eventPublisher.publishEvent(event);
+            expired += holds.size();
+
+            if (holds.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (expired > 0) {
+            log.info("✅ {} réservations PENDING expirées (délai de paiement {})", expired, pendingHold);
+        }
+        return expired;
+    }
+
+    // Une ligne par (réservation, lit) → une entrée par réservation
+    private static List<ReleasedHold> toHolds(List<ReleasedBedRow> rows) {
+        Map<Long, List<ReleasedBedRow>> byBooking = new LinkedHashMap<>();
+        for (ReleasedBedRow row : rows) {
+            byBooking.computeIfAbsent(row.getBookingId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<ReleasedHold> holds = new ArrayList<>(byBooking.size());
+        byBooking.forEach((bookingId, bookingRows) -> {
+            ReleasedBedRow first = bookingRows.get(0);
+            List<Long> bedIds = bookingRows.stream()
+                    .map(ReleasedBedRow::getBedId)
+                    .filter(bedId -> bedId != null)
+                    .toList();
+            holds.add(new ReleasedHold(bookingId, bedIds, first.getCheckInDate(), first.getCheckOutDate()));
+        });
+        return holds;
+    }
+}
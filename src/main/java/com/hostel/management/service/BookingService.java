@@ -3,22 +3,24 @@ package com.hostel.management.service;
 import com.hostel.management.dto.request.BookingRequest;
 import com.hostel.management.dto.response.BookingResponse;
 import com.hostel.management.entity.*;
+import com.hostel.management.event.BookingChangedEvent;
 import com.hostel.management.exception.BookingException;
 import com.hostel.management.exception.ResourceNotFoundException;
 import com.hostel.management.exception.ValidationException;
 import com.hostel.management.repository.BedRepository;
+import com.hostel.management.repository.BookingEventRepository;
 import com.hostel.management.repository.BookingRepository;
 import com.hostel.management.repository.PackRepository;
 import com.hostel.management.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import com.hostel.management.entity.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import com.hostel.management.entity.Room;
 
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -36,9 +38,11 @@ public class BookingService {
     private final PackRepository packRepository;
     private final EmailService emailService;
     private final AvailabilityService availabilityService;
-
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    private static final String ALPHA_NUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private final BookingArchiveService bookingArchiveService;
+    private final BookingEventRepository bookingEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingCodeAllocator bookingCodeAllocator;
+    private final BedAllocationService bedAllocationService;
 
     // ✅ Breakfast supplement for 2nd person in a SINGLE room pack
     private static final BigDecimal BREAKFAST_EXTRA_PER_PERSON_PER_NIGHT = new BigDecimal("5.00");
@@ -55,8 +59,17 @@ public class BookingService {
             throw new ValidationException("Le séjour doit être d'au moins 1 nuit");
         }
 
+        // Sans bedIds : lits attribués dans cette transaction (best-fit, BedAllocationService)
+        List<Long> bedIds = request.getBedIds() != null && !request.getBedIds().isEmpty()
+                ? request.getBedIds()
+                : bedAllocationService.allocateBedIds(
+                        request.getRoomType(),
+                        request.getBedCount() != null ? request.getBedCount() : 1,
+                        request.getCheckInDate(),
+                        request.getCheckOutDate());
+
         List<Bed> beds = lockAvailableBeds(
-                request.getBedIds(),
+                bedIds,
                 request.getCheckInDate(),
                 request.getCheckOutDate()
         );
@@ -108,6 +121,9 @@ public class BookingService {
 
         BigDecimal totalPrice = calculateTotalPrice(beds, services, pack, numberOfNights, numberOfPersons);
 
+        // Codes libres (séquence permutée, codes revenus vérifiés) : pas de violation de contrainte au commit
+        BookingCodeAllocator.BookingCodes codes = bookingCodeAllocator.next(LocalDate.now());
+
         Booking booking = Booking.builder()
                 .guestName(request.getGuestName())
                 .guestEmail(request.getGuestEmail().toLowerCase().trim())
@@ -121,12 +137,15 @@ public class BookingService {
                 .numberOfPersons(numberOfPersons)   // ✅ NEW
                 .status(Booking.BookingStatus.CONFIRMED)
                 .paymentStatus(Booking.PaymentStatus.UNPAID)
-                .accessCode(generateAccessCode())
-                .bookingReference(generateBookingReference())
+                .accessCode(codes.accessCode())
+                .bookingReference(codes.bookingReference())
                 .notes(request.getNotes())
                 .build();
 
-        bookingRepository.save(booking);
+        // version initialisée à 0 : save() fusionne et retourne l'instance gérée (avec son id)
+        booking = bookingRepository.save(booking);
+        bookingEventRepository.save(BookingEvent.of(BookingEvent.EventType.CREATED, booking, null));
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChangedEvent.Change.CREATED, booking));
 
         log.info("Réservation créée: {} | {} | {} nuits | {} personnes | total={}",
                 booking.getBookingReference(),
@@ -164,7 +183,8 @@ public class BookingService {
     // ─────────────────────────────────────────────────────────────────────────
     // ✅ UPDATED: calculateTotalPrice now takes numberOfPersons
     // ─────────────────────────────────────────────────────────────────────────
-    private BigDecimal calculateTotalPrice(
+    // Visibilité package : mesuré par PricingBenchmark (src/jmh)
+    BigDecimal calculateTotalPrice(
             List<Bed> beds,
             List<Service> services,
             Pack pack,
@@ -278,31 +298,19 @@ public class BookingService {
         if (checkOut.isBefore(checkIn) || checkOut.isEqual(checkIn)) {
             throw new ValidationException("La date de départ doit être après la date d'arrivée");
         }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > Booking.MAX_NIGHTS) {
+            throw new ValidationException("Le séjour ne peut pas dépasser " + Booking.MAX_NIGHTS + " nuits");
+        }
         if (checkIn.isAfter(today.plusYears(1))) {
             throw new ValidationException("Impossible de réserver plus d'un an à l'avance");
         }
     }
 
-    private String generateAccessCode() {
-        return String.format("%06d", SECURE_RANDOM.nextInt(1000000));
-    }
-
-    private String generateBookingReference() {
-        String datePart = LocalDate.now().toString().replace("-", "");
-        return "BK-" + datePart + "-" + generateRandomString(5);
-    }
-
-    private String generateRandomString(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHA_NUMERIC.charAt(SECURE_RANDOM.nextInt(ALPHA_NUMERIC.length())));
-        }
-        return sb.toString();
-    }
-
     @Transactional(readOnly = true)
     public BookingResponse getBookingByReference(String reference) {
+        // Réservations des saisons passées : tables d'archive (BookingArchiveService)
         Booking booking = bookingRepository.findByBookingReference(reference)
+                .or(() -> bookingArchiveService.findByBookingReference(reference))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Réservation non trouvée avec la référence: " + reference));
         forceLoadCollections(booking);
@@ -352,9 +360,14 @@ public class BookingService {
     public BookingResponse updateBookingStatus(Long id, Booking.BookingStatus status) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
-        validateStatusTransition(booking.getStatus(), status);
+        Booking.BookingStatus previous = booking.getStatus();
+        validateStatusTransition(previous, status);
         booking.setStatus(status);
         bookingRepository.save(booking);
+        bookingEventRepository.save(BookingEvent.of(status == Booking.BookingStatus.CANCELLED
+                ? BookingEvent.EventType.CANCELLED
+                : BookingEvent.EventType.STATUS_CHANGED, booking, previous));
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChangedEvent.Change.STATUS_CHANGED, booking));
         log.info("Statut réservation {} → {}", booking.getBookingReference(), status);
         forceLoadCollections(booking);
         return mapToResponse(booking);
@@ -366,6 +379,8 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
         booking.setPaymentStatus(paymentStatus);
         bookingRepository.save(booking);
+        bookingEventRepository.save(BookingEvent.of(BookingEvent.EventType.PAYMENT_CHANGED, booking, booking.getStatus()));
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChangedEvent.Change.PAYMENT_CHANGED, booking));
         log.info("Paiement réservation {} → {}", booking.getBookingReference(), paymentStatus);
         forceLoadCollections(booking);
         return mapToResponse(booking);
@@ -381,8 +396,14 @@ public class BookingService {
         if (booking.getStatus() == Booking.BookingStatus.CHECKED_OUT) {
             throw new ValidationException("Impossible d'annuler une réservation terminée");
         }
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            return;
+        }
+        Booking.BookingStatus previous = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        bookingEventRepository.save(BookingEvent.of(BookingEvent.EventType.CANCELLED, booking, previous));
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChangedEvent.Change.CANCELLED, booking));
         log.info("Réservation {} annulée", booking.getBookingReference());
     }
 
@@ -391,7 +412,10 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
         log.info("Suppression réservation {} - {}", booking.getBookingReference(), booking.getGuestName());
+        BookingChangedEvent deleted = BookingChangedEvent.of(BookingChangedEvent.Change.DELETED, booking);
+        bookingEventRepository.save(BookingEvent.of(BookingEvent.EventType.DELETED, booking, booking.getStatus()));
         bookingRepository.delete(booking);
+        eventPublisher.publishEvent(deleted);
     }
 
     @Transactional(readOnly = true)
@@ -417,7 +441,22 @@ public class BookingService {
         return bookings.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
-    private void validateStatusTransition(Booking.BookingStatus current, Booking.BookingStatus next) {
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getCurrentStays(LocalDate today) {
+        List<Booking> bookings = bookingRepository.findCurrentStays(today);
+        bookings.forEach(this::forceLoadCollections);
+        return bookings.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookingsWithUnpaidBalance(LocalDate today, int daysAhead) {
+        List<Booking> bookings = bookingRepository.findBookingsWithUnpaidBalance(today, daysAhead);
+        bookings.forEach(this::forceLoadCollections);
+        return bookings.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
+    // Règles communes aux transitions unitaires et par lot (BookingBatchService)
+    static void validateStatusTransition(Booking.BookingStatus current, Booking.BookingStatus next) {
         if (current == Booking.BookingStatus.CANCELLED) {
             throw new ValidationException("Impossible de modifier une réservation annulée");
         }
@@ -444,7 +483,8 @@ public class BookingService {
         }
     }
 
-    private BookingResponse mapToResponse(Booking booking) {
+    // Visibilité package : mesuré par MappingBenchmark (src/jmh)
+    BookingResponse mapToResponse(Booking booking) {
         List<BookingResponse.BedInfo> bedInfos = new ArrayList<>();
         if (booking.getBeds() != null) {
             bedInfos = booking.getBeds().stream()
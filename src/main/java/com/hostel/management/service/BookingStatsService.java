@@ -0,0 +1,134 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.StatsResponse;
+import com.hostel.management.dto.response.StatsResponse.StatsLine;
+import com.hostel.management.entity.Room;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.repository.BedRepository;
+import com.hostel.management.repository.BookingStatsRepository;
+import com.hostel.management.repository.BookingStatsRepository.StatsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques d'occupation et de chiffre d'affaires pré-agrégées par jour et par mois
+ * (booking_stats_daily, booking_stats_monthly) : les tableaux de bord lisent une ligne
+ * par jour et type de chambre au lieu de parcourir bookings.
+ *
+ * Les réservations non annulées y contribuent. Les tables sont une projection du journal
+ * booking_events (BookingStatsProjection) : mises à jour hors des transactions de réservation,
+ * quelques secondes après le commit, et reconstruites par rejeu du journal.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class BookingStatsService {
+
+    private final BookingStatsRepository statsRepository;
+    private final BedRepository bedRepository;
+
+    // Au-delà, la lecture journalière n'est plus O(jours) raisonnable : utiliser la vue mensuelle
+    private static final int MAX_DAILY_RANGE_DAYS = 366;
+
+    @Transactional(readOnly = true)
+    public StatsResponse getDailyStats(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("La date de fin doit être après la date de début");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_DAILY_RANGE_DAYS) {
+            throw new ValidationException("Période journalière limitée à " + MAX_DAILY_RANGE_DAYS + " jours");
+        }
+        Map<String, Long> beds = activeBedsByRoomType();
+        List<StatsLine> lines = statsRepository.findDaily(from, to).stream()
+                .map(row -> toLine(row, beds.getOrDefault(row.roomType(), 0L)))
+                .toList();
+        long days = ChronoUnit.DAYS.between(from, to);
+        return StatsResponse.builder()
+                .granularity("DAY")
+                .from(from)
+                .to(to)
+                .lines(lines)
+                .total(total(lines, totalBeds(beds) * days))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public StatsResponse getMonthlyStats(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        Map<String, Long> beds = activeBedsByRoomType();
+        List<StatsLine> lines = statsRepository.findMonthly(from, to).stream()
+                .map(row -> toLine(row, beds.getOrDefault(row.roomType(), 0L) * row.period().lengthOfMonth()))
+                .toList();
+        return StatsResponse.builder()
+                .granularity("MONTH")
+                .from(from)
+                .to(to)
+                .lines(lines)
+                .total(total(lines, totalBeds(beds) * from.lengthOfYear()))
+                .build();
+    }
+
+    // Inventaire actuel : les lits supprimés ne sont pas comptés dans les périodes passées
+    private Map<String, Long> activeBedsByRoomType() {
+        Map<String, Long> beds = new HashMap<>();
+        for (Object[] row : bedRepository.countActiveBedsByRoomType()) {
+            beds.put(((Room.RoomType) row[0]).name(), (Long) row[1]);
+        }
+        return beds;
+    }
+
+    private static long totalBeds(Map<String, Long> beds) {
+        return beds.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static StatsLine toLine(StatsRow row, long availableBedNights) {
+        return line(row.period(), row.roomType(), row.arrivals(), row.packArrivals(), row.bedNights(),
+                row.packBedNights(), availableBedNights, row.revenue(), row.packRevenue());
+    }
+
+    private static StatsLine total(List<StatsLine> lines, long availableBedNights) {
+        return line(null, null,
+                lines.stream().mapToInt(StatsLine::getArrivals).sum(),
+                lines.stream().mapToInt(StatsLine::getPackArrivals).sum(),
+                lines.stream().mapToLong(StatsLine::getBedNights).sum(),
+                lines.stream().mapToLong(StatsLine::getPackBedNights).sum(),
+                availableBedNights,
+                lines.stream().map(StatsLine::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add),
+                lines.stream().map(StatsLine::getPackRevenue).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private static StatsLine line(LocalDate period, String roomType, int arrivals, int packArrivals,
+                                  long bedNights, long packBedNights, long availableBedNights,
+                                  BigDecimal revenue, BigDecimal packRevenue) {
+        return StatsLine.builder()
+                .period(period)
+                .roomType(roomType)
+                .arrivals(arrivals)
+                .packArrivals(packArrivals)
+                .bedNights(bedNights)
+                .packBedNights(packBedNights)
+                .availableBedNights(availableBedNights)
+                .revenue(revenue)
+                .packRevenue(packRevenue)
+                .occupancyRate(ratio(BigDecimal.valueOf(bedNights), availableBedNights, 4))
+                .adr(ratio(revenue, bedNights, 2))
+                .revPab(ratio(revenue, availableBedNights, 2))
+                .packShare(ratio(BigDecimal.valueOf(packBedNights), bedNights, 4))
+                .build();
+    }
+
+    private static BigDecimal ratio(BigDecimal numerator, long denominator, int scale) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO;
+        }
+        return numerator.divide(BigDecimal.valueOf(denominator), scale, RoundingMode.HALF_UP);
+    }
+}
@@ -2,6 +2,7 @@ package com.hostel.management.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.hostel.management.monitoring.HostelMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import java.util.Map;
 public class CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final HostelMetrics hostelMetrics;
 
     /**
      * Upload une image depuis un fichier MultipartFile
@@ -26,15 +28,24 @@ public class CloudinaryService {
     public String uploadImage(MultipartFile file, String folder) throws IOException {
         log.info("Uploading image to Cloudinary folder: {}", folder);
 
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                ObjectUtils.asMap(
-                        "folder", folder,
-                        "resource_type", "auto",
-                        "quality", "auto:best",           // Qualité automatique (meilleure)
-                        "fetch_format", "auto",           // Format optimal (WebP si supporté)
-                        "responsive", true                // Génère plusieurs tailles
-                )
-        );
+        byte[] bytes = file.getBytes();
+        long start = System.nanoTime();
+        Map uploadResult;
+        try {
+            uploadResult = cloudinary.uploader().upload(bytes,
+                    ObjectUtils.asMap(
+                            "folder", folder,
+                            "resource_type", "auto",
+                            "quality", "auto:best",           // Qualité automatique (meilleure)
+                            "fetch_format", "auto",           // Format optimal (WebP si supporté)
+                            "responsive", true                // Génère plusieurs tailles
+                    )
+            );
+        } catch (IOException | RuntimeException e) {
+            hostelMetrics.recordUpload("multipart", bytes.length, start, false);
+            throw e;
+        }
+        hostelMetrics.recordUpload("multipart", bytes.length, start, true);
 
         String url = (String) uploadResult.get("secure_url");
         log.info("Image uploaded successfully: {}", url);
@@ -47,17 +58,27 @@ public class CloudinaryService {
     public String uploadBase64Image(String base64Image, String folder) throws IOException {
         log.info("Uploading Base64 image to Cloudinary folder: {}", folder);
 
-        Map uploadResult = cloudinary.uploader().upload(base64Image,
-                ObjectUtils.asMap(
-                        "folder", folder,
-                        "resource_type", "auto",
-                        "transformation", new com.cloudinary.Transformation()
-                                .width(1200)
-                                .height(900)
-                                .crop("limit")
-                                .quality("auto")
-                )
-        );
+        // Taille décodée approximative (4 caractères Base64 = 3 octets)
+        long bytes = base64Image.length() * 3L / 4;
+        long start = System.nanoTime();
+        Map uploadResult;
+        try {
+            uploadResult = cloudinary.uploader().upload(base64Image,
+                    ObjectUtils.asMap(
+                            "folder", folder,
+                            "resource_type", "auto",
+                            "transformation", new com.cloudinary.Transformation()
+                                    .width(1200)
+                                    .height(900)
+                                    .crop("limit")
+                                    .quality("auto")
+                    )
+            );
+        } catch (IOException | RuntimeException e) {
+            hostelMetrics.recordUpload("base64", bytes, start, false);
+            throw e;
+        }
+        hostelMetrics.recordUpload("base64", bytes, start, true);
 
         String url = (String) uploadResult.get("secure_url");
         log.info("Base64 image uploaded successfully: {}", url);
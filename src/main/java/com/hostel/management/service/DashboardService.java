@@ -0,0 +1,111 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.BookingResponse;
+import com.hostel.management.dto.response.DashboardResponse;
+import com.hostel.management.dto.response.StatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Tableau de bord admin en un seul appel : arrivées et départs du jour, séjours en cours,
+ * soldes impayés (séjours en cours et arrivées des app.dashboard.unpaid-days-ahead prochains
+ * jours) et indicateurs d'occupation / chiffre d'affaires.
+ *
+ * Chaque requête s'exécute sur dashboardExecutor dans sa propre transaction en lecture
+ * seule (donc sur sa propre connexion) ; le thread HTTP ne tient aucune connexion pendant
+ * l'attente. La durée de l'appel est celle de la requête la plus lente, pas leur somme.
+ */
+@org.springframework.stereotype.Service
+@Slf4j
+public class DashboardService {
+
+    private final BookingService bookingService;
+    private final BookingStatsService bookingStatsService;
+    private final Executor dashboardExecutor;
+
+    @Value("${app.dashboard.timeout:10s}")
+    private Duration timeout;
+
+    @Value("${app.dashboard.unpaid-days-ahead:7}")
+    private int unpaidDaysAhead;
+
+    public DashboardService(BookingService bookingService,
+                            BookingStatsService bookingStatsService,
+                            @Qualifier("dashboardExecutor") Executor dashboardExecutor) {
+        this.bookingService = bookingService;
+        this.bookingStatsService = bookingStatsService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    public DashboardResponse getDashboard(LocalDate today) {
+        long start = System.nanoTime();
+
+        CompletableFuture<List<BookingResponse>> arrivals = async(() -> bookingService.getCheckInsForDate(today));
+        CompletableFuture<List<BookingResponse>> departures = async(() -> bookingService.getCheckOutsForDate(today));
+        CompletableFuture<List<BookingResponse>> currentStays = async(() -> bookingService.getCurrentStays(today));
+        CompletableFuture<List<BookingResponse>> unpaid = async(() ->
+                bookingService.getBookingsWithUnpaidBalance(today, unpaidDaysAhead));
+        CompletableFuture<StatsResponse> tonight = async(() -> bookingStatsService.getDailyStats(today, today.plusDays(1)));
+        CompletableFuture<StatsResponse> monthToDate = async(() ->
+                bookingStatsService.getDailyStats(today.withDayOfMonth(1), today.plusDays(1)));
+
+        try {
+            CompletableFuture.allOf(arrivals, departures, currentStays, unpaid, tonight, monthToDate)
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chargement du tableau de bord interrompu", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tableau de bord non chargé en " + timeout, e);
+        }
+
+        List<BookingResponse> unpaidBookings = unpaid.join();
+        DashboardResponse dashboard = DashboardResponse.builder()
+                .date(today)
+                .arrivals(arrivals.join())
+                .departures(departures.join())
+                .currentStays(currentStays.join())
+                .unpaidBookings(unpaidBookings)
+                .kpis(DashboardResponse.Kpis.builder()
+                        .arrivalsCount(arrivals.join().size())
+                        .departuresCount(departures.join().size())
+                        .inHouseCount(currentStays.join().size())
+                        .unpaidCount(unpaidBookings.size())
+                        .unpaidAmount(unpaidBookings.stream()
+                                .map(BookingResponse::getTotalPrice)
+                                .reduce(BigDecimal.ZERO, BigDecimal::add))
+                        .tonight(tonight.join().getTotal())
+                        .monthToDate(monthToDate.join().getTotal())
+                        .build())
+                .build();
+
+        log.debug("Tableau de bord {} chargé en {} ms", today, (System.nanoTime() - start) / 1_000_000);
+        return dashboard;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, dashboardExecutor);
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
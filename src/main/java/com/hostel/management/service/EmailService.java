@@ -2,6 +2,7 @@ package com.hostel.management.service;
 
 import com.hostel.management.entity.Booking;
 import com.hostel.management.entity.HostelSettings;
+import com.hostel.management.monitoring.HostelMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
@@ -19,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 public class EmailService {
 
     private final HostelSettingsService hostelSettingsService;
+    private final HostelMetrics hostelMetrics;
 
     @Value("${brevo.api.key}")
     private String brevoApiKey;
@@ -37,6 +39,7 @@ public class EmailService {
 
     @Async
     public void sendBookingConfirmation(Booking booking) {
+        long start = System.nanoTime();
         try {
             String emailContent = buildBookingConfirmationEmail(booking);
             sendEmail(
@@ -45,14 +48,17 @@ public class EmailService {
                     "Booking Confirmation - " + hostelName,  // ✅ CHANGÉ: En anglais (moins spam)
                     emailContent
             );
+            hostelMetrics.recordEmail("booking_confirmation", start, true);
             log.info("✅ Email de confirmation envoyé à: {}", booking.getGuestEmail());
         } catch (Exception e) {
+            hostelMetrics.recordEmail("booking_confirmation", start, false);
             log.error("❌ Erreur lors de l'envoi de l'email de confirmation: ", e);
         }
     }
 
     @Async
     public void sendPasswordResetCode(String toEmail, String code) {
+        long start = System.nanoTime();
         try {
             String emailContent = buildPasswordResetCodeEmail(code);
             sendEmail(
@@ -61,8 +67,10 @@ public class EmailService {
                     "Code de réinitialisation - " + hostelName,
                     emailContent
             );
+            hostelMetrics.recordEmail("password_reset", start, true);
             log.info("✅ Code de réinitialisation envoyé à: {}", toEmail);
         } catch (Exception e) {
+            hostelMetrics.recordEmail("password_reset", start, false);
             log.error("❌ Erreur lors de l'envoi du code de réinitialisation: ", e);
             throw new RuntimeException("Erreur lors de l'envoi de l'email");
         }
@@ -113,7 +121,8 @@ public class EmailService {
     }
 
     // ===== TEMPLATE EMAIL CODE DE RÉINITIALISATION (INCHANGÉ) =====
-    private String buildPasswordResetCodeEmail(String code) {
+    // Visibilité package : mesuré par EmailTemplateBenchmark (src/jmh)
+    String buildPasswordResetCodeEmail(String code) {
         StringBuilder html = new StringBuilder();
         html.append("<!DOCTYPE html>");
         html.append("<html><head><meta charset='UTF-8'></head>");
@@ -163,7 +172,8 @@ public class EmailService {
 
     // ===== 🆕 NOUVEAU TEMPLATE EMAIL CONFIRMATION SIMPLIFIÉ (STYLE RÉINITIALISATION) =====
     // ===== 🆕 TEMPLATE EMAIL CONFIRMATION AVEC SERVICES ET PRIX (ANTI-SPAM) =====
-    private String buildBookingConfirmationEmail(Booking booking) {
+    // Visibilité package : mesuré par EmailTemplateBenchmark (src/jmh)
+    String buildBookingConfirmationEmail(Booking booking) {
         HostelSettings settings = hostelSettingsService.getSettings();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
@@ -0,0 +1,75 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.GuestProfileResponse;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.repository.GuestProfileRepository;
+import com.hostel.management.repository.GuestProfileRepository.GuestProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Profils clients dédoublonnés par email (guest_profiles) : historique pré-calculé (séjours,
+ * nuits, valeur totale, dernier séjour) lu en une recherche indexée par la réception et la
+ * tarification fidélité. Le téléphone normalisé est indexé sans servir de clé : la recherche
+ * par numéro rend tous les profils qui le partagent.
+ *
+ * La table est une projection du journal booking_events (GuestProfileProjection) : le profil
+ * d'un client est recalculé quelques secondes après tout événement d'une de ses réservations,
+ * et l'ensemble est reconstruit par rejeu du journal.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class GuestProfileService {
+
+    private final GuestProfileRepository guestProfileRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<GuestProfile> findByEmail(String email) {
+        return guestProfileRepository.findByEmail(normalizeEmail(email));
+    }
+
+    @Transactional(readOnly = true)
+    public GuestProfileResponse getProfileByEmail(String email) {
+        return findByEmail(email)
+                .map(GuestProfileService::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Aucun profil client pour " + email));
+    }
+
+    @Transactional(readOnly = true)
+    public List<GuestProfileResponse> getProfilesByPhone(String phone) {
+        if (phone.replaceAll("[^0-9]", "").isEmpty()) {
+            throw new ValidationException("Numéro de téléphone invalide");
+        }
+        return guestProfileRepository.findByPhone(phone).stream()
+                .map(GuestProfileService::mapToResponse)
+                .toList();
+    }
+
+    // Même normalisation que createBooking et que la clé de guest_profiles
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static GuestProfileResponse mapToResponse(GuestProfile profile) {
+        return GuestProfileResponse.builder()
+                .id(profile.id())
+                .email(profile.email())
+                .guestName(profile.guestName())
+                .phone(profile.phoneNormalized())
+                .bookingCount(profile.bookingCount())
+                .completedStays(profile.completedStays())
+                .cancelledCount(profile.cancelledCount())
+                .nights(profile.nights())
+                .lifetimeValue(profile.lifetimeValue())
+                .firstStay(profile.firstStay())
+                .lastStay(profile.lastStay())
+                .lastBookedAt(profile.lastBookedAt())
+                .returningGuest(profile.completedStays() > 0)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.GuestSearchResponse;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.repository.GuestSearchRepository;
+import com.hostel.management.repository.GuestSearchRepository.GuestMatch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Recherche clients de la réception : le texte saisi choisit le mode de recherche.
+ * - contient "@" → email exact (insensible à la casse) ;
+ * - uniquement chiffres et séparateurs téléphoniques → téléphone : numéro complet
+ *   (au moins FULL_NUMBER_DIGITS chiffres) comparé en E.164, sinon fragment de chiffres ;
+ * - sinon → nom, tolérant aux fautes de frappe (trigrammes), classé par similarité.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class GuestSearchService {
+
+    private static final Pattern PHONE_QUERY = Pattern.compile("^[+0-9\\s\\-().]+$");
+    private static final int FULL_NUMBER_DIGITS = 9;
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final GuestSearchRepository guestSearchRepository;
+
+    // Seuil de word_similarity : 0.6 (défaut pg_trgm) rejette la plupart des fautes de frappe
+    @Value("${app.guest-search.similarity-threshold:0.4}")
+    private double similarityThreshold;
+
+    @Transactional(readOnly = true)
+    public GuestSearchResponse search(String query, int page, int size) {
+        String q = query == null ? "" : query.trim();
+        if (q.length() < 2) {
+            throw new ValidationException("La recherche doit contenir au moins 2 caractères");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Pagination invalide (taille entre 1 et " + MAX_PAGE_SIZE + ")");
+        }
+
+        // Une ligne de plus que la page : indique s'il existe une page suivante sans COUNT
+        int limit = size + 1;
+        int offset = page * size;
+        String mode;
+        List<GuestMatch> matches;
+
+        if (q.contains("@")) {
+            mode = "EMAIL";
+            matches = guestSearchRepository.searchByEmail(q, limit, offset);
+        } else if (PHONE_QUERY.matcher(q).matches()) {
+            String digits = q.replaceAll("[^0-9]", "");
+            if (digits.length() < MIN_PHONE_DIGITS) {
+                throw new ValidationException("Le numéro recherché doit contenir au moins " + MIN_PHONE_DIGITS + " chiffres");
+            }
+            mode = "PHONE";
+            matches = digits.length() >= FULL_NUMBER_DIGITS
+                    ? guestSearchRepository.searchByPhone(q, true, limit, offset)
+                    : guestSearchRepository.searchByPhone(digits, false, limit, offset);
+        } else {
+            mode = "NAME";
+            matches = guestSearchRepository.searchByName(q, similarityThreshold, limit, offset);
+        }
+
+        boolean hasMore = matches.size() > size;
+        List<GuestSearchResponse.GuestResult> results = matches.stream()
+                .limit(size)
+                .map(match -> GuestSearchResponse.GuestResult.builder()
+                        .bookingId(match.bookingId())
+                        .bookingReference(match.bookingReference())
+                        .guestName(match.guestName())
+                        .guestEmail(match.guestEmail())
+                        .guestPhone(match.guestPhone())
+                        .checkInDate(match.checkInDate())
+                        .checkOutDate(match.checkOutDate())
+                        .status(match.status())
+                        .archived(match.archived())
+                        .score(match.score())
+                        .build())
+                .toList();
+
+        log.debug("Recherche client '{}' ({}) : {} résultats page {}", q, mode, results.size(), page);
+        return GuestSearchResponse.builder()
+                .query(q)
+                .mode(mode)
+                .page(page)
+                .size(size)
+                .hasMore(hasMore)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.hostel.management.service;
+
+import com.hostel.management.exception.ServerBusyException;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.monitoring.HostelMetrics;
+import com.hostel.management.repository.IdempotencyKeyRepository;
+import com.hostel.management.repository.IdempotencyKeyRepository.StoredKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Requêtes rejouables (en-tête Idempotency-Key) : la première exécution enregistre sa réponse
+ * dans idempotency_keys, les requêtes suivantes portant la même clé la reçoivent telle quelle
+ * sans repasser par l'opération.
+ *
+ * - doublons concurrents sur cette instance : attendent l'exécution en cours (même réponse,
+ *   ou même erreur) au lieu de la concurrencer ;
+ * - doublons sur une autre instance : attendent que la ligne passe COMPLETED (bail en base) ;
+ * - même clé, corps différent : 400, la réponse enregistrée n'est pas divulguée ;
+ * - échec de la première exécution : la clé est libérée, une nouvelle tentative s'exécute.
+ *
+ * La réponse est écrite dans la transaction de l'opération : pas de réservation validée
+ * sans réponse à rejouer, même si l'instance s'arrête juste après le commit.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Caractères ASCII visibles, comme recommandé pour l'en-tête (UUID v4 côté client)
+    private static final Pattern KEY_PATTERN = Pattern.compile("[\\x21-\\x7E]{1,255}");
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final HostelMetrics hostelMetrics;
+
+    // Exécutions en cours sur cette instance, par portée et clé
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    // Durée pendant laquelle une réponse est rejouée
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // Bail d'une exécution : au-delà, une instance morte en cours d'exécution libère la clé
+    @Value("${app.idempotency.lease:30s}")
+    private Duration lease;
+
+    // Attente maximale d'un doublon derrière l'exécution en cours
+    @Value("${app.idempotency.wait-timeout:10s}")
+    private Duration waitTimeout;
+
+    /**
+     * Réserve la clé ou obtient la réponse déjà enregistrée.
+     *
+     * @param scope Portée de la clé (une par point d'entrée), ex. "booking-create"
+     * @param key Valeur de l'en-tête Idempotency-Key
+     * @param request Corps de la requête : la même clé n'est rejouée que pour le même corps
+     * @param responseType Type de la réponse enregistrée
+     * @return une réponse à rejouer, ou une réservation à exécuter (Claim.execute) une seule fois
+     * @throws ValidationException Si la clé est invalide ou déjà utilisée pour un autre corps
+     * @throws ServerBusyException Si l'exécution en cours ne se termine pas à temps
+     */
+    public <T> Claim<T> claim(String scope, String key, Object request, Class<T> responseType) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new ValidationException("En-tête " + HEADER + " invalide (1 à 255 caractères ASCII visibles)");
+        }
+        String requestHash = hash(request);
+        String flightKey = scope + '\n' + key;
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            log.info("⏳ Doublon {} en attente de l'exécution en cours: {}", scope, key);
+            return replay(scope, await(running.response(), deadline), responseType);
+        }
+
+        try {
+            while (true) {
+                if (idempotencyKeyRepository.claim(scope, key, requestHash, lease, ttl)) {
+                    return new Claim<>(this, scope, key, flightKey, mine, null);
+                }
+                StoredKey stored = idempotencyKeyRepository.find(scope, key).orElse(null);
+                if (stored == null || (!stored.completed() && stored.leaseExpired())) {
+                    // Libérée ou expirée entre-temps : nouvelle tentative de réservation
+                    continue;
+                }
+                checkSameRequest(stored.requestHash(), requestHash);
+                if (stored.completed()) {
+                    finish(flightKey, mine, stored.responseBody(), null);
+                    return replay(scope, stored.responseBody(), responseType);
+                }
+                // En cours sur une autre instance
+                if (System.nanoTime() > deadline) {
+                    throw busy();
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ServerBusyException busy = busy();
+            finish(flightKey, mine, null, busy);
+            throw busy;
+        } catch (RuntimeException e) {
+            finish(flightKey, mine, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Purge des clés expirées (idempotency-key-cleanup)
+     */
+    public int cleanupExpired() {
+        return idempotencyKeyRepository.deleteExpired();
+    }
+
+    private <T> T execute(Claim<T> claim, Isolation isolation, Supplier<T> operation) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(isolation.value());
+        String[] body = new String[1];
+        try {
+            T response = transaction.execute(status -> {
+                T result = operation.get();
+                body[0] = objectMapper.writeValueAsString(result);
+                idempotencyKeyRepository.complete(claim.scope, claim.key, body[0]);
+                return result;
+            });
+            finish(claim.flightKey, claim.inFlight, body[0], null);
+            return response;
+        } catch (RuntimeException e) {
+            try {
+                idempotencyKeyRepository.release(claim.scope, claim.key);
+            } catch (RuntimeException releaseError) {
+                // Le bail expirera de lui-même
+                log.warn("⚠️ Clé {} non libérée: {}", claim.key, releaseError.getMessage());
+            }
+            finish(claim.flightKey, claim.inFlight, null, e);
+            throw e;
+        }
+    }
+
+    private void finish(String flightKey, InFlight mine, String body, RuntimeException failure) {
+        inFlight.remove(flightKey, mine);
+        if (failure != null) {
+            mine.response().completeExceptionally(failure);
+        } else {
+            mine.response().complete(body);
+        }
+    }
+
+    private static String await(CompletableFuture<String> response, long deadline) {
+        try {
+            return response.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            // Même issue que la première exécution
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Claim<T> replay(String scope, String body, Class<T> responseType) {
+        hostelMetrics.recordIdempotentReplay(scope);
+        return new Claim<>(this, scope, null, null, null, objectMapper.readValue(body, responseType));
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ValidationException("Cette clé " + HEADER + " a déjà été utilisée pour une autre requête");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ServerBusyException busy() {
+        return new ServerBusyException("Une requête avec cette clé est en cours de traitement. Réessayez dans quelques secondes.");
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<String> response) {
+    }
+
+    /**
+     * Issue de claim : réponse enregistrée à rejouer, ou clé réservée à exécuter une seule fois.
+     */
+    public static final class Claim<T> {
+
+        private final IdempotencyService service;
+        private final String scope;
+        private final String key;
+        private final String flightKey;
+        private final InFlight inFlight;
+        private final T replayed;
+
+        private Claim(IdempotencyService service, String scope, String key, String flightKey,
+                      InFlight inFlight, T replayed) {
+            this.service = service;
+            this.scope = scope;
+            this.key = key;
+            this.flightKey = flightKey;
+            this.inFlight = inFlight;
+            this.replayed = replayed;
+        }
+
+        public boolean isReplay() {
+            return inFlight == null;
+        }
+
+        public T getReplayed() {
+            return replayed;
+        }
+
+        /**
+         * Exécute l'opération et enregistre sa réponse dans une même transaction, ouverte avec
+         * l'isolation de l'opération (elle la rejoint). À appeler une fois, et une seule.
+         */
+        public T execute(Isolation isolation, Supplier<T> operation) {
+            if (isReplay()) {
+                throw new IllegalStateException("Réponse déjà enregistrée pour " + scope);
+            }
+            return service.execute(this, isolation, operation);
+        }
+    }
+}
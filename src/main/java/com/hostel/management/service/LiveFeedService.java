@@ -0,0 +1,379 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.LiveUpdateResponse.AvailabilityDelta;
+import com.hostel.management.dto.response.LiveUpdateResponse.BookingChange;
+import com.hostel.management.event.BookingChangedEvent;
+import com.hostel.management.event.InventoryReleasedEvent;
+import com.hostel.management.monitoring.HostelMetrics;
+import com.hostel.management.repository.BedRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flux SSE des disponibilités (public) et des changements de réservation (réception), à la place
+ * du polling de /api/rooms/available et /api/admin/bookings/checkins.
+ *
+ * - Connexions : SseEmitter sur requête asynchrone, aucun thread n'est retenu par abonné.
+ * - Coalescence : les événements validés (BookingChangedEvent après commit, InventoryReleasedEvent)
+ *   sont regroupés par clé pendant app.live.flush-interval ; une seule requête de disponibilité
+ *   par (chambre, période) et par intervalle, quel que soit le nombre d'abonnés.
+ * - Contre-pression : chaque abonné a une file bornée indexée par clé, un message remplaçant le
+ *   précédent de même clé, et au plus un envoi en cours (liveFeedExecutor). Un client trop lent
+ *   pour la vider est déconnecté ; EventSource se reconnecte et recharge l'état par l'API REST.
+ *
+ * - Capacité : plafond propre à chaque flux (le flux public ne peut pas priver la réception du
+ *   sien) et nombre de connexions par adresse IP borné sur le flux public.
+ *
+ * Les événements sont ceux de l'instance : derrière plusieurs instances, un abonné ne voit que les
+ * changements effectués sur celle qui le sert.
+ */
+@org.springframework.stereotype.Service
+@Slf4j
+public class LiveFeedService {
+
+    public enum Topic {
+        AVAILABILITY, BOOKINGS
+    }
+
+    private static final String HEARTBEAT_KEY = "heartbeat";
+
+    private final BedRepository bedRepository;
+    private final Executor liveFeedExecutor;
+    private final HostelMetrics hostelMetrics;
+    private final Map<Topic, Integer> maxSubscribers = new EnumMap<>(Topic.class);
+    private final int maxAvailabilityPerIp;
+    private final int maxPendingPerClient;
+    private final Duration timeout;
+
+    private final Map<Topic, Set<Subscriber>> subscribers = new EnumMap<>(Topic.class);
+    // Connexions ouvertes au flux public par adresse IP
+    private final Map<String, Integer> availabilityConnections = new ConcurrentHashMap<>();
+    private final Set<AvailabilityKey> pendingAvailability = ConcurrentHashMap.newKeySet();
+    private final Map<Long, BookingChange> pendingBookings = new ConcurrentHashMap<>();
+
+    // Thread dédié : le planificateur partagé peut être occupé par une tâche de maintenance longue
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-feed-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LiveFeedService(BedRepository bedRepository,
+                           @Qualifier("liveFeedExecutor") Executor liveFeedExecutor,
+                           HostelMetrics hostelMetrics,
+                           @Value("${app.live.availability.max-subscribers:1000}") int maxAvailabilitySubscribers,
+                           @Value("${app.live.availability.max-per-ip:4}") int maxAvailabilityPerIp,
+                           @Value("${app.live.bookings.max-subscribers:100}") int maxBookingSubscribers,
+                           @Value("${app.live.max-pending-per-client:256}") int maxPendingPerClient,
+                           @Value("${app.live.timeout:30m}") Duration timeout,
+                           @Value("${app.live.flush-interval:500ms}") Duration flushInterval,
+                           @Value("${app.live.heartbeat-interval:20s}") Duration heartbeatInterval) {
+        this.bedRepository = bedRepository;
+        this.liveFeedExecutor = liveFeedExecutor;
+        this.hostelMetrics = hostelMetrics;
+        this.maxSubscribers.put(Topic.AVAILABILITY, maxAvailabilitySubscribers);
+        this.maxSubscribers.put(Topic.BOOKINGS, maxBookingSubscribers);
+        this.maxAvailabilityPerIp = maxAvailabilityPerIp;
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.timeout = timeout;
+        for (Topic topic : Topic.values()) {
+            Set<Subscriber> topicSubscribers = ConcurrentHashMap.newKeySet();
+            subscribers.put(topic, topicSubscribers);
+            hostelMetrics.bindLiveSubscribers(topic.name(), topicSubscribers::size);
+        }
+        ticker.scheduleWithFixedDelay(this::flush,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ouvre un flux. Le client s'abonne avant de charger l'état initial par l'API REST, pour ne
+     * manquer aucun changement entre les deux.
+     *
+     * @param clientIp Adresse du client, limitée en connexions sur le flux public
+     */
+    public SseEmitter subscribe(Topic topic, String clientIp) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Set<Subscriber> topicSubscribers = subscribers.get(topic);
+        if (topicSubscribers.size() >= maxSubscribers.get(topic)) {
+            return refuse(emitter, topic, "capacity");
+        }
+        // Adresse retenue seulement sur le flux public : plusieurs postes de réception derrière une même IP
+        String limitedIp = topic == Topic.AVAILABILITY ? clientIp : null;
+        if (limitedIp != null && !acquireConnection(limitedIp)) {
+            return refuse(emitter, topic, "per_ip");
+        }
+
+        Subscriber subscriber = new Subscriber(topic, emitter, limitedIp);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        topicSubscribers.add(subscriber);
+
+        // Premier message : en-têtes envoyés immédiatement, délai de reconnexion d'EventSource
+        sendQuietly(emitter, SseEmitter.event().name("ready").reconnectTime(3_000).data(topic.name()));
+        log.debug("Abonné {} ajouté ({} sur ce flux)", topic, topicSubscribers.size());
+        return emitter;
+    }
+
+    private SseEmitter refuse(SseEmitter emitter, Topic topic, String reason) {
+        hostelMetrics.recordLiveDrop(topic.name(), reason);
+        sendQuietly(emitter, SseEmitter.event().name("unavailable").reconnectTime(30_000).data(reason));
+        emitter.complete();
+        return emitter;
+    }
+
+    private boolean acquireConnection(String clientIp) {
+        boolean[] acquired = {false};
+        availabilityConnections.compute(clientIp, (ip, count) -> {
+            int current = count == null ? 0 : count;
+            acquired[0] = current < maxAvailabilityPerIp;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0];
+    }
+
+    // Retrait idempotent (plusieurs rappels de l'emitter pour un même abonné)
+    private boolean remove(Subscriber subscriber) {
+        if (!subscribers.get(subscriber.topic).remove(subscriber)) {
+            return false;
+        }
+        if (subscriber.clientIp != null) {
+            availabilityConnections.computeIfPresent(subscriber.clientIp, (ip, count) -> count > 1 ? count - 1 : null);
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingChange change = BookingChange.builder()
+                .bookingId(event.bookingId())
+                .bookingReference(event.bookingReference())
+                .guestName(event.guestName())
+                .change(event.change())
+                .status(event.status())
+                .paymentStatus(event.paymentStatus())
+                .checkIn(event.checkIn())
+                .checkOut(event.checkOut())
+                .changedAt(LocalDateTime.now())
+                .build();
+        // Dernier état retenu ; une création suivie de mises à jour reste annoncée comme création
+        pendingBookings.merge(event.bookingId(), change, (previous, latest) -> {
+            if (previous.getChange() == BookingChangedEvent.Change.CREATED && !event.affectsInventory()) {
+                latest.setChange(BookingChangedEvent.Change.CREATED);
+            }
+            return latest;
+        });
+        if (event.affectsInventory()) {
+            for (Long roomId : event.roomIds()) {
+                pendingAvailability.add(new AvailabilityKey(roomId, event.checkIn(), event.checkOut()));
+            }
+        }
+    }
+
+    // Publié hors transaction, après le commit de chaque lot d'expiration
+    @EventListener
+    public void onInventoryReleased(InventoryReleasedEvent event) {
+        if (subscribers.get(Topic.AVAILABILITY).isEmpty()) {
+            return;
+        }
+        for (InventoryReleasedEvent.ReleasedHold hold : event.holds()) {
+            List<Long> bedIds = hold.bedIds().stream().filter(Objects::nonNull).toList();
+            if (bedIds.isEmpty()) {
+                continue;
+            }
+            for (Long roomId : bedRepository.findRoomIdsByBedIds(bedIds)) {
+                pendingAvailability.add(new AvailabilityKey(roomId, hold.checkIn(), hold.checkOut()));
+            }
+        }
+    }
+
+    // Diffuse ce qui s'est accumulé depuis le dernier passage
+    void flush() {
+        try {
+            Set<Subscriber> bookingSubscribers = subscribers.get(Topic.BOOKINGS);
+            for (Long bookingId : List.copyOf(pendingBookings.keySet())) {
+                BookingChange change = pendingBookings.remove(bookingId);
+                if (change != null && !bookingSubscribers.isEmpty()) {
+                    Message message = new Message("booking", change);
+                    bookingSubscribers.forEach(s -> s.offer("booking:" + bookingId, message));
+                }
+            }
+
+            Set<Subscriber> availabilitySubscribers = subscribers.get(Topic.AVAILABILITY);
+            for (AvailabilityKey key : List.copyOf(pendingAvailability)) {
+                pendingAvailability.remove(key);
+                if (availabilitySubscribers.isEmpty()) {
+                    continue;
+                }
+                long freeBeds = bedRepository.countAvailableBedsByRoomAndDates(key.roomId(), key.checkIn(), key.checkOut());
+                Message message = new Message("availability", AvailabilityDelta.builder()
+                        .roomId(key.roomId())
+                        .checkIn(key.checkIn())
+                        .checkOut(key.checkOut())
+                        .freeBeds(freeBeds)
+                        .computedAt(LocalDateTime.now())
+                        .build());
+                availabilitySubscribers.forEach(s -> s.offer(key.toString(), message));
+            }
+        } catch (Exception e) {
+            // Une exception arrêterait les passages suivants du ticker
+            log.error("Diffusion des mises à jour en direct interrompue: {}", e.getMessage(), e);
+        }
+    }
+
+    // Garde les connexions ouvertes derrière les proxys et détecte les clients partis
+    void heartbeat() {
+        Message ping = new Message(null, "ping");
+        subscribers.values().forEach(topicSubscribers ->
+                topicSubscribers.forEach(s -> s.offer(HEARTBEAT_KEY, ping)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        subscribers.values().forEach(topicSubscribers -> {
+            topicSubscribers.forEach(s -> s.emitter.complete());
+            topicSubscribers.clear();
+        });
+        availabilityConnections.clear();
+    }
+
+    private static void sendQuietly(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private record AvailabilityKey(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    // name null : commentaire SSE (heartbeat)
+    private record Message(String name, Object data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null
+                    ? SseEmitter.event().comment(data.toString())
+                    : SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * File d'un abonné : messages indexés par clé (le dernier gagne), vidée par au plus une tâche
+     * d'envoi à la fois.
+     */
+    private final class Subscriber {
+
+        private final Topic topic;
+        private final SseEmitter emitter;
+        private final String clientIp;
+        private final LinkedHashMap<String, Message> pending = new LinkedHashMap<>();
+        private boolean sending;
+        private boolean closed;
+
+        Subscriber(Topic topic, SseEmitter emitter, String clientIp) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.clientIp = clientIp;
+        }
+
+        void offer(String key, Message message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingPerClient && !pending.containsKey(key)) {
+                    // Un envoi est en cours (sinon la file serait vide) : il terminera le flux
+                    closed = true;
+                    pending.clear();
+                    remove(this);
+                    hostelMetrics.recordLiveDrop(topic.name(), "slow_consumer");
+                    log.warn("Abonné {} trop lent, déconnecté ({} messages en attente)", topic, maxPendingPerClient);
+                    return;
+                }
+                pending.put(key, message);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                liveFeedExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close("rejected");
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<Message> batch;
+                boolean complete;
+                synchronized (this) {
+                    complete = closed;
+                    if (closed || pending.isEmpty()) {
+                        sending = false;
+                        batch = List.of();
+                    } else {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                    }
+                }
+                if (complete) {
+                    emitter.complete();
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    for (Message message : batch) {
+                        emitter.send(message.toEvent());
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client parti : le conteneur signale l'erreur, onError le retire
+                    close("disconnected");
+                    return;
+                }
+            }
+        }
+
+        private void close(String reason) {
+            synchronized (this) {
+                closed = true;
+                sending = false;
+                pending.clear();
+            }
+            if (remove(this)) {
+                log.debug("Abonné {} retiré ({})", topic, reason);
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.hostel.management.dto.response.BedResponse;
 import com.hostel.management.entity.Bed;
 import com.hostel.management.entity.Room;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.monitoring.HostelMetrics;
 import com.hostel.management.repository.BedRepository;
 import com.hostel.management.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final BedRepository bedRepository;
     private final CloudinaryService cloudinaryService;
+    private final HostelMetrics hostelMetrics;
 
     @Transactional
     public RoomResponse createRoom(RoomRequest request) {
@@ -214,6 +216,11 @@ public class RoomService {
     public List<RoomResponse> getAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
         log.info("getAvailableRooms - De {} à {}", checkIn, checkOut);
 
+        return hostelMetrics.recordAvailability("getAvailableRooms",
+                () -> findAvailableRooms(checkIn, checkOut));
+    }
+
+    private List<RoomResponse> findAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
         List<Room> rooms = roomRepository.findAvailableRooms(checkIn, checkOut);
         log.info("Chambres disponibles trouvées: {}", rooms.size());
 
@@ -346,7 +353,8 @@ public class RoomService {
         };
     }
 
-    private RoomResponse mapToResponse(Room room, List<Bed> beds) {
+    // Visibilité package : mesuré par MappingBenchmark (src/jmh)
+    RoomResponse mapToResponse(Room room, List<Bed> beds) {
         try {
             log.debug("mapToResponse - Chambre: {}, Lits: {}",
                     room.getRoomNumber(),
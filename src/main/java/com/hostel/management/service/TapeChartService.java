@@ -0,0 +1,121 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.response.TapeChartResponse;
+import com.hostel.management.entity.Booking;
+import com.hostel.management.exception.ValidationException;
+import com.hostel.management.repository.TapeChartRepository;
+import com.hostel.management.repository.TapeChartRepository.BarRow;
+import com.hostel.management.repository.TapeChartRepository.BedRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Planning lits × jours de l'admin (tape chart) : chaque lit en service, et les réservations
+ * qui l'occupent sur la fenêtre [from, to[ sous forme de barres (arrivée, départ, statut,
+ * initiales du client).
+ *
+ * Deux requêtes quelle que soit la taille de l'établissement : les barres de la fenêtre
+ * (plage de dates sur booking_beds et bookings), puis les lits. Réponse en colonnes (TapeChartResponse),
+ * sans répéter les noms de champs pour chaque barre.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class TapeChartService {
+
+    // Au-delà, la grille n'est plus lisible et la lecture parcourt trop de partitions
+    private static final int MAX_RANGE_DAYS = 184;
+
+    private final TapeChartRepository tapeChartRepository;
+
+    @Transactional(readOnly = true)
+    public TapeChartResponse getTapeChart(LocalDate from, LocalDate to, boolean includeCancelled) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("La date de fin doit être après la date de début");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        if (days > MAX_RANGE_DAYS) {
+            throw new ValidationException("Planning limité à " + MAX_RANGE_DAYS + " jours");
+        }
+
+        List<BarRow> bars = tapeChartRepository.findBars(
+                Booking.earliestOverlappingCheckIn(from), from, to, includeCancelled);
+        Set<Long> bookedBedIds = new LinkedHashSet<>();
+        for (BarRow bar : bars) {
+            bookedBedIds.add(bar.bedId());
+        }
+        List<BedRow> beds = tapeChartRepository.findBeds(bookedBedIds);
+
+        return TapeChartResponse.builder()
+                .from(from)
+                .to(to)
+                .days(days)
+                .beds(toBeds(beds))
+                .bars(toBars(bars, beds, from))
+                .build();
+    }
+
+    private static TapeChartResponse.Beds toBeds(List<BedRow> beds) {
+        int size = beds.size();
+        long[] id = new long[size];
+        long[] roomId = new long[size];
+        String[] roomNumber = new String[size];
+        String[] roomType = new String[size];
+        String[] bedNumber = new String[size];
+        for (int i = 0; i < size; i++) {
+            BedRow bed = beds.get(i);
+            id[i] = bed.id();
+            roomId[i] = bed.roomId();
+            roomNumber[i] = bed.roomNumber();
+            roomType[i] = bed.roomType();
+            bedNumber[i] = bed.bedNumber();
+        }
+        return new TapeChartResponse.Beds(id, roomId, roomNumber, roomType, bedNumber);
+    }
+
+    private static TapeChartResponse.Bars toBars(List<BarRow> bars, List<BedRow> beds, LocalDate from) {
+        Map<Long, Integer> rows = new HashMap<>();
+        for (int i = 0; i < beds.size(); i++) {
+            rows.put(beds.get(i).id(), i);
+        }
+        int size = bars.size();
+        int[] bed = new int[size];
+        long[] booking = new long[size];
+        int[] start = new int[size];
+        int[] end = new int[size];
+        String[] status = new String[size];
+        String[] initials = new String[size];
+        for (int i = 0; i < size; i++) {
+            BarRow bar = bars.get(i);
+            bed[i] = rows.get(bar.bedId());
+            booking[i] = bar.bookingId();
+            start[i] = (int) ChronoUnit.DAYS.between(from, bar.checkIn());
+            end[i] = (int) ChronoUnit.DAYS.between(from, bar.checkOut());
+            status[i] = bar.status();
+            initials[i] = initials(bar.guestName());
+        }
+        return new TapeChartResponse.Bars(bed, booking, start, end, status, initials);
+    }
+
+    // Première lettre du premier et du dernier mot : "Jean-Marc Dupont" → "JD"
+    static String initials(String guestName) {
+        if (guestName == null || guestName.isBlank()) {
+            return "";
+        }
+        String[] words = guestName.trim().split("\\s+");
+        String first = words[0].substring(0, words[0].offsetByCodePoints(0, 1));
+        if (words.length == 1) {
+            return first.toUpperCase(Locale.ROOT);
+        }
+        String last = words[words.length - 1];
+        return (first + last.substring(0, last.offsetByCodePoints(0, 1))).toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,105 @@
+-- Journal des événements de réservation (BookingEventRepository) et projections (BookingProjectionRunner).
+--
+-- booking_events est en ajout seul : une ligne par changement d'état, écrite dans la transaction
+-- qui l'effectue, avec l'état de la réservation après le changement (status null : supprimée)
+-- et son statut avant (status_before null : nouvelle réservation).
+--
+-- tx_id (identifiant de la transaction d'écriture, attribué à sa première écriture) sert de
+-- position de lecture, dans l'ordre (tx_id, id). Cet ordre n'est pas celui des commits : une
+-- transaction de tx_id inférieur peut valider après une autre. La correction vient du seuil
+-- pg_snapshot_xmin : une projection ne lit que les tx_id inférieurs, transactions toutes
+-- terminées, et toute transaction encore ouverte ou future a un tx_id supérieur ou égal à ce
+-- seuil, donc à la position atteinte ; aucun événement n'est sauté.
+--
+-- projection_offsets : position de chaque projection dans le journal, mise à jour dans la
+-- transaction qui applique les événements (exactement une fois).
+
+create sequence booking_events_seq increment by 50;
+
+create table booking_events (
+    id bigint not null primary key,
+    tx_id bigint not null default (pg_current_xact_id()::text::bigint),
+    booking_id bigint not null,
+    event_type varchar(20) not null
+        check (event_type in ('IMPORTED','CREATED','STATUS_CHANGED','PAYMENT_CHANGED','CANCELLED','EXPIRED','DELETED')),
+    occurred_at timestamp(6) not null,
+    status_before varchar(20),
+    status varchar(20),
+    payment_status varchar(20) not null,
+    guest_email varchar(100) not null,
+    guest_name varchar(100) not null,
+    guest_phone varchar(20) not null,
+    guest_phone_normalized varchar(24) generated always as (normalize_phone(guest_phone)) stored,
+    check_in_date date not null,
+    check_out_date date not null,
+    total_price numeric(10,2) not null,
+    with_pack boolean not null,
+    room_type varchar(20),
+    beds integer not null
+);
+
+create index idx_booking_events_position on booking_events (tx_id, id);
+create index idx_booking_events_booking on booking_events (booking_id);
+create index idx_booking_events_guest_email on booking_events (guest_email);
+
+create function booking_events_append_only() returns trigger
+language plpgsql
+as $$
+begin
+    raise exception 'booking_events est en ajout seul (%)', tg_op;
+end
+$$;
+
+create trigger trg_booking_events_append_only
+    before update or delete on booking_events
+    for each statement execute function booking_events_append_only();
+
+create table projection_offsets (
+    name varchar(50) not null primary key,
+    last_tx_id bigint not null default 0,
+    last_event_id bigint not null default 0,
+    events_applied bigint not null default 0,
+    updated_at timestamp(6) not null default now()
+);
+
+-- ========== HISTORIQUE EXISTANT ==========
+
+-- Un événement IMPORTED par réservation existante (chaude ou archivée), daté de sa création
+insert into booking_events (id, booking_id, event_type, occurred_at, status_before, status, payment_status,
+                            guest_email, guest_name, guest_phone, check_in_date, check_out_date,
+                            total_price, with_pack, room_type, beds)
+select nextval('booking_events_seq'), s.*
+from (
+    select b.id, 'IMPORTED', b.created_at, null::varchar, b.status, b.payment_status,
+           lower(trim(b.guest_email)), b.guest_name, b.guest_phone, b.check_in_date, b.check_out_date,
+           b.total_price, b.pack_id is not null, beds.room_type, coalesce(beds.beds, 0)
+    from bookings b
+    left join (
+        select bb.booking_id, bb.check_in_date, min(r.room_type) as room_type, count(*) as beds
+        from booking_beds bb
+        join beds bd on bd.id = bb.bed_id
+        join rooms r on r.id = bd.room_id
+        group by bb.booking_id, bb.check_in_date
+    ) beds on beds.booking_id = b.id and beds.check_in_date = b.check_in_date
+    union all
+    select a.id, 'IMPORTED', a.created_at, null::varchar, a.status, a.payment_status,
+           lower(trim(a.guest_email)), a.guest_name, a.guest_phone, a.check_in_date, a.check_out_date,
+           a.total_price, a.pack_id is not null, beds.room_type, coalesce(beds.beds, 0)
+    from bookings_archive a
+    left join (
+        select bb.booking_id, min(r.room_type) as room_type, count(*) as beds
+        from booking_beds_archive bb
+        join beds bd on bd.id = bb.bed_id
+        join rooms r on r.id = bd.room_id
+        group by bb.booking_id
+    ) beds on beds.booking_id = a.id
+    order by 3
+) s;
+
+-- Statistiques (V7) et profils clients (V9) deviennent des projections du journal :
+-- reconstruits depuis l'historique importé au premier passage du BookingProjectionRunner
+truncate booking_stats_daily, booking_stats_monthly, guest_profiles;
+
+insert into projection_offsets (name) values ('booking-stats'), ('guest-profiles');
+
+analyze booking_events;
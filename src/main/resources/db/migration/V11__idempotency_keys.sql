@@ -0,0 +1,23 @@
+-- Clés d'idempotence (en-tête Idempotency-Key, voir IdempotencyService).
+--
+-- Une ligne par (portée, clé) : IN_PROGRESS pendant la première exécution, bail jusqu'à
+-- locked_until (une instance morte en cours d'exécution libère la clé à l'expiration du bail),
+-- puis COMPLETED avec la réponse sérialisée, rejouée telle quelle jusqu'à expires_at.
+-- La réponse est enregistrée dans la transaction de la réservation : pas de réservation
+-- validée sans réponse à rejouer. Les horodatages viennent de now() côté base.
+create table idempotency_keys (
+    scope varchar(40) not null,
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    status varchar(16) not null,
+    response_body text,
+    created_at timestamptz not null,
+    locked_until timestamptz not null,
+    expires_at timestamptz not null,
+    primary key (scope, idempotency_key),
+    constraint chk_idempotency_status check (status in ('IN_PROGRESS', 'COMPLETED')),
+    constraint chk_idempotency_response check (status <> 'COMPLETED' or response_body is not null)
+);
+
+-- Purge des clés expirées (idempotency-key-cleanup)
+create index idx_idempotency_keys_expires on idempotency_keys (expires_at);
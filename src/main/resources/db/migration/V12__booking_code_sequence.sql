@@ -0,0 +1,7 @@
+-- Codes de réservation sans collision (BookingCodeAllocator).
+--
+-- Chaque réservation reçoit une valeur de cette séquence, permutée par un chiffrement de
+-- Feistel à clé secrète : code d'accès (6 chiffres) et suffixe de référence (5 caractères)
+-- distincts pour des valeurs distinctes, sans motif visible. Les instances réservent des
+-- blocs de valeurs ; booking_codes (V6) reste le garde-fou d'unicité sur les tables chaudes.
+create sequence booking_code_seq as bigint start with 1 cache 1;
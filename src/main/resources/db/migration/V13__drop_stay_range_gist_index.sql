@@ -0,0 +1,7 @@
+-- idx_booking_stay_range_gist (V2, recréé en V6) ne sert à aucune requête :
+-- les requêtes de chevauchement comparent check_in_date / check_out_date
+-- (idx_booking_active_window, idx_booking_not_cancelled_window) et non
+-- daterange(...) && daterange(...). Supprimé sur la table partitionnée,
+-- il disparaît aussi de chaque partition.
+
+drop index if exists idx_booking_stay_range_gist;
@@ -0,0 +1,209 @@
+-- Schéma initial, identique à celui généré jusqu'ici par ddl-auto=update
+-- (y compris les noms de clés étrangères FK... calculés par Hibernate).
+-- Les bases existantes sont marquées à cette version (baseline-on-migrate)
+-- sans que ce script ne soit rejoué : une migration suivante ne doit donc
+-- pas supposer le nom d'une contrainte créée ici, mais le rechercher dans
+-- pg_constraint.
+
+create table beds (
+    id bigint generated by default as identity,
+    bed_number varchar(10) not null,
+    created_at timestamp(6) not null,
+    deleted boolean not null,
+    is_available boolean not null,
+    updated_at timestamp(6),
+    room_id bigint not null,
+    primary key (id),
+    constraint uk_room_bed_number unique (room_id, bed_number)
+);
+
+create table booking_beds (
+    booking_id bigint not null,
+    bed_id bigint not null
+);
+
+create table booking_services (
+    booking_id bigint not null,
+    service_id bigint not null
+);
+
+create table bookings (
+    id bigint generated by default as identity,
+    access_code varchar(10) not null unique,
+    booking_reference varchar(20) not null unique,
+    check_in_date date not null,
+    check_out_date date not null,
+    created_at timestamp(6) not null,
+    guest_email varchar(100) not null,
+    guest_name varchar(100) not null,
+    guest_phone varchar(20) not null,
+    notes TEXT,
+    number_of_persons integer not null check ((number_of_persons>=1)),
+    payment_status varchar(20) not null check ((payment_status in ('UNPAID','PARTIAL','PAID'))),
+    status varchar(20) not null check ((status in ('PENDING','CONFIRMED','CHECKED_IN','CHECKED_OUT','CANCELLED'))),
+    total_price numeric(10,2) not null,
+    updated_at timestamp(6),
+    version bigint not null,
+    pack_id bigint,
+    primary key (id)
+);
+
+create table hostel_settings (
+    id bigint generated by default as identity,
+    address TEXT not null,
+    check_in24h boolean not null,
+    check_in_instructions varchar(255),
+    check_out_time varchar(255) not null,
+    created_at timestamp(6) not null,
+    door_code varchar(10) not null,
+    email varchar(255) not null,
+    hostel_name varchar(100) not null,
+    phone varchar(20) not null,
+    updated_at timestamp(6),
+    wifi_password varchar(255),
+    primary key (id)
+);
+
+create table pack_features (
+    pack_id bigint not null,
+    feature TEXT
+);
+
+create table pack_night_prices (
+    id bigint generated by default as identity,
+    nights integer not null,
+    promo_price numeric(10,2) not null,
+    regular_price numeric(10,2),
+    room_type varchar(255) not null check ((room_type in ('DOUBLE','SINGLE','DORTOIR'))),
+    pack_id bigint not null,
+    primary key (id),
+    unique (pack_id, nights, room_type)
+);
+
+create table pack_photos (
+    pack_id bigint not null,
+    photo_url varchar(255)
+);
+
+create table packs (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    description TEXT,
+    extra_person_price_per_night numeric(10,2),
+    is_active boolean not null,
+    name varchar(255) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table room_photos (
+    room_id bigint not null,
+    photo_url varchar(500)
+);
+
+create table rooms (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    deleted boolean not null,
+    description TEXT,
+    is_active boolean not null,
+    price_per_night numeric(10,2) not null,
+    room_number varchar(10) not null,
+    room_type varchar(20) not null check ((room_type in ('DOUBLE','SINGLE','DORTOIR'))),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table services (
+    id bigint generated by default as identity,
+    category varchar(20) not null check ((category in ('TRANSPORT','MEAL','ACTIVITY','OTHER'))),
+    created_at timestamp(6) not null,
+    description TEXT,
+    is_active boolean not null,
+    name varchar(100) not null,
+    price numeric(10,2) not null,
+    price_type varchar(20) not null check ((price_type in ('FIXED','PER_NIGHT'))),
+    pricing_type varchar(20) not null check ((pricing_type in ('PER_PERSON','PER_ROOM'))),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    email varchar(100) not null unique,
+    enabled boolean not null,
+    failed_login_attempts integer,
+    full_name varchar(100) not null,
+    locked_until timestamp(6),
+    password varchar(255) not null,
+    phone varchar(20),
+    reset_code varchar(6),
+    reset_code_expiry timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_bed_room on beds (room_id);
+
+create index idx_bed_available on beds (is_available);
+
+create index idx_bed_deleted on beds (deleted);
+
+create index idx_booking_dates on bookings (check_in_date, check_out_date);
+
+create index idx_booking_status on bookings (status);
+
+create index idx_booking_payment on bookings (payment_status);
+
+create index idx_booking_email on bookings (guest_email);
+
+create index idx_booking_reference on bookings (booking_reference);
+
+create index idx_booking_access_code on bookings (access_code);
+
+create index idx_room_type on rooms (room_type);
+
+create index idx_room_active on rooms (is_active);
+
+create index idx_room_deleted on rooms (deleted);
+
+create index idx_service_category on services (category);
+
+create index idx_service_active on services (is_active);
+
+create index idx_service_pricing_type on services (pricing_type);
+
+create index idx_user_email on users (email);
+
+create index idx_user_reset_code on users (reset_code);
+
+alter table beds
+    add constraint FK2tg7eb23xlsy3mkhcqlp15aha foreign key (room_id) references rooms;
+
+alter table booking_beds
+    add constraint FKm33pa18dvtcs5gl4ilykqstr6 foreign key (bed_id) references beds;
+
+alter table booking_beds
+    add constraint FK452xpf1t65yqj3j10gs7ncr1v foreign key (booking_id) references bookings;
+
+alter table booking_services
+    add constraint FKhhofk6n050slfqp0v6e65axk3 foreign key (service_id) references services;
+
+alter table booking_services
+    add constraint FK1etky587qu1tqlr3t1r7w59gx foreign key (booking_id) references bookings;
+
+alter table bookings
+    add constraint FKtiy4fnorj9xev70ety7avjd7n foreign key (pack_id) references packs;
+
+alter table pack_features
+    add constraint FKpkhpatctfaa1swxo081om4adp foreign key (pack_id) references packs;
+
+alter table pack_night_prices
+    add constraint FK69wpeueg6wt2upsl8spb9e8c7 foreign key (pack_id) references packs;
+
+alter table pack_photos
+    add constraint FKe8lelgrjiughvswf176d5knp foreign key (pack_id) references packs;
+
+alter table room_photos
+    add constraint FKisb559l4g3jn4j39jwha0fu1f foreign key (room_id) references rooms;
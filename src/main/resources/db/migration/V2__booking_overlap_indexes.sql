@@ -0,0 +1,28 @@
+-- Index dédiés aux requêtes de chevauchement de dates
+-- (BookingRepository.findOverlappingBookingsFor*, sous-requêtes NOT IN de
+-- RoomRepository.findAvailableRooms et BedRepository.findAvailableBedsByRoomAndDates).
+
+-- Table de jointure lit <-> réservation : aucune colonne n'était indexée,
+-- chaque vérification de disponibilité parcourait booking_beds en entier.
+create index if not exists idx_booking_beds_bed_booking on booking_beds (bed_id, booking_id);
+create index if not exists idx_booking_beds_booking_bed on booking_beds (booking_id, bed_id);
+create index if not exists idx_booking_services_booking on booking_services (booking_id);
+
+-- Réservations actives (même prédicat que les requêtes de chevauchement).
+-- check_out_date en tête : "check_out_date > :checkIn" écarte tout l'historique passé.
+create index if not exists idx_booking_active_window
+    on bookings (check_out_date, check_in_date, id)
+    where status not in ('CANCELLED', 'CHECKED_OUT');
+
+-- Réservations non annulées (prédicat des sous-requêtes NOT IN de disponibilité).
+create index if not exists idx_booking_not_cancelled_window
+    on bookings (check_out_date, check_in_date, id)
+    where status <> 'CANCELLED';
+
+-- Intervalle de séjour [arrivée, départ) pour les requêtes natives utilisant "&&".
+create index if not exists idx_booking_stay_range_gist
+    on bookings using gist (daterange(check_in_date, check_out_date))
+    where status <> 'CANCELLED';
+
+analyze bookings;
+analyze booking_beds;
@@ -0,0 +1,28 @@
+-- Coordination des tâches planifiées entre instances (voir scheduling.MaintenanceJobScheduler).
+
+-- Bail par tâche : une instance n'exécute une tâche que si elle obtient le bail
+-- (lock_until dépassé). Les horodatages viennent de now() côté base, pas des horloges des nœuds.
+create table scheduler_locks (
+    name varchar(64) not null,
+    lock_until timestamptz not null,
+    locked_at timestamptz not null,
+    locked_by varchar(255) not null,
+    primary key (name)
+);
+
+-- Historique d'exécution (une ligne par exécution effective, purgé par job-history-cleanup)
+create table scheduled_job_runs (
+    id bigint generated by default as identity,
+    job_name varchar(64) not null,
+    node varchar(255) not null,
+    started_at timestamptz not null,
+    finished_at timestamptz not null,
+    duration_ms bigint not null,
+    status varchar(16) not null,
+    affected_rows integer,
+    error_message text,
+    primary key (id),
+    constraint chk_job_run_status check (status in ('SUCCESS', 'FAILED'))
+);
+
+create index idx_job_runs_name_started on scheduled_job_runs (job_name, started_at desc);
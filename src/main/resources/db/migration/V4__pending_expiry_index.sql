@@ -0,0 +1,5 @@
+-- Expiration des réservations PENDING (BookingRepository.cancelExpiredPendingBookings) :
+-- index partiel, limité aux réservations en attente, parcouru dans l'ordre de création.
+create index if not exists idx_booking_pending_created
+    on bookings (created_at)
+    where status = 'PENDING';
@@ -0,0 +1,40 @@
+-- Archivage des réservations terminées (BookingArchiveRepository) : mêmes colonnes que les
+-- tables chaudes, sans contrainte d'unicité sur access_code ni clé étrangère, pour que
+-- l'archive survive aux suppressions de lits, services ou packs.
+create table bookings_archive (
+    id bigint not null,
+    access_code varchar(10) not null,
+    booking_reference varchar(20) not null,
+    check_in_date date not null,
+    check_out_date date not null,
+    created_at timestamp(6) not null,
+    guest_email varchar(100) not null,
+    guest_name varchar(100) not null,
+    guest_phone varchar(20) not null,
+    notes TEXT,
+    number_of_persons integer not null,
+    payment_status varchar(20) not null,
+    status varchar(20) not null,
+    total_price numeric(10,2) not null,
+    updated_at timestamp(6),
+    version bigint not null,
+    pack_id bigint,
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_booking_archive_reference on bookings_archive (booking_reference);
+
+create index idx_booking_archive_email on bookings_archive (guest_email);
+
+create table booking_beds_archive (
+    booking_id bigint not null,
+    bed_id bigint not null,
+    primary key (booking_id, bed_id)
+);
+
+create table booking_services_archive (
+    booking_id bigint not null,
+    service_id bigint not null,
+    primary key (booking_id, service_id)
+);
@@ -0,0 +1,299 @@
+-- Partitionnement de bookings et booking_beds par mois d'arrivée (check_in_date).
+--
+-- Les requêtes de chevauchement bornent check_in_date des deux côtés
+-- (checkIn - Booking.MAX_NIGHTS <= check_in_date < checkOut) : PostgreSQL n'y parcourt
+-- que quelques partitions mensuelles au lieu de tout l'historique.
+--
+-- Conséquences du partitionnement :
+-- - la clé primaire devient (id, check_in_date) ; l'unicité globale de access_code et
+--   booking_reference est assurée par la table booking_codes (trigger) ;
+-- - booking_beds et booking_services portent check_in_date, écrit par Hibernate
+--   (@JoinTable sur (booking_id, check_in_date)) ; booking_beds suit les mêmes
+--   partitions mensuelles que bookings.
+--
+-- - les index des partitions sont nommés <index parent>_<suffixe>
+--   (ex. idx_booking_active_window_2026_10) pour rester lisibles dans les plans.
+--
+-- Nouvelles partitions : ensure_booking_partitions(), appelée par BookingPartitionJob.
+
+-- ========== PRÉ-CONTRÔLE : SÉJOURS DE PLUS DE 90 NUITS ==========
+
+-- La fenêtre d'élagage suppose qu'aucun séjour ne dépasse Booking.MAX_NIGHTS (contrainte
+-- chk_booking_max_nights). Avant V6 la durée n'était pas bornée : un séjour plus long ne peut
+-- pas être migré tel quel, les requêtes de chevauchement ne le verraient plus. La migration
+-- échoue avant toute modification, en listant les réservations à traiter à la main (découper
+-- en réservations consécutives de 90 nuits au plus, ou corriger check_out_date), puis relancer.
+do $$
+declare
+    offending text;
+    total integer;
+begin
+    select count(*), string_agg(id || ' (' || check_in_date || ' → ' || check_out_date || ')', ', ' order by id)
+    into total, offending
+    from (
+        select id, check_in_date, check_out_date
+        from bookings
+        where check_out_date - check_in_date > 90
+        order by id
+        limit 50
+    ) s;
+    if total > 0 then
+        select count(*) into total from bookings where check_out_date - check_in_date > 90;
+        raise exception 'V6 : % réservation(s) de plus de 90 nuits, incompatibles avec le partitionnement '
+                        '(50 premières) : %', total, offending
+            using hint = 'Découper ces séjours en réservations consécutives de 90 nuits au plus '
+                      || '(ou corriger check_out_date), puis relancer la migration.';
+    end if;
+end;
+$$;
+
+-- ========== TABLES DE JOINTURE : DÉTACHEMENT ==========
+
+-- Les bases marquées en V1 (baseline-on-migrate) portent les noms FK... hachés
+-- par Hibernate : les clés vers bookings sont retrouvées dans pg_constraint.
+do $$
+declare
+    fk record;
+begin
+    for fk in
+        select c.conrelid::regclass as table_name, c.conname
+        from pg_constraint c
+        where c.contype = 'f'
+        and c.confrelid = 'bookings'::regclass
+        and c.conrelid in ('booking_beds'::regclass, 'booking_services'::regclass)
+    loop
+        execute format('alter table %s drop constraint %I', fk.table_name, fk.conname);
+    end loop;
+end;
+$$;
+
+-- ========== TABLE PARTITIONNÉE ==========
+
+alter table bookings rename to bookings_unpartitioned;
+
+create sequence bookings_partitioned_id_seq;
+
+create table bookings_partitioned (
+    id bigint not null default nextval('bookings_partitioned_id_seq'),
+    access_code varchar(10) not null,
+    booking_reference varchar(20) not null,
+    check_in_date date not null,
+    check_out_date date not null,
+    created_at timestamp(6) not null,
+    guest_email varchar(100) not null,
+    guest_name varchar(100) not null,
+    guest_phone varchar(20) not null,
+    notes TEXT,
+    number_of_persons integer not null check ((number_of_persons>=1)),
+    payment_status varchar(20) not null check ((payment_status in ('UNPAID','PARTIAL','PAID'))),
+    status varchar(20) not null check ((status in ('PENDING','CONFIRMED','CHECKED_IN','CHECKED_OUT','CANCELLED'))),
+    total_price numeric(10,2) not null,
+    updated_at timestamp(6),
+    version bigint not null,
+    pack_id bigint,
+    primary key (id, check_in_date),
+    -- Borne de l'élagage (Booking.MAX_NIGHTS)
+    constraint chk_booking_max_nights check (check_out_date - check_in_date <= 90),
+    constraint fk_booking_pack foreign key (pack_id) references packs
+) partition by range (check_in_date);
+
+create table bookings_default partition of bookings_partitioned default;
+
+alter table booking_beds rename to booking_beds_unpartitioned;
+
+create table booking_beds (
+    booking_id bigint not null,
+    bed_id bigint not null,
+    check_in_date date not null
+) partition by range (check_in_date);
+
+create table booking_beds_default partition of booking_beds default;
+
+-- ========== CRÉATION DES PARTITIONS MENSUELLES ==========
+
+-- Renomme les index hérités d'une partition en <index parent>_<suffixe de la partition>
+-- (hors clés primaires).
+create or replace function name_partition_indexes(partition regclass)
+returns void
+language plpgsql
+as $$
+declare
+    suffix text;
+    r record;
+begin
+    select substr(child.relname, length(parent.relname) + 2) into suffix
+    from pg_inherits i
+    join pg_class child on child.oid = i.inhrelid
+    join pg_class parent on parent.oid = i.inhparent
+    where i.inhrelid = partition;
+
+    for r in
+        select child_index.relname as child_name, parent_index.relname || '_' || suffix as target_name
+        from pg_index ix
+        join pg_class child_index on child_index.oid = ix.indexrelid
+        join pg_inherits i on i.inhrelid = ix.indexrelid
+        join pg_class parent_index on parent_index.oid = i.inhparent
+        where ix.indrelid = partition
+        and not ix.indisprimary
+    loop
+        if r.child_name <> r.target_name then
+            execute format('alter index %I rename to %I', r.child_name, r.target_name);
+        end if;
+    end loop;
+end;
+$$;
+
+-- Crée les partitions mensuelles manquantes de bookings et booking_beds sur
+-- [from_month, to_month[ ; retourne le nombre de mois ajoutés.
+create or replace function ensure_booking_partitions(from_month date, to_month date)
+returns integer
+language plpgsql
+as $$
+declare
+    month_start date := date_trunc('month', from_month)::date;
+    month_end date;
+    suffix text;
+    created integer := 0;
+begin
+    while month_start < to_month loop
+        month_end := (month_start + interval '1 month')::date;
+        suffix := to_char(month_start, 'YYYY_MM');
+        if to_regclass('bookings_' || suffix) is null then
+            execute format('create table %I partition of bookings for values from (%L) to (%L)',
+                'bookings_' || suffix, month_start, month_end);
+            perform name_partition_indexes(('bookings_' || suffix)::regclass);
+            created := created + 1;
+        end if;
+        if to_regclass('booking_beds_' || suffix) is null then
+            execute format('create table %I partition of booking_beds for values from (%L) to (%L)',
+                'booking_beds_' || suffix, month_start, month_end);
+            perform name_partition_indexes(('booking_beds_' || suffix)::regclass);
+        end if;
+        month_start := month_end;
+    end loop;
+    return created;
+end;
+$$;
+
+-- ========== COPIE ==========
+
+alter table bookings_partitioned rename to bookings;
+alter sequence bookings_partitioned_id_seq owned by bookings.id;
+
+-- Historique existant + 13 mois (réservation possible jusqu'à un an à l'avance)
+select ensure_booking_partitions(
+    least((select min(check_in_date) from bookings_unpartitioned), current_date),
+    (date_trunc('month', current_date) + interval '13 months')::date);
+
+insert into bookings (
+    id, access_code, booking_reference, check_in_date, check_out_date, created_at,
+    guest_email, guest_name, guest_phone, notes, number_of_persons, payment_status,
+    status, total_price, updated_at, version, pack_id)
+select
+    id, access_code, booking_reference, check_in_date, check_out_date, created_at,
+    guest_email, guest_name, guest_phone, notes, number_of_persons, payment_status,
+    status, total_price, updated_at, version, pack_id
+from bookings_unpartitioned;
+
+select setval('bookings_partitioned_id_seq', coalesce((select max(id) from bookings), 0) + 1, false);
+
+-- ========== UNICITÉ GLOBALE DES CODES ==========
+
+create table booking_codes (
+    booking_id bigint not null,
+    access_code varchar(10) not null unique,
+    booking_reference varchar(20) not null unique,
+    primary key (booking_id)
+);
+
+insert into booking_codes (booking_id, access_code, booking_reference)
+select id, access_code, booking_reference from bookings;
+
+create or replace function sync_booking_codes()
+returns trigger
+language plpgsql
+as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        delete from booking_codes where booking_id = old.id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        insert into booking_codes (booking_id, access_code, booking_reference)
+        values (new.id, new.access_code, new.booking_reference);
+    end if;
+    return null;
+end;
+$$;
+
+create trigger trg_booking_codes
+    after insert or delete or update of id, access_code, booking_reference on bookings
+    for each row execute function sync_booking_codes();
+
+-- ========== TABLES DE JOINTURE : CLÉ DE PARTITION ==========
+
+insert into booking_beds (booking_id, bed_id, check_in_date)
+select bb.booking_id, bb.bed_id, b.check_in_date
+from booking_beds_unpartitioned bb
+join bookings_unpartitioned b on b.id = bb.booking_id;
+
+drop table booking_beds_unpartitioned;
+
+alter table booking_services add column check_in_date date;
+
+update booking_services bs set check_in_date = b.check_in_date
+from bookings_unpartitioned b where b.id = bs.booking_id;
+
+alter table booking_services alter column check_in_date set not null;
+
+alter table booking_beds
+    add constraint fk_booking_beds_booking foreign key (booking_id, check_in_date) references bookings;
+
+alter table booking_beds
+    add constraint fk_booking_beds_bed foreign key (bed_id) references beds;
+
+alter table booking_services
+    add constraint fk_booking_services_booking foreign key (booking_id, check_in_date) references bookings;
+
+drop table bookings_unpartitioned;
+
+-- L'ancienne séquence d'identité disparaît avec l'ancienne table
+alter sequence bookings_partitioned_id_seq rename to bookings_id_seq;
+alter table bookings rename constraint bookings_partitioned_pkey to bookings_pkey;
+
+-- ========== INDEX (V1, V2, V4 recréés sur la table partitionnée) ==========
+
+create index idx_booking_dates on bookings (check_in_date, check_out_date);
+create index idx_booking_status on bookings (status);
+create index idx_booking_payment on bookings (payment_status);
+create index idx_booking_email on bookings (guest_email);
+create index idx_booking_reference on bookings (booking_reference);
+create index idx_booking_access_code on bookings (access_code);
+
+create index idx_booking_active_window
+    on bookings (check_out_date, check_in_date, id)
+    where status not in ('CANCELLED', 'CHECKED_OUT');
+
+create index idx_booking_not_cancelled_window
+    on bookings (check_out_date, check_in_date, id)
+    where status <> 'CANCELLED';
+
+create index idx_booking_stay_range_gist
+    on bookings using gist (daterange(check_in_date, check_out_date))
+    where status <> 'CANCELLED';
+
+create index idx_booking_pending_created
+    on bookings (created_at)
+    where status = 'PENDING';
+
+-- booking_beds (index V2 recréés) : lits d'une réservation, réservations d'un lit par fenêtre d'arrivée
+create index idx_booking_beds_booking_bed on booking_beds (booking_id, bed_id);
+create index idx_booking_beds_bed_check_in on booking_beds (bed_id, check_in_date, booking_id);
+
+-- Les partitions existantes ont été créées avant les index
+select name_partition_indexes(inhrelid::regclass)
+from pg_inherits
+where inhparent in ('bookings'::regclass, 'booking_beds'::regclass);
+
+analyze bookings;
+analyze booking_beds;
+analyze booking_services;
@@ -0,0 +1,37 @@
+-- Statistiques pré-agrégées d'occupation et de chiffre d'affaires (BookingStatsService).
+--
+-- Une ligne par (nuit, type de chambre) et par (mois, type de chambre) : les tableaux de bord
+-- lisent O(jours) lignes au lieu de parcourir bookings. Les réservations non annulées
+-- (tables chaudes et archive) y contribuent :
+-- - arrivals / pack_arrivals : réservations arrivant ce jour (ce mois), dont avec pack ;
+-- - bed_nights / pack_bed_nights : nuitées-lit occupées, dont avec pack ;
+-- - revenue / pack_revenue : total_price réparti par nuit (l'arrondi sur la première nuit).
+--
+-- Depuis V10, alimentées par la projection booking-stats (BookingStatsProjection) à partir du
+-- journal booking_events, historique compris (événements IMPORTED) ; reconstruites entièrement
+-- par POST /api/admin/projections/booking-stats/replay.
+
+create table booking_stats_daily (
+    stay_date date not null,
+    room_type varchar(20) not null,
+    arrivals integer not null default 0,
+    pack_arrivals integer not null default 0,
+    bed_nights integer not null default 0,
+    pack_bed_nights integer not null default 0,
+    revenue numeric(14,2) not null default 0,
+    pack_revenue numeric(14,2) not null default 0,
+    primary key (stay_date, room_type)
+);
+
+create table booking_stats_monthly (
+    month date not null,
+    room_type varchar(20) not null,
+    arrivals integer not null default 0,
+    pack_arrivals integer not null default 0,
+    bed_nights integer not null default 0,
+    pack_bed_nights integer not null default 0,
+    revenue numeric(14,2) not null default 0,
+    pack_revenue numeric(14,2) not null default 0,
+    primary key (month, room_type),
+    constraint chk_booking_stats_month check (month = date_trunc('month', month)::date)
+);
@@ -0,0 +1,54 @@
+-- Recherche clients indexée (GuestSearchRepository), tables chaudes et archive :
+-- - nom : trigrammes pg_trgm (GIN), tolérant aux fautes de frappe et classé par similarité ;
+-- - téléphone : colonne générée guest_phone_normalized au format E.164 (normalize_phone),
+--   indexée en trigrammes pour les recherches sur une partie du numéro ;
+-- - email : index fonctionnel lower(guest_email).
+
+create extension if not exists pg_trgm;
+
+-- Format E.164 : séparateurs retirés, 00 → +, numéro national (0… ou 9 chiffres au plus) → +212.
+-- Appelée aussi sur le texte recherché, pour comparer des numéros normalisés des deux côtés.
+create or replace function normalize_phone(phone text)
+returns text
+language sql
+immutable
+strict
+as $$
+    select case
+        when digits = '' then null
+        when phone ~ '^\s*\+' then '+' || digits
+        when digits like '00%' then '+' || substr(digits, 3)
+        when digits like '0%' then '+212' || substr(digits, 2)
+        when length(digits) <= 9 then '+212' || digits
+        else '+' || digits
+    end
+    from (select regexp_replace(phone, '[^0-9]', '', 'g') as digits) d
+$$;
+
+-- ========== RÉSERVATIONS (partitionnées, V6) ==========
+
+alter table bookings
+    add column guest_phone_normalized varchar(24)
+        generated always as (normalize_phone(guest_phone)) stored;
+
+create index idx_booking_guest_name_trgm on bookings using gin (guest_name gin_trgm_ops);
+create index idx_booking_guest_phone_trgm on bookings using gin (guest_phone_normalized gin_trgm_ops);
+create index idx_booking_guest_email_lower on bookings (lower(guest_email));
+
+-- Index des partitions nommés comme les autres (<index parent>_<suffixe>)
+select name_partition_indexes(inhrelid::regclass)
+from pg_inherits
+where inhparent = 'bookings'::regclass;
+
+-- ========== ARCHIVE (V5) ==========
+
+alter table bookings_archive
+    add column guest_phone_normalized varchar(24)
+        generated always as (normalize_phone(guest_phone)) stored;
+
+create index idx_booking_archive_guest_name_trgm on bookings_archive using gin (guest_name gin_trgm_ops);
+create index idx_booking_archive_guest_phone_trgm on bookings_archive using gin (guest_phone_normalized gin_trgm_ops);
+create index idx_booking_archive_guest_email_lower on bookings_archive (lower(guest_email));
+
+analyze bookings;
+analyze bookings_archive;
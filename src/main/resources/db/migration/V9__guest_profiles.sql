@@ -0,0 +1,59 @@
+-- Profils clients dédoublonnés (GuestProfileService) : une ligne par email normalisé
+-- (lower/trim), avec l'historique pré-calculé sur les réservations chaudes et archivées.
+-- Le téléphone (normalize_phone, V8) est indexé pour la recherche mais ne fusionne pas les
+-- profils : un même numéro est souvent partagé par une famille ou un groupe réservant sous
+-- des emails distincts. Plusieurs profils peuvent donc partager un numéro.
+-- - booking_count / nights / lifetime_value / first_stay / last_stay : réservations non annulées ;
+-- - completed_stays : séjours terminés (CHECKED_OUT) ; cancelled_count : annulations ;
+-- - guest_name / phone_normalized : ceux de la réservation la plus récente.
+--
+-- Recalculé pour le client concerné après chaque création ou changement de statut de ses
+-- réservations (depuis V10 : projection guest-profiles du journal booking_events) ; rempli ici
+-- pour l'historique existant.
+
+create table guest_profiles (
+    id bigserial primary key,
+    email varchar(100) not null,
+    guest_name varchar(100) not null,
+    phone_normalized varchar(24),
+    booking_count integer not null default 0,
+    completed_stays integer not null default 0,
+    cancelled_count integer not null default 0,
+    nights integer not null default 0,
+    lifetime_value numeric(14,2) not null default 0,
+    first_stay date,
+    last_stay date,
+    last_booked_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint uk_guest_profile_email unique (email)
+);
+
+create index idx_guest_profile_phone on guest_profiles (phone_normalized);
+
+insert into guest_profiles (email, guest_name, phone_normalized, booking_count, completed_stays,
+                            cancelled_count, nights, lifetime_value, first_stay, last_stay,
+                            last_booked_at, updated_at)
+select s.email,
+       (array_agg(s.guest_name order by s.created_at desc))[1],
+       (array_agg(s.guest_phone_normalized order by s.created_at desc))[1],
+       count(*) filter (where s.status <> 'CANCELLED'),
+       count(*) filter (where s.status = 'CHECKED_OUT'),
+       count(*) filter (where s.status = 'CANCELLED'),
+       coalesce(sum(s.check_out_date - s.check_in_date) filter (where s.status <> 'CANCELLED'), 0),
+       coalesce(sum(s.total_price) filter (where s.status <> 'CANCELLED'), 0),
+       min(s.check_in_date) filter (where s.status <> 'CANCELLED'),
+       max(s.check_in_date) filter (where s.status <> 'CANCELLED'),
+       max(s.created_at),
+       now()
+from (
+    select lower(trim(guest_email)) as email, guest_name, guest_phone_normalized, check_in_date,
+           check_out_date, total_price, status, created_at
+    from bookings
+    union all
+    select lower(trim(guest_email)), guest_name, guest_phone_normalized, check_in_date,
+           check_out_date, total_price, status, created_at
+    from bookings_archive
+) s
+group by s.email;
+
+analyze guest_profiles;
@@ -0,0 +1,156 @@
+package com.hostel.management.perf;
+
+import com.hostel.management.security.JwtTokenProvider;
+import com.hostel.management.service.EmailService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de charge de l'API de réservation sur un jeu de données synthétique
+ * (~35 000 réservations sur 2 ans) dans un PostgreSQL embarqué, sans accès réseau.
+ *
+ * Lancement : mvn test -Pperf -Dtest=BookingApiLoadTest
+ * Paramètres : -Dload.iterations=2000 -Dload.concurrency=16 -Dload.seed=42
+ * Rapport : target/load-test/booking-api.txt (latences, débit, répartition 2xx/4xx/5xx/timeouts)
+ * et instantané des métriques applicatives dans target/load-test/metrics.prom
+ */
+@Slf4j
+@Tag("perf")
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingApiLoadTest {
+
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+
+    private static EmbeddedPostgres postgres;
+    private static SyntheticDataGenerator generator;
+    private static SyntheticDataGenerator.Settings settings;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    // Pas d'appel à l'API Brevo pendant la charge
+    @MockitoBean
+    private EmailService emailService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        settings = SyntheticDataGenerator.Settings.builder().seed(SEED).build();
+        generator = new SyntheticDataGenerator(new JdbcTemplate(dataSource), settings);
+        SyntheticDataGenerator.Summary summary = generator.generate();
+        assertThat(summary.bookings()).isGreaterThan(10_000);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void bookingApiUnderLoad() throws Exception {
+        LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port, CONCURRENCY);
+        String token = "Bearer " + jwtTokenProvider.generateToken(generator.getUserEmails().get(0));
+
+        LocalDate today = LocalDate.now();
+        List<Long> dormRooms = generator.getDormitoryRoomIds();
+        List<Long> privateRooms = generator.getPrivateRoomIds();
+        List<Long> dormBeds = generator.getDormitoryBedIds();
+        int warmup = Math.max(20, ITERATIONS / 10);
+
+        harness.run("GET /api/rooms/available", warmup, ITERATIONS, i -> {
+            LocalDate checkIn = today.plusDays(i % 120);
+            return harness.get("/api/rooms/available?checkIn=" + checkIn + "&checkOut=" + checkIn.plusDays(1 + i % 5));
+        });
+
+        harness.run("GET /api/rooms/{id}/availability", warmup, ITERATIONS, i -> {
+            long roomId = (i % 2 == 0)
+                    ? dormRooms.get(i % dormRooms.size())
+                    : privateRooms.get(i % privateRooms.size());
+            LocalDate checkIn = today.plusDays(i % 150);
+            return harness.get("/api/rooms/" + roomId + "/availability?checkIn=" + checkIn
+                    + "&checkOut=" + checkIn.plusDays(1 + i % 4));
+        });
+
+        // Dates au-delà de l'horizon généré pour obtenir majoritairement des créations ;
+        // les collisions entre workers ressortent en 409
+        int firstFreeDay = settings.getDaysAhead() + 2;
+        harness.run("POST /api/bookings", warmup, ITERATIONS, i -> {
+            LocalDate checkIn = today.plusDays(firstFreeDay + (i * 7L) % (360 - firstFreeDay));
+            long bedId = dormBeds.get((i * 31) % dormBeds.size());
+            String json = """
+                    {"guestName":"Load Guest %d","guestEmail":"load%d@example.com","guestPhone":"+212600%06d",
+                     "checkInDate":"%s","checkOutDate":"%s","bedIds":[%d],"numberOfPersons":1}
+                    """.formatted(i, i, i, checkIn, checkIn.plusDays(1 + i % 3), bedId);
+            return harness.postJson("/api/bookings", json);
+        });
+
+        harness.run("GET /api/admin/bookings/checkins", warmup, ITERATIONS,
+                i -> harness.get("/api/admin/bookings/checkins").header("Authorization", token));
+
+        harness.run("GET /api/admin/bookings/checkouts", warmup, ITERATIONS,
+                i -> harness.get("/api/admin/bookings/checkouts").header("Authorization", token));
+
+        // Liste complète de l'historique : quelques itérations suffisent à mesurer son coût
+        int fullListIterations = Math.max(5, ITERATIONS / 200);
+        harness.run("GET /api/admin/bookings", 2, fullListIterations,
+                i -> harness.get("/api/admin/bookings").header("Authorization", token));
+
+        harness.writeReport(Path.of("target", "load-test", "booking-api.txt"));
+        harness.saveBody("/actuator/prometheus", Path.of("target", "load-test", "metrics.prom"));
+        log.info("Charge de l'API réservations :\n{}", harness.report());
+
+        // Instrumentation SQL par requête (en-têtes actifs hors production)
+        HttpResponse<Void> probe = HttpClient.newHttpClient().send(
+                harness.get("/api/rooms/" + dormRooms.get(0) + "/availability?checkIn=" + today.plusDays(3)
+                        + "&checkOut=" + today.plusDays(5)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(probe.headers().firstValue("X-SQL-Count")).isPresent();
+        assertThat(probe.headers().firstValue("X-SQL-Time-Ms")).isPresent();
+
+        // Les lectures ne doivent jamais échouer ; les échecs d'écriture (conflits de sérialisation,
+        // délais dépassés) sont des mesures du rapport, pas des erreurs du harnais
+        assertThat(harness.results())
+                .filteredOn(result -> result.name().startsWith("GET"))
+                .allSatisfy(result -> assertThat(result.serverErrors()).isZero());
+    }
+}
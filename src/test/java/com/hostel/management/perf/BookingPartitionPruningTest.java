@@ -0,0 +1,166 @@
+package com.hostel.management.perf;
+
+import com.hostel.management.repository.BedRepository;
+import com.hostel.management.repository.BookingRepository;
+import com.hostel.management.repository.RoomRepository;
+import com.hostel.management.service.EmailService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Élagage des partitions mensuelles de bookings (V6) sur le jeu de données synthétique.
+ *
+ * Pour chaque requête de disponibilité, le SQL réellement émis par Hibernate (et ses paramètres)
+ * est capturé puis rejoué sous EXPLAIN ANALYZE : le plan ne doit parcourir que les partitions
+ * de la fenêtre [checkIn - Booking.MAX_NIGHTS, checkOut[. Les latences moyennes sont mesurées
+ * sur les méthodes de repository.
+ *
+ * Lancement : mvn test -Pperf -Dtest=BookingPartitionPruningTest
+ * Rapport : target/load-test/partition-pruning.txt (plans et latences)
+ */
+@Slf4j
+@Tag("perf")
+@ActiveProfiles("perf")
+@SpringBootTest
+class BookingPartitionPruningTest {
+
+    private static final int ITERATIONS = Integer.getInteger("pruning.iterations", 200);
+
+    // Fenêtre de 90 nuits + séjour : au plus 5 mois d'arrivée, par table
+    private static final int MAX_SCANNED_PARTITIONS = 5;
+
+    private static EmbeddedPostgres postgres;
+    private static SyntheticDataGenerator generator;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource raw = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(raw).locations("classpath:db/migration").load().migrate();
+
+        generator = new SyntheticDataGenerator(new JdbcTemplate(raw),
+                SyntheticDataGenerator.Settings.builder().seed(42L).build());
+        generator.generate();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void overlapQueriesPruneBookingPartitions() throws Exception {
+        QueryCapture capture = QueryCapture.attach(dataSource);
+
+        int totalPartitions = new JdbcTemplate(postgres.getPostgresDatabase()).queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = 'bookings'::regclass", Integer.class);
+
+        LocalDate checkIn = LocalDate.now().plusDays(45);
+        LocalDate checkOut = checkIn.plusDays(3);
+        long bedId = generator.getDormitoryBedIds().get(0);
+        long roomId = generator.getDormitoryRoomIds().get(0);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("BookingRepository.findOverlappingBookingsForBed",
+                        () -> bookingRepository.findOverlappingBookingsForBed(bedId, checkIn, checkOut)),
+                new Scenario("BookingRepository.findOverlappingBookingsForRoom",
+                        () -> bookingRepository.findOverlappingBookingsForRoom(roomId, checkIn, checkOut)),
+                new Scenario("BookingRepository.countOccupiedBedsInPeriod",
+                        () -> bookingRepository.countOccupiedBedsInPeriod(checkIn, checkOut)),
+                new Scenario("RoomRepository.findAvailableRooms",
+                        () -> roomRepository.findAvailableRooms(checkIn, checkOut)),
+                new Scenario("BedRepository.findAvailableBedsByRoomAndDates",
+                        () -> bedRepository.findAvailableBedsByRoomAndDates(roomId, checkIn, checkOut)));
+
+        StringBuilder report = new StringBuilder()
+                .append("Élagage des partitions de bookings : séjour ").append(checkIn).append(" → ").append(checkOut)
+                .append(", ").append(totalPartitions).append(" partitions\n\n");
+        List<String> failures = new ArrayList<>();
+
+        for (Scenario scenario : scenarios) {
+            capture.clear();
+            scenario.query().run();
+            QueryInfo query = capture.first("bookings");
+            assertThat(query).as(scenario.name()).isNotNull();
+
+            String plan = QueryCapture.explain(postgres.getPostgresDatabase(), query,
+                    "ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF");
+            Map<String, Set<String>> scanned = QueryCapture.scannedPartitions(plan);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                scenario.query().run();
+            }
+            double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+
+            report.append("== ").append(scenario.name()).append('\n')
+                    .append(String.format("partitions parcourues (sur %d par table) : %s%n", totalPartitions, scanned))
+                    .append(String.format("latence moyenne : %.2f ms (%d appels)%n", avgMillis, ITERATIONS))
+                    .append(plan).append('\n');
+
+            boolean pruned = scanned.containsKey("bookings")
+                    && scanned.values().stream().allMatch(partitions -> partitions.size() <= MAX_SCANNED_PARTITIONS);
+            if (!pruned) {
+                failures.add(scenario.name() + " : " + scanned);
+            }
+        }
+
+        Path file = Path.of("target", "load-test", "partition-pruning.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        log.info("Élagage des partitions :\n{}", report);
+
+        assertThat(failures).as("requêtes sans élagage suffisant").isEmpty();
+    }
+
+    private record Scenario(String name, Runnable query) {
+    }
+}
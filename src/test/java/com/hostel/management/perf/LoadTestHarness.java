@@ -0,0 +1,193 @@
+package com.hostel.management.perf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Harnais de charge HTTP : exécute des scénarios nommés avec un nombre fixe de workers
+ * concurrents, après une phase de chauffe, et rapporte p50 / p99 / max et le débit.
+ *
+ * Chaque scénario reçoit l'index de l'itération pour construire une requête déterministe
+ * (dates, lits, chambres tirés du jeu de données généré).
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final int concurrency;
+    private Duration requestTimeout = Duration.ofSeconds(30);
+    private final Map<String, Result> results = new LinkedHashMap<>();
+
+    public LoadTestHarness(String baseUrl, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @param name       nom du scénario dans le rapport
+     * @param warmup     nombre de requêtes de chauffe (non mesurées)
+     * @param iterations nombre de requêtes mesurées
+     * @param request    fabrique de requête à partir de l'index d'itération
+     */
+    public Result run(String name, int warmup, int iterations,
+                      IntFunction<HttpRequest.Builder> request) throws InterruptedException {
+        execute(warmup, request, null);
+
+        long[] latencies = new long[iterations];
+        Result.Counters counters = new Result.Counters();
+        long start = System.nanoTime();
+        execute(iterations, request, (i, nanos, status) -> {
+            latencies[i] = nanos;
+            counters.record(status);
+        });
+        long elapsed = System.nanoTime() - start;
+
+        Result result = Result.of(name, latencies, elapsed, counters);
+        results.put(name, result);
+        log.info("{}", result.format());
+        return result;
+    }
+
+    public LoadTestHarness requestTimeout(Duration timeout) {
+        this.requestTimeout = timeout;
+        return this;
+    }
+
+    public HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .GET();
+    }
+
+    public HttpRequest.Builder postJson(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %8s %10s %10s %10s %10s %8s %8s %8s %8s%n",
+                "scenario", "requests", "p50 (ms)", "p99 (ms)", "max (ms)", "req/s", "2xx", "4xx", "5xx", "timeout"));
+        results.values().forEach(r -> sb.append(r.format()).append('\n'));
+        return sb.toString();
+    }
+
+    public void writeReport(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report());
+    }
+
+    /**
+     * Enregistre la réponse d'un GET (ex. /actuator/prometheus en fin de campagne).
+     */
+    public void saveBody(String path, Path file) throws IOException, InterruptedException {
+        Files.createDirectories(file.getParent());
+        client.send(get(path).build(), HttpResponse.BodyHandlers.ofFile(file));
+    }
+
+    private interface Sample {
+        void record(int index, long nanos, int status);
+    }
+
+    private void execute(int count, IntFunction<HttpRequest.Builder> request, Sample sample)
+            throws InterruptedException {
+        if (count <= 0) return;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    long t0 = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request.apply(i).build(), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                    } catch (IOException e) {
+                        // Délai dépassé ou connexion refusée
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (sample != null) {
+                        sample.record(i, System.nanoTime() - t0, status);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+
+    public record Result(String name, int requests, double p50Millis, double p99Millis, double maxMillis,
+                         double throughput, int ok, int clientErrors, int serverErrors, int transportErrors) {
+
+        static Result of(String name, long[] latencies, long elapsedNanos, Counters counters) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Result(name, sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                    sorted.length / (elapsedNanos / 1_000_000_000.0),
+                    counters.ok.get(), counters.clientErrors.get(), counters.serverErrors.get(),
+                    counters.transportErrors.get());
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+        }
+
+        String format() {
+            return String.format("%-32s %8d %10.2f %10.2f %10.2f %10.1f %8d %8d %8d %8d",
+                    name, requests, p50Millis, p99Millis, maxMillis, throughput,
+                    ok, clientErrors, serverErrors, transportErrors);
+        }
+
+        static class Counters {
+            private final AtomicInteger ok = new AtomicInteger();
+            private final AtomicInteger clientErrors = new AtomicInteger();
+            private final AtomicInteger serverErrors = new AtomicInteger();
+            private final AtomicInteger transportErrors = new AtomicInteger();
+
+            void record(int status) {
+                if (status < 0) transportErrors.incrementAndGet();
+                else if (status >= 200 && status < 300) ok.incrementAndGet();
+                else if (status >= 400 && status < 500) clientErrors.incrementAndGet();
+                else serverErrors.incrementAndGet();
+            }
+        }
+    }
+
+    public List<Result> results() {
+        return new ArrayList<>(results.values());
+    }
+}
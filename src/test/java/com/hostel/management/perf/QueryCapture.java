@@ -0,0 +1,105 @@
+package com.hostel.management.perf;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Garde les requêtes exécutées par la DataSource applicative (SQL réellement généré par
+ * Hibernate + paramètres liés) pour les rejouer sous EXPLAIN sur une connexion directe.
+ */
+public final class QueryCapture implements QueryExecutionListener {
+
+    private static final Pattern PARTITION =
+            Pattern.compile("\\bon ((bookings|booking_beds)_(?:\\d{4}_\\d{2}|default))\\b");
+
+    private final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+
+    private QueryCapture() {
+    }
+
+    /**
+     * Branche la capture sur la DataSource du contexte (enveloppée par SqlStatsDataSourceConfig).
+     */
+    public static QueryCapture attach(DataSource dataSource) {
+        QueryCapture capture = new QueryCapture();
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+        return capture;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        queries.addAll(queryInfoList);
+    }
+
+    public void clear() {
+        queries.clear();
+    }
+
+    /**
+     * Première requête capturée portant sur la table donnée, ou null.
+     */
+    public QueryInfo first(String table) {
+        return queries.stream()
+                .filter(q -> Arrays.stream(q.getQuery().split("\\s+")).anyMatch(table::equals))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Rejoue la requête sous EXPLAIN (options entre parenthèses, ex. "ANALYZE, COSTS OFF")
+     * avec ses paramètres liés d'origine.
+     */
+    public static String explain(DataSource target, QueryInfo query, String options) throws SQLException {
+        try (Connection connection = target.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "EXPLAIN (" + options + ") " + query.getQuery())) {
+            if (!query.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                    Object[] args = operation.getArgs();
+                    statement.setObject((Integer) args[0], args[1]);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Partitions parcourues par table partitionnée (bookings, booking_beds).
+     */
+    public static Map<String, Set<String>> scannedPartitions(String plan) {
+        Map<String, Set<String>> partitions = new TreeMap<>();
+        Matcher matcher = PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.computeIfAbsent(matcher.group(2), table -> new TreeSet<>()).add(matcher.group(1));
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,364 @@
+package com.hostel.management.perf;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Générateur de données synthétiques reproductible (même graine = même jeu de données).
+ *
+ * Produit des chambres des trois types, leurs lits, des services, des packs avec grille
+ * de prix par nuits, des utilisateurs et des réservations sans chevauchement par lit,
+ * réparties entre le passé (CHECKED_OUT), le présent (CHECKED_IN) et le futur (CONFIRMED).
+ *
+ * Les insertions passent par JDBC en batch avec des identifiants explicites,
+ * les séquences d'identité sont recalées à la fin.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String USER_PASSWORD = "LoadTest2026!";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] FIRST_NAMES = {
+            "Yassine", "Sara", "Lucas", "Emma", "Omar", "Lina", "Noah", "Inès", "Adam", "Léa",
+            "Mehdi", "Chloé", "Hugo", "Amina", "Jonas", "Mia", "Karim", "Zoé", "Ethan", "Nora"
+    };
+    private static final String[] LAST_NAMES = {
+            "Benali", "Martin", "Schmidt", "Garcia", "El Idrissi", "Dubois", "Rossi", "Smith",
+            "Haddad", "Müller", "Lopez", "Bernard", "Alaoui", "Novak", "Jensen", "Costa"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final Settings settings;
+    private final Random random;
+
+    @Getter
+    private final List<Long> dormitoryRoomIds = new ArrayList<>();
+    @Getter
+    private final List<Long> privateRoomIds = new ArrayList<>();
+    @Getter
+    private final List<Long> dormitoryBedIds = new ArrayList<>();
+    @Getter
+    private final List<String> userEmails = new ArrayList<>();
+    @Getter
+    private final List<String> bookingReferences = new ArrayList<>();
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc, Settings settings) {
+        this.jdbc = jdbc;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    @Getter
+    @Builder
+    public static class Settings {
+        @Builder.Default private long seed = 42L;
+        @Builder.Default private int dormitories = 20;
+        @Builder.Default private int singleRooms = 15;
+        @Builder.Default private int doubleRooms = 15;
+        @Builder.Default private int users = 25;
+        @Builder.Default private int services = 12;
+        @Builder.Default private int packs = 4;
+        /** Historique généré avant aujourd'hui (jours) */
+        @Builder.Default private int daysBack = 540;
+        /** Réservations futures déjà prises (jours) */
+        @Builder.Default private int daysAhead = 190;
+        /** Taux d'occupation cible par lit, entre 0 et 1 */
+        @Builder.Default private double occupancy = 0.75;
+        @Builder.Default private double cancellationRate = 0.06;
+    }
+
+    public Summary generate() {
+        long start = System.currentTimeMillis();
+
+        insertUsers();
+        List<Long> serviceIds = insertServices();
+        List<Long> packIds = insertPacks();
+        List<RoomRow> rooms = insertRoomsAndBeds();
+        int bookings = insertBookings(rooms, serviceIds, packIds);
+
+        for (String table : List.of("users", "services", "packs", "pack_night_prices", "rooms", "beds", "bookings")) {
+            jdbc.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)");
+        }
+        jdbc.execute("ANALYZE");
+
+        Summary summary = new Summary(rooms.size(), countBeds(rooms), bookings, userEmails.size(),
+                System.currentTimeMillis() - start);
+        log.info("Jeu de données synthétique généré: {}", summary);
+        return summary;
+    }
+
+    public record Summary(int rooms, int beds, int bookings, int users, long durationMs) {
+    }
+
+    // ========== UTILISATEURS ==========
+
+    private void insertUsers() {
+        // Un seul hash BCrypt pour tous les comptes : le coût BCrypt dominerait sinon la génération
+        String hash = new BCryptPasswordEncoder().encode(USER_PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getUsers(); i++) {
+            String email = "staff" + i + "@loadtest.local";
+            userEmails.add(email);
+            rows.add(new Object[]{(long) i, email, hash, "Staff " + i, "+2126000000" + (i % 10),
+                    true, 0, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, email, password, full_name, phone, enabled, " +
+                "failed_login_attempts, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // ========== SERVICES & PACKS ==========
+
+    private List<Long> insertServices() {
+        String[] categories = {"TRANSPORT", "MEAL", "ACTIVITY", "OTHER"};
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getServices(); i++) {
+            String category = categories[i % categories.length];
+            boolean perNight = category.equals("MEAL") || category.equals("ACTIVITY");
+            rows.add(new Object[]{(long) i, "Service " + i, "Service synthétique " + i,
+                    BigDecimal.valueOf(5 + random.nextInt(40)), category,
+                    perNight ? "PER_NIGHT" : "FIXED",
+                    category.equals("TRANSPORT") ? "PER_ROOM" : "PER_PERSON",
+                    true, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            ids.add((long) i);
+        }
+        jdbc.batchUpdate("INSERT INTO services (id, name, description, price, category, price_type, " +
+                "pricing_type, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private List<Long> insertPacks() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> packRows = new ArrayList<>();
+        List<Object[]> priceRows = new ArrayList<>();
+        List<Object[]> featureRows = new ArrayList<>();
+        long priceId = 1;
+        for (int p = 1; p <= settings.getPacks(); p++) {
+            packRows.add(new Object[]{(long) p, "Pack " + p, "Pack synthétique " + p,
+                    BigDecimal.valueOf(15), true, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            ids.add((long) p);
+            for (String roomType : List.of("DORTOIR", "SINGLE", "DOUBLE")) {
+                int base = switch (roomType) {
+                    case "DORTOIR" -> 35;
+                    case "SINGLE" -> 60;
+                    default -> 75;
+                };
+                for (int nights = 3; nights <= 10; nights++) {
+                    BigDecimal regular = BigDecimal.valueOf((long) base * nights);
+                    BigDecimal promo = regular.multiply(new BigDecimal("0.85"));
+                    priceRows.add(new Object[]{priceId++, (long) p, nights, roomType, promo, regular});
+                }
+            }
+            featureRows.add(new Object[]{(long) p, "Cours de surf quotidien"});
+            featureRows.add(new Object[]{(long) p, "Petit-déjeuner inclus"});
+        }
+        jdbc.batchUpdate("INSERT INTO packs (id, name, description, extra_person_price_per_night, " +
+                "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", packRows);
+        jdbc.batchUpdate("INSERT INTO pack_night_prices (id, pack_id, nights, room_type, promo_price, " +
+                "regular_price) VALUES (?, ?, ?, ?, ?, ?)", priceRows);
+        jdbc.batchUpdate("INSERT INTO pack_features (pack_id, feature) VALUES (?, ?)", featureRows);
+        return ids;
+    }
+
+    // ========== CHAMBRES & LITS ==========
+
+    private record RoomRow(long id, String roomType, BigDecimal pricePerNight, List<Long> bedIds) {
+    }
+
+    private List<RoomRow> insertRoomsAndBeds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomRow> rooms = new ArrayList<>();
+        List<Object[]> roomRows = new ArrayList<>();
+        List<Object[]> photoRows = new ArrayList<>();
+        List<Object[]> bedRows = new ArrayList<>();
+        long roomId = 1;
+        long bedId = 1;
+
+        List<String> types = new ArrayList<>();
+        for (int i = 0; i < settings.getDormitories(); i++) types.add("DORTOIR");
+        for (int i = 0; i < settings.getSingleRooms(); i++) types.add("SINGLE");
+        for (int i = 0; i < settings.getDoubleRooms(); i++) types.add("DOUBLE");
+
+        for (String type : types) {
+            int beds = switch (type) {
+                case "DORTOIR" -> 8;
+                case "SINGLE" -> 2;
+                default -> 1;
+            };
+            BigDecimal price = switch (type) {
+                case "DORTOIR" -> BigDecimal.valueOf(18 + random.nextInt(8));
+                case "SINGLE" -> BigDecimal.valueOf(40 + random.nextInt(15));
+                default -> BigDecimal.valueOf(55 + random.nextInt(20));
+            };
+            roomRows.add(new Object[]{roomId, String.valueOf(100 + roomId), type, "Chambre synthétique",
+                    price, true, false, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            for (int ph = 1; ph <= 3; ph++) {
+                photoRows.add(new Object[]{roomId,
+                        "https://res.cloudinary.com/demo/image/upload/shamshouse/rooms/" + roomId + "_" + ph + ".jpg"});
+            }
+            List<Long> roomBeds = new ArrayList<>();
+            for (int b = 1; b <= beds; b++) {
+                bedRows.add(new Object[]{bedId, roomId, String.valueOf(b), true, false,
+                        Timestamp.valueOf(now), Timestamp.valueOf(now)});
+                roomBeds.add(bedId);
+                if (type.equals("DORTOIR")) dormitoryBedIds.add(bedId);
+                bedId++;
+            }
+            rooms.add(new RoomRow(roomId, type, price, roomBeds));
+            (type.equals("DORTOIR") ? dormitoryRoomIds : privateRoomIds).add(roomId);
+            roomId++;
+        }
+
+        jdbc.batchUpdate("INSERT INTO rooms (id, room_number, room_type, description, price_per_night, " +
+                "is_active, deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", roomRows);
+        jdbc.batchUpdate("INSERT INTO room_photos (room_id, photo_url) VALUES (?, ?)", photoRows);
+        jdbc.batchUpdate("INSERT INTO beds (id, room_id, bed_number, is_available, deleted, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", bedRows);
+        return rooms;
+    }
+
+    private int countBeds(List<RoomRow> rooms) {
+        return rooms.stream().mapToInt(r -> r.bedIds().size()).sum();
+    }
+
+    // ========== RÉSERVATIONS ==========
+
+    /**
+     * Parcourt la ligne de temps de chaque lit (dortoir) ou de chaque chambre (privée) :
+     * alternance séjour / trou calibrée sur le taux d'occupation, donc aucun chevauchement.
+     */
+    private int insertBookings(List<RoomRow> rooms, List<Long> serviceIds, List<Long> packIds) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(settings.getDaysBack());
+        LocalDate end = today.plusDays(settings.getDaysAhead());
+
+        // Partitions mensuelles de bookings (V6) couvrant tout l'historique généré
+        jdbc.queryForObject("SELECT ensure_booking_partitions(?, ?)", Integer.class,
+                Date.valueOf(start), Date.valueOf(end.plusMonths(1)));
+
+        BookingBatch batch = new BookingBatch();
+        long bookingId = 1;
+
+        for (RoomRow room : rooms) {
+            List<List<Long>> timelines = new ArrayList<>();
+            if (room.roomType().equals("DORTOIR")) {
+                room.bedIds().forEach(id -> timelines.add(List.of(id)));
+            } else {
+                timelines.add(room.bedIds());
+            }
+
+            for (List<Long> bedIds : timelines) {
+                LocalDate cursor = start.plusDays(random.nextInt(5));
+                while (cursor.isBefore(end)) {
+                    int nights = 1 + (int) Math.min(13, Math.round(-Math.log(1 - random.nextDouble()) * 3));
+                    LocalDate checkIn = cursor;
+                    LocalDate checkOut = checkIn.plusDays(nights);
+                    if (checkOut.isAfter(end)) break;
+
+                    addBooking(batch, bookingId++, room, bedIds, checkIn, checkOut, today, serviceIds, packIds);
+                    if (batch.size() >= BATCH_SIZE) batch.flush();
+
+                    double meanGap = nights * (1 - settings.getOccupancy()) / settings.getOccupancy();
+                    int gap = (int) Math.round(-Math.log(1 - random.nextDouble()) * meanGap);
+                    cursor = checkOut.plusDays(gap);
+                }
+            }
+        }
+        batch.flush();
+        return (int) (bookingId - 1);
+    }
+
+    private void addBooking(BookingBatch batch, long id, RoomRow room, List<Long> bedIds,
+                            LocalDate checkIn, LocalDate checkOut, LocalDate today,
+                            List<Long> serviceIds, List<Long> packIds) {
+        int nights = (int) (checkOut.toEpochDay() - checkIn.toEpochDay());
+        String status;
+        String payment;
+        if (random.nextDouble() < settings.getCancellationRate()) {
+            status = "CANCELLED";
+            payment = "UNPAID";
+        } else if (!checkOut.isAfter(today)) {
+            status = "CHECKED_OUT";
+            payment = "PAID";
+        } else if (!checkIn.isAfter(today)) {
+            status = "CHECKED_IN";
+            payment = random.nextBoolean() ? "PAID" : "PARTIAL";
+        } else {
+            status = random.nextDouble() < 0.1 ? "PENDING" : "CONFIRMED";
+            payment = "UNPAID";
+        }
+
+        int persons = room.roomType().equals("SINGLE") ? 1 + random.nextInt(2) : 1;
+        Long packId = (nights >= 3 && nights <= 10 && random.nextDouble() < 0.12)
+                ? packIds.get(random.nextInt(packIds.size())) : null;
+        BigDecimal total = room.pricePerNight()
+                .multiply(BigDecimal.valueOf(nights))
+                .multiply(BigDecimal.valueOf(room.roomType().equals("DORTOIR") ? bedIds.size() : 1));
+
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        int guestNumber = random.nextInt(15_000);
+        String reference = "BK-GEN-" + id;
+        LocalDateTime createdAt = checkIn.minusDays(1 + random.nextInt(60)).atTime(10, 0);
+
+        batch.bookings.add(new Object[]{id, first + " " + last,
+                "guest" + guestNumber + "@example.com",
+                "+2126" + String.format("%08d", guestNumber * 37 % 100_000_000),
+                Date.valueOf(checkIn), Date.valueOf(checkOut), total, persons, status, payment,
+                String.format("%07d", id), reference, packId, Timestamp.valueOf(createdAt),
+                Timestamp.valueOf(createdAt), 0L});
+        for (Long bedId : bedIds) {
+            batch.bookingBeds.add(new Object[]{id, bedId, Date.valueOf(checkIn)});
+        }
+        if (packId == null && random.nextDouble() < 0.3) {
+            batch.bookingServices.add(new Object[]{id, serviceIds.get(random.nextInt(serviceIds.size())),
+                    Date.valueOf(checkIn)});
+        }
+        if (bookingReferences.size() < 5_000) {
+            bookingReferences.add(reference);
+        }
+    }
+
+    private class BookingBatch {
+        private final List<Object[]> bookings = new ArrayList<>();
+        private final List<Object[]> bookingBeds = new ArrayList<>();
+        private final List<Object[]> bookingServices = new ArrayList<>();
+
+        int size() {
+            return bookings.size();
+        }
+
+        void flush() {
+            if (bookings.isEmpty()) return;
+            jdbc.batchUpdate("INSERT INTO bookings (id, guest_name, guest_email, guest_phone, check_in_date, " +
+                    "check_out_date, total_price, number_of_persons, status, payment_status, access_code, " +
+                    "booking_reference, pack_id, created_at, updated_at, version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+            jdbc.batchUpdate("INSERT INTO booking_beds (booking_id, bed_id, check_in_date) VALUES (?, ?, ?)", bookingBeds);
+            if (!bookingServices.isEmpty()) {
+                jdbc.batchUpdate("INSERT INTO booking_services (booking_id, service_id, check_in_date) VALUES (?, ?, ?)",
+                        bookingServices);
+            }
+            bookings.clear();
+            bookingBeds.clear();
+            bookingServices.clear();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.hostel.management.ratelimit;
+
+import com.hostel.management.ratelimit.TokenBucketStore.Decision;
+import com.hostel.management.ratelimit.TokenBucketStore.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // Un jeton rendu par seconde
+    private static final Limit THREE_PER_THREE_SECONDS = new Limit(3, Duration.ofSeconds(3));
+
+    @Test
+    void aNewBucketAllowsABurstUpToCapacity() {
+        TokenBucketStore.Stripe stripe = new TokenBucketStore.Stripe(100);
+
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 0).remaining()).isEqualTo(2);
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 0).remaining()).isEqualTo(1);
+        Decision last = stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 0);
+        Decision refused = stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 0);
+
+        assertThat(last.allowed()).isTrue();
+        assertThat(last.remaining()).isZero();
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.resetSeconds()).isEqualTo(3);
+    }
+
+    @Test
+    void tokensRefillOnePerPeriodOverCapacity() {
+        TokenBucketStore.Stripe stripe = new TokenBucketStore.Stripe(100);
+        drain(stripe, "ip", THREE_PER_THREE_SECONDS, 0);
+
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, SECOND / 2).allowed()).isFalse();
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, SECOND).allowed()).isTrue();
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, SECOND).allowed()).isFalse();
+
+        // 2,5 jetons rendus en 2,5 s, jamais plus que la capacité
+        Decision partial = stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 7 * SECOND / 2);
+        assertThat(partial.allowed()).isTrue();
+        assertThat(partial.remaining()).isEqualTo(1);
+        assertThat(stripe.tryConsume("ip", THREE_PER_THREE_SECONDS, 60 * SECOND).remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void retryAfterIsTheDelayUntilTheNextToken() {
+        TokenBucketStore.Stripe stripe = new TokenBucketStore.Stripe(100);
+        Limit onePerMinute = new Limit(1, Duration.ofMinutes(1));
+        stripe.tryConsume("ip", onePerMinute, 0);
+
+        Decision refused = stripe.tryConsume("ip", onePerMinute, 0);
+        Decision almost = stripe.tryConsume("ip", onePerMinute, 59 * SECOND + SECOND / 2);
+
+        assertThat(refused.retryAfterSeconds()).isEqualTo(60);
+        assertThat(almost.allowed()).isFalse();
+        assertThat(almost.retryAfterSeconds()).isEqualTo(1);
+        assertThat(stripe.tryConsume("ip", onePerMinute, 60 * SECOND).retryAfterSeconds()).isZero();
+    }
+
+    @Test
+    void fullBucketsAreEvictedOnTheNextAccess() {
+        TokenBucketStore.Stripe stripe = new TokenBucketStore.Stripe(100);
+        stripe.tryConsume("a", THREE_PER_THREE_SECONDS, 0);
+        stripe.tryConsume("b", THREE_PER_THREE_SECONDS, 0);
+        drain(stripe, "c", THREE_PER_THREE_SECONDS, 0);
+
+        // a et b pleins après 1 s, c entamé jusqu'à 3 s
+        stripe.tryConsume("d", THREE_PER_THREE_SECONDS, 2 * SECOND);
+        assertThat(stripe.size()).isEqualTo(2);
+
+        stripe.tryConsume("d", THREE_PER_THREE_SECONDS, 3 * SECOND);
+        assertThat(stripe.size()).isEqualTo(1);
+    }
+
+    @Test
+    void theKeyCapDropsTheLeastRecentlyUsedBucket() {
+        TokenBucketStore.Stripe stripe = new TokenBucketStore.Stripe(2);
+        drain(stripe, "a", THREE_PER_THREE_SECONDS, 0);
+        drain(stripe, "b", THREE_PER_THREE_SECONDS, 0);
+        stripe.tryConsume("b", THREE_PER_THREE_SECONDS, 0);
+        stripe.tryConsume("c", THREE_PER_THREE_SECONDS, 0);
+
+        assertThat(stripe.size()).isEqualTo(2);
+        // a oublié : seau neuf, plein
+        assertThat(stripe.tryConsume("a", THREE_PER_THREE_SECONDS, 0).remaining()).isEqualTo(2);
+        assertThat(stripe.tryConsume("c", THREE_PER_THREE_SECONDS, 0).remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void theStoreBoundsItsTotalSize() {
+        TokenBucketStore store = new TokenBucketStore(4, 40);
+        for (int i = 0; i < 1_000; i++) {
+            store.tryConsume("ip:" + i, new Limit(1, Duration.ofHours(1)));
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void anEmptyLimitIsRejected() {
+        assertThatThrownBy(() -> new Limit(0, Duration.ofMinutes(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Limit(1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void drain(TokenBucketStore.Stripe stripe, String key, Limit limit, long now) {
+        for (int i = 0; i < limit.capacity(); i++) {
+            stripe.tryConsume(key, limit, now);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.perf.QueryCapture;
+import com.hostel.management.service.EmailService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Régression des plans d'exécution des requêtes de chevauchement sur 100 000 réservations.
+ * Chaque méthode de BookingRepository / BedRepository est appelée, le SQL généré par Hibernate
+ * (et ses paramètres) est capturé puis rejoué sous EXPLAIN.
+ *
+ * Depuis V6, bookings et booking_beds sont partitionnées par mois d'arrivée : les requêtes
+ * bornent check_in_date à [checkIn - Booking.MAX_NIGHTS, checkOut[ et le plan ne doit garder
+ * que les partitions de cette fenêtre. Les index des partitions portent le nom de l'index
+ * parent suffixé du mois.
+ *
+ * Lancement : mvn test -Pperf
+ */
+@Tag("perf")
+@ActiveProfiles("perf")
+@SpringBootTest
+class BookingOverlapQueryPlanTest {
+
+    // Fenêtre de 90 nuits + séjour : au plus 5 mois d'arrivée, par table
+    private static final int MAX_SCANNED_PARTITIONS = 5;
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(3);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(4);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BedRepository bedRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private QueryCapture capture;
+    private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource raw = postgres.getPostgresDatabase();
+
+        Flyway.configure()
+                .dataSource(raw)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = raw.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/perf/seed_bookings_100k.sql"));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void attachCapture() {
+        if (capture == null) {
+            capture = QueryCapture.attach(dataSource);
+        }
+        capture.clear();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @Test
+    void overlapForBedUsesJoinTableAndActiveWindowIndexes() throws Exception {
+        Long bedId = jdbc.queryForObject("SELECT min(id) FROM beds", Long.class);
+        bookingRepository.findOverlappingBookingsForBed(bedId, CHECK_IN, CHECK_OUT);
+
+        String plan = explainCaptured();
+
+        assertThat(plan)
+                .doesNotContain("Seq Scan on bookings")
+                .doesNotContain("Seq Scan on booking_beds")
+                .contains("idx_booking_beds_bed_check_in");
+        assertPruned(plan);
+    }
+
+    @Test
+    void overlapForBedsUsesJoinTableIndex() throws Exception {
+        var bedIds = jdbc.queryForList("SELECT id FROM beds ORDER BY id LIMIT 4", Long.class);
+        bookingRepository.findOverlappingBookingsForBeds(bedIds, CHECK_IN, CHECK_OUT);
+
+        String plan = explainCaptured();
+
+        assertThat(plan).doesNotContain("Seq Scan on bookings");
+        assertPruned(plan);
+    }
+
+    @Test
+    void overlapForRoomAvoidsBookingScans() throws Exception {
+        Long roomId = jdbc.queryForObject("SELECT min(id) FROM rooms WHERE room_type = 'DORTOIR'", Long.class);
+        bookingRepository.findOverlappingBookingsForRoom(roomId, CHECK_IN, CHECK_OUT);
+
+        String plan = explainCaptured();
+
+        assertThat(plan)
+                .doesNotContain("Seq Scan on bookings")
+                .doesNotContain("Seq Scan on booking_beds");
+        assertPruned(plan);
+    }
+
+    @Test
+    void availableBedsSubqueryUsesNotCancelledWindowIndex() throws Exception {
+        Long roomId = jdbc.queryForObject("SELECT min(id) FROM rooms WHERE room_type = 'DORTOIR'", Long.class);
+        bedRepository.findAvailableBedsByRoomAndDates(roomId, CHECK_IN, CHECK_OUT);
+
+        String plan = explainCaptured();
+
+        assertThat(plan)
+                .doesNotContain("Seq Scan on bookings")
+                .contains("idx_booking_not_cancelled_window");
+        assertPruned(plan);
+    }
+
+    private String explainCaptured() throws Exception {
+        QueryInfo query = capture.first("bookings");
+        assertThat(query).as("requête sur bookings capturée").isNotNull();
+        return QueryCapture.explain(postgres.getPostgresDatabase(), query, "COSTS OFF");
+    }
+
+    private static void assertPruned(String plan) {
+        Map<String, Set<String>> scanned = QueryCapture.scannedPartitions(plan);
+        assertThat(scanned).as(plan).containsKey("bookings");
+        assertThat(scanned.values()).as(plan).allMatch(partitions -> partitions.size() <= MAX_SCANNED_PARTITIONS);
+    }
+}
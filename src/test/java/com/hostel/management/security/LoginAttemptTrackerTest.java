@@ -0,0 +1,152 @@
+package com.hostel.management.security;
+
+import com.hostel.management.dto.request.LoginRequest;
+import com.hostel.management.entity.User;
+import com.hostel.management.exception.AuthenticationException;
+import com.hostel.management.repository.UserRepository;
+import com.hostel.management.service.AuthService;
+import com.hostel.management.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginAttemptTrackerTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+    private static final Duration LOCKOUT = Duration.ofMinutes(60);
+    private static final String EMAIL = "guest@example.com";
+    private static final String IP = "203.0.113.7";
+
+    // Début d'une fenêtre, loin de l'origine de l'horloge
+    private final AtomicLong clock = new AtomicLong(1_000 * WINDOW.toNanos());
+    private final LoginAttemptTracker tracker = new LoginAttemptTracker(WINDOW, LOCKOUT, 5, 20, 100_000, clock::get);
+
+    @Test
+    void failuresOfThePreviousWindowCountForTheShareStillCovered() {
+        fail(EMAIL, null, 4);
+
+        // Mi-fenêtre suivante : 4 échecs précédents comptent pour 2
+        advance(WINDOW.plus(WINDOW.dividedBy(2)));
+        assertThat(tracker.recordFailure(EMAIL, null)).isNull();
+        assertThat(tracker.recordFailure(EMAIL, null)).isNull();
+        assertThat(tracker.recordFailure(EMAIL, null)).isEqualTo(LoginAttemptTracker.Lockout.ACCOUNT);
+    }
+
+    @Test
+    void failuresOlderThanTheLastTwoWindowsAreForgotten() {
+        fail(EMAIL, null, 4);
+
+        advance(WINDOW.multipliedBy(2));
+        fail(EMAIL, null, 4);
+
+        assertThat(tracker.lockoutOf(EMAIL, null)).isNull();
+    }
+
+    @Test
+    void theLockoutIsTriggeredOnceAndExpiresByItself() {
+        assertThat(fail(EMAIL, IP, 4)).isNull();
+        assertThat(tracker.recordFailure(EMAIL, IP)).isEqualTo(LoginAttemptTracker.Lockout.ACCOUNT);
+
+        // Échecs pendant le blocage : pas de nouveau déclenchement
+        assertThat(fail(EMAIL, IP, 3)).isNull();
+        assertThat(tracker.lockoutOf(EMAIL, IP)).isEqualTo(LoginAttemptTracker.Lockout.ACCOUNT);
+
+        advance(LOCKOUT);
+        assertThat(tracker.lockoutOf(EMAIL, IP)).isNull();
+        assertThat(tracker.recordFailure(EMAIL, IP)).isNull();
+    }
+
+    @Test
+    void anAddressIsLockedAcrossAccounts() {
+        for (int i = 1; i < 20; i++) {
+            assertThat(tracker.recordFailure("guest" + i + "@example.com", IP)).isNull();
+        }
+
+        assertThat(tracker.recordFailure("guest20@example.com", IP)).isEqualTo(LoginAttemptTracker.Lockout.ADDRESS);
+        assertThat(tracker.lockoutOf("other@example.com", IP)).isEqualTo(LoginAttemptTracker.Lockout.ADDRESS);
+        assertThat(tracker.lockoutOf("other@example.com", "198.51.100.1")).isNull();
+    }
+
+    @Test
+    void aResetForgetsTheAccountFailures() {
+        fail(EMAIL, null, 4);
+        tracker.reset(EMAIL);
+
+        assertThat(fail(EMAIL, null, 4)).isNull();
+    }
+
+    @Test
+    void staleEntriesAreEvictedOnLaterAccessesButActiveLockoutsAreKept() {
+        for (int i = 0; i < 100; i++) {
+            tracker.recordFailure("stale" + i + "@example.com", null);
+        }
+        fail(EMAIL, null, 5);
+        assertThat(tracker.size()).isEqualTo(101);
+
+        advance(WINDOW.multipliedBy(2));
+        for (int i = 0; i < 1_000; i++) {
+            tracker.recordFailure("recent" + i + "@example.com", null);
+        }
+
+        assertThat(tracker.size()).isEqualTo(1_001);
+        assertThat(tracker.lockoutOf(EMAIL, null)).isEqualTo(LoginAttemptTracker.Lockout.ACCOUNT);
+    }
+
+    @Test
+    void onlyTheLockoutTransitionIsPersisted() {
+        UserRepository userRepository = mock(UserRepository.class);
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        User user = User.builder().id(7L).email(EMAIL).build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+        AuthService authService = new AuthService(userRepository, mock(PasswordEncoder.class),
+                mock(JwtTokenProvider.class), authenticationManager, mock(EmailService.class), tracker);
+        LoginRequest request = new LoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword("wrong");
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> authService.login(request, IP)).isInstanceOf(AuthenticationException.class);
+        }
+        verify(userRepository, never()).lockAccount(any(), anyInt(), any());
+
+        assertThatThrownBy(() -> authService.login(request, IP)).isInstanceOf(LockedException.class);
+        // Bloqué en mémoire : ni requête ni nouvel UPDATE
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> authService.login(request, IP)).isInstanceOf(LockedException.class);
+        }
+
+        verify(userRepository, times(1)).lockAccount(eq(7L), eq(5), any(LocalDateTime.class));
+        verify(userRepository, times(5)).findByEmail(EMAIL);
+    }
+
+    private LoginAttemptTracker.Lockout fail(String email, String ip, int times) {
+        LoginAttemptTracker.Lockout last = null;
+        for (int i = 0; i < times; i++) {
+            last = tracker.recordFailure(email, ip);
+        }
+        return last;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,97 @@
+package com.hostel.management.service;
+
+import com.hostel.management.repository.BedAllocationRepository.FreeBed;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BedAllocationServiceTest {
+
+    private static final int HORIZON = 30;
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 10);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 7, 13);
+
+    @Test
+    void anExactFitHoleLeavesNoFreeNight() {
+        FreeBed hole = bed(1, 10, 8, CHECK_IN, CHECK_OUT);
+
+        assertThat(BedAllocationService.leftover(hole, CHECK_IN, CHECK_OUT, HORIZON)).isZero();
+    }
+
+    @Test
+    void theDormitoryBedFillingAHoleIsChosen() {
+        List<FreeBed> freeBeds = List.of(
+                bed(1, 10, 8, null, null),
+                bed(2, 10, 8, CHECK_IN.minusDays(2), CHECK_OUT.plusDays(2)),
+                bed(3, 10, 8, CHECK_IN, CHECK_OUT));
+
+        List<FreeBed> chosen = BedAllocationService.chooseDormitoryBeds(freeBeds, 1, CHECK_IN, CHECK_OUT, HORIZON);
+
+        assertThat(chosen).extracting(FreeBed::bedId).containsExactly(3L);
+    }
+
+    @Test
+    void freeNightsAreClampedToTheHorizon() {
+        FreeBed open = bed(1, 10, 8, null, null);
+        FreeBed distant = bed(2, 10, 8, CHECK_IN.minusDays(100), CHECK_OUT.plusDays(45));
+        FreeBed halfOpen = bed(3, 10, 8, CHECK_IN.minusDays(5), null);
+
+        assertThat(BedAllocationService.leftover(open, CHECK_IN, CHECK_OUT, HORIZON)).isEqualTo(2L * HORIZON);
+        assertThat(BedAllocationService.leftover(distant, CHECK_IN, CHECK_OUT, HORIZON)).isEqualTo(2L * HORIZON);
+        assertThat(BedAllocationService.leftover(halfOpen, CHECK_IN, CHECK_OUT, HORIZON)).isEqualTo(5L + HORIZON);
+    }
+
+    @Test
+    void dormitoryBedsStayInOneRoom() {
+        // Meilleure paire toutes chambres confondues : lits 1 et 3 (0 + 2 nuits), dans deux dortoirs
+        List<FreeBed> freeBeds = List.of(
+                bed(1, 10, 8, CHECK_IN, CHECK_OUT),
+                bed(2, 10, 8, null, null),
+                bed(3, 20, 8, CHECK_IN.minusDays(1), CHECK_OUT.plusDays(1)),
+                bed(4, 20, 8, CHECK_IN.minusDays(3), CHECK_OUT.plusDays(3)));
+
+        List<FreeBed> chosen = BedAllocationService.chooseDormitoryBeds(freeBeds, 2, CHECK_IN, CHECK_OUT, HORIZON);
+
+        assertThat(chosen).extracting(FreeBed::bedId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void noDormitoryWithEnoughFreeBedsGivesNothing() {
+        List<FreeBed> freeBeds = List.of(
+                bed(1, 10, 8, null, null),
+                bed(2, 20, 8, null, null));
+
+        assertThat(BedAllocationService.chooseDormitoryBeds(freeBeds, 2, CHECK_IN, CHECK_OUT, HORIZON)).isEmpty();
+    }
+
+    @Test
+    void aSingleRoomIsAllocatedWhole() {
+        List<FreeBed> freeBeds = List.of(
+                bed(1, 10, 1, null, null),
+                bed(2, 20, 1, CHECK_IN.minusDays(1), CHECK_OUT));
+
+        List<FreeBed> chosen = BedAllocationService.chooseRoom(freeBeds, CHECK_IN, CHECK_OUT, HORIZON);
+
+        assertThat(chosen).extracting(FreeBed::bedId).containsExactly(2L);
+    }
+
+    @Test
+    void aDoubleRoomWithOneBedTakenIsSkipped() {
+        List<FreeBed> freeBeds = List.of(
+                bed(1, 10, 2, CHECK_IN, CHECK_OUT),
+                bed(3, 20, 2, null, null),
+                bed(4, 20, 2, null, null));
+
+        List<FreeBed> chosen = BedAllocationService.chooseRoom(freeBeds, CHECK_IN, CHECK_OUT, HORIZON);
+
+        assertThat(chosen).extracting(FreeBed::bedId).containsExactly(3L, 4L);
+        assertThat(BedAllocationService.chooseRoom(freeBeds.subList(0, 1), CHECK_IN, CHECK_OUT, HORIZON)).isEmpty();
+    }
+
+    private static FreeBed bed(long bedId, long roomId, int roomBeds, LocalDate freeFrom, LocalDate freeUntil) {
+        return new FreeBed(bedId, roomId, "R" + roomId, "L" + bedId, roomBeds, freeFrom, freeUntil);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hostel.management.service;
+
+import com.hostel.management.repository.BedAllocationRepository.FreeBed;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulation de haute saison : nuits-lits vendues par le best-fit de BedAllocationService
+ * comparé au premier dortoir ayant assez de lits libres (first-fit).
+ *
+ * 4 dortoirs de 8 lits sur 60 nuits ; 900 demandes par graine, dans un ordre aléatoire
+ * (70 % d'un lit, sinon 1 à 4 ; durée de séjour exponentielle de moyenne 3 nuits, 14 au plus).
+ * Une demande sans dortoir libre est perdue.
+ *
+ * Lancement : mvn test -Pperf
+ */
+@Slf4j
+@Tag("perf")
+class BedAllocationSimulationTest {
+
+    private static final int ROOMS = 4;
+    private static final int BEDS_PER_ROOM = 8;
+    private static final int DAYS = 60;
+    private static final int REQUESTS = 900;
+    private static final int HORIZON = 30;
+    private static final int SEEDS = 20;
+    private static final LocalDate SEASON_START = LocalDate.of(2027, 7, 1);
+
+    @Test
+    void bestFitSellsAtLeastAsManyBedNightsAsFirstFit() {
+        long bestFit = 0;
+        long firstFit = 0;
+        for (int seed = 1; seed <= SEEDS; seed++) {
+            bestFit += simulate(seed, true);
+            firstFit += simulate(seed, false);
+        }
+
+        double capacity = (double) SEEDS * ROOMS * BEDS_PER_ROOM * DAYS;
+        log.info("Nuits-lits vendues sur {} graines : best-fit {} ({}), first-fit {} ({}), écart {}",
+                SEEDS, bestFit, String.format("%.1f %%", 100 * bestFit / capacity),
+                firstFit, String.format("%.1f %%", 100 * firstFit / capacity),
+                String.format("%+.2f %%", 100.0 * (bestFit - firstFit) / firstFit));
+        assertThat(bestFit).isGreaterThanOrEqualTo(firstFit);
+    }
+
+    private static long simulate(long seed, boolean bestFit) {
+        boolean[][] occupied = new boolean[ROOMS * BEDS_PER_ROOM][DAYS];
+        Random random = new Random(seed);
+        long sold = 0;
+        for (int request = 0; request < REQUESTS; request++) {
+            int beds = random.nextDouble() < 0.7 ? 1 : 1 + random.nextInt(4);
+            int nights = 1 + (int) Math.min(13, Math.round(-Math.log(1 - random.nextDouble()) * 3));
+            int start = random.nextInt(DAYS - nights);
+            LocalDate checkIn = SEASON_START.plusDays(start);
+            LocalDate checkOut = checkIn.plusDays(nights);
+
+            List<FreeBed> freeBeds = freeBeds(occupied, start, nights);
+            List<FreeBed> chosen = bestFit
+                    ? BedAllocationService.chooseDormitoryBeds(freeBeds, beds, checkIn, checkOut, HORIZON)
+                    : firstFit(freeBeds, beds);
+            for (FreeBed bed : chosen) {
+                for (int day = start; day < start + nights; day++) {
+                    occupied[(int) bed.bedId()][day] = true;
+                }
+                sold += nights;
+            }
+        }
+        return sold;
+    }
+
+    // Équivalent de BedAllocationRepository.findFreeBeds : intervalle libre borné par l'horizon
+    private static List<FreeBed> freeBeds(boolean[][] occupied, int start, int nights) {
+        List<FreeBed> freeBeds = new ArrayList<>();
+        for (int bed = 0; bed < occupied.length; bed++) {
+            boolean free = true;
+            for (int day = start; day < start + nights; day++) {
+                free &= !occupied[bed][day];
+            }
+            if (!free) {
+                continue;
+            }
+            int from = start;
+            while (from > 0 && !occupied[bed][from - 1] && start - from < HORIZON) {
+                from--;
+            }
+            int until = start + nights;
+            while (until < DAYS && !occupied[bed][until] && until - start - nights < HORIZON) {
+                until++;
+            }
+            // Bords de saison ou au-delà de l'horizon : aucune réservation voisine
+            LocalDate freeFrom = from == 0 || start - from >= HORIZON ? null : SEASON_START.plusDays(from);
+            LocalDate freeUntil = until == DAYS || until - start - nights >= HORIZON ? null : SEASON_START.plusDays(until);
+            int room = bed / BEDS_PER_ROOM;
+            freeBeds.add(new FreeBed(bed, room, "D" + room, "L" + bed % BEDS_PER_ROOM, BEDS_PER_ROOM, freeFrom, freeUntil));
+        }
+        return freeBeds;
+    }
+
+    private static List<FreeBed> firstFit(List<FreeBed> freeBeds, int beds) {
+        for (int room = 0; room < ROOMS; room++) {
+            long roomId = room;
+            List<FreeBed> inRoom = freeBeds.stream().filter(bed -> bed.roomId() == roomId).limit(beds).toList();
+            if (inRoom.size() == beds) {
+                return inRoom;
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,129 @@
+package com.hostel.management.service;
+
+import com.hostel.management.repository.BookingCodeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCodeAllocatorTest {
+
+    private static final String SECRET = "unit-test-booking-codes-secret";
+    private static final int DOMAIN = 1_000_000;
+
+    @Test
+    void accessCodesAreABijectionOfTheSixDigitDomain() {
+        BookingCodeAllocator allocator = new BookingCodeAllocator(new FakeRepository(1), SECRET, 50);
+        BitSet seen = new BitSet(DOMAIN);
+
+        for (long value = 0; value < DOMAIN; value++) {
+            String code = allocator.accessCode(value);
+            assertThat(code).hasSize(6).containsOnlyDigits();
+            seen.set(Integer.parseInt(code));
+        }
+
+        assertThat(seen.cardinality()).isEqualTo(DOMAIN);
+        assertThat(allocator.accessCode(DOMAIN + 42L)).isEqualTo(allocator.accessCode(42));
+    }
+
+    @Test
+    void smallCodesAreZeroPadded() {
+        BookingCodeAllocator allocator = new BookingCodeAllocator(new FakeRepository(1), SECRET, 50);
+        List<String> codes = LongStream.range(0, DOMAIN).mapToObj(allocator::accessCode).toList();
+
+        assertThat(codes).contains("000000", "000007", "042000");
+    }
+
+    @Test
+    void wrappedAccessCodesStillAssignedAreSkipped() {
+        FakeRepository repository = new FakeRepository(DOMAIN - 10);
+        BookingCodeAllocator allocator = new BookingCodeAllocator(repository, SECRET, 50);
+        String stillAssigned = allocator.accessCode(DOMAIN + 5L);
+        repository.hot.add(stillAssigned);
+        allocator.loadReservedCodes();
+
+        Set<String> allocated = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            allocated.add(allocator.next(LocalDate.of(2026, 7, 1)).accessCode());
+        }
+
+        assertThat(allocated).hasSize(100).doesNotContain(stillAssigned);
+        // Une vérification par bloc revenu, aucune avant
+        assertThat(repository.lookups).hasSize(3);
+        assertThat(repository.lookups.get(0)).contains(stillAssigned).hasSize(40);
+    }
+
+    @Test
+    void codesPresentAtStartupAreSkipped() {
+        FakeRepository repository = new FakeRepository(1);
+        BookingCodeAllocator allocator = new BookingCodeAllocator(repository, SECRET, 50);
+        String legacy = allocator.accessCode(3);
+        repository.hot.add(legacy);
+        allocator.loadReservedCodes();
+
+        List<String> allocated = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            allocated.add(allocator.next(LocalDate.of(2026, 7, 1)).accessCode());
+        }
+
+        assertThat(allocated).hasSize(10).doesNotContain(legacy);
+        assertThat(repository.lookups).isEmpty();
+    }
+
+    @Test
+    void referencesCarryTheBookingDate() {
+        BookingCodeAllocator allocator = new BookingCodeAllocator(new FakeRepository(1), SECRET, 50);
+
+        assertThat(allocator.next(LocalDate.of(2026, 7, 1)).bookingReference())
+                .matches("BK-20260701-[A-Z0-9]{5}");
+    }
+
+    @Test
+    void aDedicatedSecretIsRequired() {
+        assertThatThrownBy(() -> new BookingCodeAllocator(new FakeRepository(1), " ", 50))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // Séquence en mémoire ; booking_codes réduit à un ensemble de codes
+    private static final class FakeRepository extends BookingCodeRepository {
+
+        private final AtomicLong sequence;
+        private final Set<String> hot = new HashSet<>();
+        private final List<Collection<String>> lookups = new ArrayList<>();
+
+        private FakeRepository(long start) {
+            super(null);
+            this.sequence = new AtomicLong(start);
+        }
+
+        @Override
+        public List<Long> nextValues(int count) {
+            long first = sequence.getAndAdd(count);
+            return LongStream.range(first, first + count).boxed().toList();
+        }
+
+        @Override
+        public void forEachCode(Consumer<String> consumer) {
+            hot.forEach(consumer);
+        }
+
+        @Override
+        public Set<String> findTakenAccessCodes(Collection<String> accessCodes) {
+            lookups.add(List.copyOf(accessCodes));
+            Set<String> taken = new HashSet<>(accessCodes);
+            taken.retainAll(hot);
+            return taken;
+        }
+    }
+}
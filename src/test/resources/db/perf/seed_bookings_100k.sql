@@ -0,0 +1,53 @@
+-- Jeu de données de régression des plans d'exécution : 30 chambres, ~120 lits,
+-- 100 000 réservations réparties sur 4 ans (passé majoritairement CHECKED_OUT).
+select setseed(0.42);
+
+insert into rooms (created_at, deleted, description, is_active, price_per_night, room_number, room_type)
+select now(), false, null, true,
+       case when g % 3 = 0 then 20.00 when g % 3 = 1 then 45.00 else 60.00 end,
+       'R' || g,
+       case when g % 3 = 0 then 'DORTOIR' when g % 3 = 1 then 'SINGLE' else 'DOUBLE' end
+from generate_series(1, 30) g;
+
+insert into beds (bed_number, created_at, deleted, is_available, room_id)
+select b::text, now(), false, true, r.id
+from rooms r
+cross join lateral generate_series(1, case r.room_type when 'DORTOIR' then 8 when 'SINGLE' then 2 else 1 end) b;
+
+-- Partitions mensuelles de bookings / booking_beds (V6) couvrant la période générée
+select ensure_booking_partitions(current_date - 1300, current_date + 140);
+
+insert into bookings (access_code, booking_reference, check_in_date, check_out_date, created_at,
+                      guest_email, guest_name, guest_phone, number_of_persons, payment_status,
+                      status, total_price, version)
+select lpad(g::text, 6, '0'),
+       'BK-SEED-' || g,
+       d.check_in,
+       d.check_in + d.nights,
+       d.check_in - 10,
+       'guest' || (g % 20000) || '@example.com',
+       'Guest ' || g,
+       '+2126' || lpad((g % 100000000)::text, 8, '0'),
+       1,
+       case when d.check_in < current_date then 'PAID' else 'UNPAID' end,
+       case
+           when random() < 0.08 then 'CANCELLED'
+           when d.check_in + d.nights < current_date then 'CHECKED_OUT'
+           when d.check_in <= current_date then 'CHECKED_IN'
+           else 'CONFIRMED'
+       end,
+       25.00 * d.nights,
+       0
+from generate_series(1, 100000) g
+cross join lateral (
+    select (current_date - 1300 + (random() * 1400)::int) as check_in,
+           1 + (random() * 6)::int as nights,
+           g as k
+) d;
+
+insert into booking_beds (booking_id, bed_id, check_in_date)
+select bk.id, b.ids[1 + (bk.id * 7919) % array_length(b.ids, 1)], bk.check_in_date
+from bookings bk
+cross join (select array_agg(id order by id) as ids from beds) b;
+
+analyze;